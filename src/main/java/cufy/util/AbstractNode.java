@@ -139,6 +139,25 @@ public abstract class AbstractNode<V> implements Node<V> {
 	@Override
 	public abstract Set<Link<V>> linkSet();
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @implSpec this implementation iterates over {@code linkSet()} searching for a
+	 * 		link with the given {@code key}. If such link is found, it will be returned. If
+	 * 		the iteration terminates without finding such a link, {@code null} is returned.
+	 * 		Note that this implementation requires linear time in the size of this node.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Nullable
+	@Override
+	public Link<V> getLink(@NotNull Key key) {
+		Objects.requireNonNull(key, "key");
+		for (Link<V> l : this.linkSet())
+			if (l.getKey().equals(key))
+				return l;
+		return null;
+	}
+
 	// Nodes
 
 	/**
@@ -163,22 +182,18 @@ public abstract class AbstractNode<V> implements Node<V> {
 	/**
 	 * {@inheritDoc}
 	 *
-	 * @implSpec this implementation iterates over {@code linkSet()} searching for a
-	 * 		link with the opposite of the given {@code key}. If such link is found, the node
-	 * 		of the opposite link of the found link will be returned. If the iteration
-	 * 		terminates without finding such a link, {@code null} is returned. Note that this
-	 * 		implementation requires linear time in the size of this node.
+	 * @implSpec this implementation calls {@code getLink(key.opposite())}. If a link
+	 * 		is returned, the node of the opposite link of the returned link will be returned.
+	 * 		Otherwise, {@code null} is returned. Note that this implementation requires the
+	 * 		same time {@link #getLink(Key)} requires.
 	 * @since 0.0.1 ~2021.04.23
 	 */
 	@Nullable
 	@Override
 	public Node<V> get(@NotNull Key key) {
 		Objects.requireNonNull(key, "key");
-		Key opposite = key.opposite();
-		for (Link<V> l : this.linkSet())
-			if (l.getKey().equals(opposite))
-				return l.getOpposite().getNode();
-		return null;
+		Link<V> l = this.getLink(key.opposite());
+		return l == null ? null : l.getOpposite().getNode();
 	}
 
 	/**
@@ -298,51 +313,40 @@ public abstract class AbstractNode<V> implements Node<V> {
 	/**
 	 * {@inheritDoc}
 	 *
-	 * @implSpec This implementation iterates over {@code linkSet()} searching for a
-	 * 		link with the opposite of the given {@code key}. If such link is found, {@code
-	 * 		true} is returned. If the iteration terminates without finding such a link,
-	 *        {@code false} is returned. Note that this implementation requires linear time in
-	 * 		the size of the node.
+	 * @implSpec This implementation returns {@code true} if {@code
+	 * 		getLink(key.opposite())} returned a link. Otherwise, {@code false} is returned.
+	 * 		Note that this implementation requires the same time {@link #getLink(Key)}
+	 * 		requires.
 	 * @since 0.0.1 ~2021.04.22
 	 */
 	@Override
 	public boolean containsKey(@NotNull Key key) {
 		Objects.requireNonNull(key, "key");
-		Key opposite = key.opposite();
-		for (Link<V> l : this.linkSet())
-			if (l.getKey().equals(opposite))
-				return true;
-		return false;
+		return this.getLink(key.opposite()) != null;
 	}
 
 	/**
 	 * {@inheritDoc}
 	 *
-	 * @implSpec this implementation iterates over {@code linkSet()} searching for a
-	 * 		link with the opposite of the given {@code key}. If such a link is found, the
-	 * 		link with be removed from the collection (and this node) with the iterator's
-	 *        {@code remove} operation, and the node of the opposite of the removed link will
-	 * 		be returned. If the iteration terminates without finding such a link, {@code
-	 * 		null} is returned. Note that this implementation requires linear time in the size
-	 * 		of the node.
+	 * @implSpec this implementation calls {@code getLink(key.opposite())}. If a link is
+	 * 		returned, the link will be removed from this node with {@code
+	 * 		linkSet().remove(Link)}, and the node of the opposite of the removed link will be
+	 * 		returned. Otherwise, {@code null} is returned. Note that this implementation
+	 * 		requires the time {@link #getLink(Key)} requires plus the time {@code
+	 * 		linkSet().remove(Link)} requires.
 	 * @since 0.0.1 ~2021.04.23
 	 */
 	@Nullable
 	@Override
 	public Node<V> remove(@NotNull Key key) {
 		Objects.requireNonNull(key, "key");
-		Key opposite = key.opposite();
-		Iterator<Link<V>> i = this.linkSet().iterator();
-		while (i.hasNext()) {
-			Link<V> l = i.next();
-
-			if (l.getKey().equals(opposite)) {
-				i.remove();
-				return l.getOpposite().getNode();
-			}
-		}
+		Link<V> l = this.getLink(key.opposite());
 
-		return null;
+		if (l == null)
+			return null;
+
+		this.linkSet().remove(l);
+		return l.getOpposite().getNode();
 	}
 
 	/**
@@ -440,6 +444,14 @@ public abstract class AbstractNode<V> implements Node<V> {
 		@NotNull
 		protected final String toString;
 
+		/**
+		 * The ordinal assigned to this key by {@link KeyRegistry} plus one. (0: not
+		 * registered) Volatile since it is read without locking.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		transient volatile int ordinal;
+
 		/**
 		 * Construct a new key.
 		 *
@@ -0,0 +1,81 @@
+/*
+ *	Copyright 2021 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.util;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A skeletal implementation of the nodes holding a primitive value.
+ * <br>
+ * The links are stored in a map that is only allocated when the node is first linked.
+ * This class holds no value. So, an implementation stores its value in a primitive
+ * field and implements the boxing accessors ({@link #get()} and {@link #set(Object)})
+ * atop it.
+ *
+ * @param <V> the type of the boxed value of the node.
+ * @author LSafer
+ * @version 0.0.5
+ * @since 0.0.5 ~2026.10.17
+ */
+@SuppressWarnings("ClassHasNoToStringMethod")
+public abstract class AbstractPrimitiveNode<V> extends AbstractSlotNode<V> {
+	@SuppressWarnings("JavaDoc")
+	private static final long serialVersionUID = 6086131349726170398L;
+
+	/**
+	 * Sole constructor. (For invocation by subclass constructors, typically implicit.)
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	protected AbstractPrimitiveNode() {
+
+	}
+
+	// Value
+
+	@NotNull
+	@Override
+	public abstract V get();
+
+	// Slots
+
+	@Contract(pure = true)
+	@Override
+	protected int slot(@NotNull Key key) {
+		return -1;
+	}
+
+	@Contract(pure = true)
+	@Override
+	protected int slots() {
+		return 0;
+	}
+
+	@Nullable
+	@Contract(value = "_->fail", pure = true)
+	@Override
+	protected Link<V> getSlot(int index) {
+		throw new IndexOutOfBoundsException("index: " + index);
+	}
+
+	@Contract(value = "_,_->fail", pure = true)
+	@Override
+	protected void setSlot(int index, @Nullable Link<V> link) {
+		throw new IndexOutOfBoundsException("index: " + index);
+	}
+}
@@ -0,0 +1,446 @@
+/*
+ *	Copyright 2021 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.util;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * A skeletal node implementation that stores the links with some specific keys in
+ * dedicated slots and only falls back to a small overflow map for the links with any
+ * other key.
+ * <br>
+ * The slot of each key is decided by the implementation through {@link #slot(Key)}.
+ * Since the slots are accessed by index, a keyed lookup costs whatever {@link #slot(Key)}
+ * costs plus a field or an array access.
+ * <br>
+ * To implement a slot node, the programmer needs only to extend this class and provide
+ * an implementation for the value accessors ({@link #get()} and {@link #set(Object)}),
+ * {@link #slot(Key)}, {@link #slots()}, {@link #getSlot(int)} and {@link #setSlot(int,
+ * Link)}. Typically, each slot will be backed by a field or an array element in the
+ * implementation.
+ *
+ * @param <V> the type of the value of the node.
+ * @author LSafer
+ * @version 0.0.5
+ * @since 0.0.5 ~2026.10.17
+ */
+@SuppressWarnings("ClassHasNoToStringMethod")
+public abstract class AbstractSlotNode<V> extends AbstractNode<V> implements Serializable {
+	@SuppressWarnings("JavaDoc")
+	private static final long serialVersionUID = 3520512236391187645L;
+
+	/**
+	 * A lazily initialized map containing the links pointing to this node with keys that
+	 * has no dedicated slot.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Nullable
+	private Map<Key, Link<V>> overflow;
+	/**
+	 * The number of links pointing to this node.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private int size;
+
+	/**
+	 * A lazily initialized link set view accessing the links pointing to this node.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Nullable
+	private transient Set<Link<V>> linkSet;
+	/**
+	 * The number of times the links of this node has been modified.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private transient int modCount;
+
+	/**
+	 * Sole constructor. (For invocation by subclass constructors, typically implicit.)
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	protected AbstractSlotNode() {
+
+	}
+
+	// Links
+
+	@NotNull
+	@Override
+	public Set<Link<V>> linkSet() {
+		if (this.linkSet == null)
+			this.linkSet = new AbstractSet<Link<V>>() {
+				@Override
+				public boolean contains(Object object) {
+					return object instanceof Link &&
+						   AbstractSlotNode.this.getLink(((Link<?>) object).getKey()) == object;
+				}
+
+				@Override
+				public boolean isEmpty() {
+					return AbstractSlotNode.this.size == 0;
+				}
+
+				@Override
+				public Iterator<Link<V>> iterator() {
+					return new Iterator<Link<V>>() {
+						/**
+						 * The modification count this iterator is expecting.
+						 *
+						 * @since 0.0.5 ~2026.10.17
+						 */
+						private int expectedModCount = AbstractSlotNode.this.modCount;
+						/**
+						 * The index of the next slot to be examined.
+						 *
+						 * @since 0.0.5 ~2026.10.17
+						 */
+						private int slot;
+						/**
+						 * The iterator of the overflow map. (null: slots not exhausted)
+						 *
+						 * @since 0.0.5 ~2026.10.17
+						 */
+						@Nullable
+						private Iterator<Link<V>> overflow;
+						/**
+						 * The last returned link from {@link #next()}.
+						 *
+						 * @since 0.0.5 ~2026.10.17
+						 */
+						@Nullable
+						private Link<V> last;
+						/**
+						 * The slot of the last returned link. (-1: overflow map)
+						 *
+						 * @since 0.0.5 ~2026.10.17
+						 */
+						private int lastSlot = -1;
+
+						@Override
+						public boolean hasNext() {
+							if (this.overflow == null) {
+								int slots = AbstractSlotNode.this.slots();
+
+								while (this.slot < slots)
+									if (AbstractSlotNode.this.getSlot(this.slot) != null)
+										return true;
+									else
+										this.slot++;
+
+								Map<Key, Link<V>> overflow = AbstractSlotNode.this.overflow;
+								this.overflow = overflow == null ?
+												Collections.emptyIterator() :
+												overflow.values().iterator();
+							}
+
+							return this.overflow.hasNext();
+						}
+
+						@Override
+						public Link<V> next() {
+							if (AbstractSlotNode.this.modCount != this.expectedModCount)
+								throw new ConcurrentModificationException();
+							if (!this.hasNext())
+								throw new NoSuchElementException("next");
+
+							if (this.overflow == null) {
+								this.lastSlot = this.slot;
+								return this.last = AbstractSlotNode.this.getSlot(this.slot++);
+							}
+
+							this.lastSlot = -1;
+							return this.last = this.overflow.next();
+						}
+
+						@Override
+						public void remove() {
+							if (AbstractSlotNode.this.modCount != this.expectedModCount)
+								throw new ConcurrentModificationException();
+
+							Link<V> last = this.last;
+							this.last = null;
+
+							if (last == null)
+								throw new IllegalStateException("remove");
+
+							if (this.lastSlot >= 0)
+								AbstractSlotNode.this.setSlot(this.lastSlot, null);
+							else
+								//noinspection ConstantConditions
+								this.overflow.remove();
+
+							AbstractSlotNode.this.size--;
+							this.expectedModCount = ++AbstractSlotNode.this.modCount;
+
+							if (last.getNode() == AbstractSlotNode.this)
+								last.removeNode();
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return AbstractSlotNode.this.size;
+				}
+
+				@Override
+				public boolean remove(Object object) {
+					if (object instanceof Link) {
+						Link<V> link = (Link<V>) object;
+
+						if (AbstractSlotNode.this.erase(link.getKey(), link)) {
+							if (link.getNode() == AbstractSlotNode.this)
+								link.removeNode();
+
+							return true;
+						}
+					}
+
+					return false;
+				}
+
+				@SuppressWarnings("ConstantConditions")
+				@Contract(mutates = "this,param")
+				@Override
+				public boolean add(@NotNull Link<V> link) {
+					Objects.requireNonNull(link, "link");
+					Key key = link.getKey();
+
+					//remove the node on `link`
+					Node<V> n = link.getNode();
+
+					if (n != null && n != AbstractSlotNode.this)
+						//only if necessary
+						link.removeNode();
+
+					//replace the link in this with `link`
+					Link<V> l = AbstractSlotNode.this.store(key, link);
+
+					if (l != null && l != link)
+						//only if necessary
+						l.removeNode();
+
+					//set this to `link`
+					if (link.getNode() != AbstractSlotNode.this)
+						//only if necessary
+						link.setNode(AbstractSlotNode.this);
+
+					return true;
+				}
+			};
+
+		//noinspection AssignmentOrReturnOfFieldWithMutableType
+		return this.linkSet;
+	}
+
+	@Nullable
+	@Override
+	public Link<V> getLink(@NotNull Key key) {
+		Objects.requireNonNull(key, "key");
+		int slot = this.slot(key);
+
+		if (slot >= 0)
+			return this.getSlot(slot);
+
+		Map<Key, Link<V>> overflow = this.overflow;
+		return overflow == null ? null : overflow.get(key);
+	}
+
+	// Nodes
+
+	@Nullable
+	@Override
+	public Node<V> put(@NotNull Key key, @NotNull Node<V> node) {
+		Objects.requireNonNull(key, "key");
+		Objects.requireNonNull(node, "node");
+		Key opposite = key.opposite();
+
+		//get the previous link
+		Link<V> l = this.getLink(opposite);
+
+		//see if it can be recycled
+		if (l != null && l.getOpposite().getNode() == null) {
+			//no need to create new link
+			node.linkSet().add(l.getOpposite());
+			return null;
+		}
+
+		//create new link
+		Link<V> link = new SimpleLink<>(opposite);
+
+		//add its opposite to `node`
+		node.linkSet().add(link.getOpposite());
+
+		//add it to this
+		this.store(opposite, link);
+
+		//add this to it
+		link.setNode(this);
+
+		//remove the previous link
+		if (l != null) {
+			l.removeNode();
+			//the opposite of the previous link has not been touched
+			return l.getOpposite().getNode();
+		}
+
+		//no previous node to be returned
+		return null;
+	}
+
+	// Slots
+
+	/**
+	 * Return the index of the slot dedicated for the links with the given {@code key}.
+	 * <br>
+	 * The returned index might not be less than {@link #slots()} when the implementation
+	 * grows its slots lazily.
+	 *
+	 * @param key the key to get its slot.
+	 * @return the index of the slot dedicated for the given {@code key}. Or {@code -1} if
+	 * 		no slot is dedicated for it.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = -1, to = Integer.MAX_VALUE)
+	@Contract(pure = true)
+	protected abstract int slot(@NotNull Key key);
+
+	/**
+	 * Return the index of the slot to store the links with the given {@code key} at.
+	 * <br>
+	 * Unlike {@link #slot(Key)}, this method is only called when a link is about to be
+	 * stored. So, an implementation that dedicates its slots lazily should dedicate a
+	 * slot here and not in {@link #slot(Key)}. After this method returns an index for a
+	 * key, {@link #slot(Key)} must return the same index for that key.
+	 *
+	 * @param key the key to get its slot.
+	 * @return the index of the slot dedicated for the given {@code key}. Or {@code -1} if
+	 * 		no slot is dedicated for it.
+	 * @implSpec this implementation returns {@code slot(key)}.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = -1, to = Integer.MAX_VALUE)
+	protected int allocate(@NotNull Key key) {
+		return this.slot(key);
+	}
+
+	/**
+	 * Return the number of the dedicated slots in this node.
+	 *
+	 * @return the number of the slots in this node.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = 0, to = Integer.MAX_VALUE)
+	@Contract(pure = true)
+	protected abstract int slots();
+
+	/**
+	 * Return the link stored at the slot with the given {@code index}.
+	 *
+	 * @param index the index of the slot.
+	 * @return the link at the slot. Or {@code null} if the slot is empty or has not been
+	 * 		allocated yet.
+	 * @throws IndexOutOfBoundsException if the given {@code index} is not a slot index.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Nullable
+	@Contract(pure = true)
+	protected abstract Link<V> getSlot(int index);
+
+	/**
+	 * Store the given {@code link} at the slot with the given {@code index}.
+	 * <br>
+	 * This method is a raw storage operation. It must not touch the given {@code link}
+	 * nor the link previously stored at the slot. Implementations that grow their slots
+	 * lazily should allocate the slot if necessary.
+	 *
+	 * @param index the index of the slot.
+	 * @param link  the link to be stored. Or {@code null} to empty the slot.
+	 * @throws IndexOutOfBoundsException if the given {@code index} is not a slot index.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "this")
+	protected abstract void setSlot(int index, @Nullable Link<V> link);
+
+	/**
+	 * Store the given {@code link} with the given {@code key} (in its slot or in the
+	 * overflow map).
+	 *
+	 * @param key  the key to store the link with.
+	 * @param link the link to be stored.
+	 * @return the link previously stored with the given {@code key}.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Nullable
+	@Contract(mutates = "this")
+	private Link<V> store(@NotNull Key key, @NotNull Link<V> link) {
+		int slot = this.allocate(key);
+		Link<V> l;
+
+		if (slot >= 0) {
+			l = this.getSlot(slot);
+			this.setSlot(slot, link);
+		} else {
+			if (this.overflow == null)
+				this.overflow = new HashMap<>(4);
+
+			l = this.overflow.put(key, link);
+		}
+
+		if (l == null)
+			this.size++;
+
+		this.modCount++;
+		return l;
+	}
+
+	/**
+	 * Remove the given {@code link} from its slot (or from the overflow map) if it is
+	 * currently stored with the given {@code key}.
+	 *
+	 * @param key  the key of the link.
+	 * @param link the link to be removed.
+	 * @return true, if the link was removed.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "this")
+	private boolean erase(@NotNull Key key, @NotNull Link<V> link) {
+		int slot = this.slot(key);
+
+		if (slot >= 0) {
+			if (this.getSlot(slot) != link)
+				return false;
+
+			this.setSlot(slot, null);
+		} else if (this.overflow == null || !this.overflow.remove(key, link))
+			return false;
+
+		this.size--;
+		this.modCount++;
+		return true;
+	}
+}
@@ -0,0 +1,175 @@
+/*
+ *	Copyright 2021 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+
+/**
+ * A node implementation backed by an array of links indexed by the {@link KeyRegistry}
+ * ordinals of their keys.
+ * <br>
+ * A keyed lookup in this node is an ordinal lookup followed by an array load. The array
+ * grows up to the greatest ordinal of the keys the node has been linked with. So, this
+ * node is best used with a small set of long living keys. Only linking registers a key.
+ * Looking up or removing a key that was never linked does not.
+ *
+ * @param <V> the type of the value of the node.
+ * @author LSafer
+ * @version 0.0.5
+ * @since 0.0.5 ~2026.10.17
+ */
+@SuppressWarnings("ClassHasNoToStringMethod")
+public class ArrayNode<V> extends AbstractSlotNode<V> {
+	@SuppressWarnings("JavaDoc")
+	private static final long serialVersionUID = -5497393040851946734L;
+
+	/**
+	 * An empty links array shared by the nodes that has not been linked yet.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	private static final Link<?>[] EMPTY = new Link[0];
+
+	/**
+	 * The links pointing to this node. Indexed by the ordinals of their keys.
+	 * <br>
+	 * Transient since ordinals are not the same between different runs.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	private transient Link<V>[] links;
+	/**
+	 * The currently set value of this node.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Nullable
+	private V value;
+
+	/**
+	 * Construct a new node with its value initialized to {@code null}.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public ArrayNode() {
+		//noinspection unchecked
+		this.links = (Link<V>[]) ArrayNode.EMPTY;
+	}
+
+	/**
+	 * Construct a new node with its value initialized to the given {@code value}.
+	 *
+	 * @param value the initial value of the constructed node.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public ArrayNode(@Nullable V value) {
+		//noinspection unchecked
+		this.links = (Link<V>[]) ArrayNode.EMPTY;
+		this.value = value;
+	}
+
+	// Value
+
+	@Nullable
+	@Override
+	public V get() {
+		return this.value;
+	}
+
+	@Nullable
+	@Override
+	public V set(@Nullable V value) {
+		V v = this.value;
+		this.value = value;
+		return v;
+	}
+
+	// Slots
+
+	@Override
+	protected int slot(@NotNull Key key) {
+		//lookups must not register keys
+		return KeyRegistry.find(key);
+	}
+
+	@Override
+	protected int allocate(@NotNull Key key) {
+		return KeyRegistry.ordinal(key);
+	}
+
+	@Override
+	protected int slots() {
+		return this.links.length;
+	}
+
+	@Nullable
+	@Override
+	protected Link<V> getSlot(int index) {
+		Link<V>[] links = this.links;
+		return index < links.length ? links[index] : null;
+	}
+
+	@Override
+	protected void setSlot(int index, @Nullable Link<V> link) {
+		if (index >= this.links.length) {
+			if (link == null)
+				//nothing to remove
+				return;
+
+			this.links = Arrays.copyOf(this.links, index + 1);
+		}
+
+		this.links[index] = link;
+	}
+
+	// Serialization
+
+	@SuppressWarnings("JavaDoc")
+	private void writeObject(@NotNull ObjectOutputStream stream) throws IOException {
+		stream.defaultWriteObject();
+
+		for (Link<V> link : this.links)
+			if (link != null)
+				stream.writeObject(link);
+
+		stream.writeObject(null);
+	}
+
+	@SuppressWarnings("JavaDoc")
+	private void readObject(@NotNull ObjectInputStream stream) throws IOException, ClassNotFoundException {
+		stream.defaultReadObject();
+		//noinspection unchecked
+		this.links = (Link<V>[]) ArrayNode.EMPTY;
+
+		while (true) {
+			//noinspection unchecked
+			Link<V> link = (Link<V>) stream.readObject();
+
+			if (link == null)
+				return;
+
+			this.setSlot(KeyRegistry.ordinal(link.getKey()), link);
+		}
+	}
+}
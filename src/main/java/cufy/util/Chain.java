@@ -0,0 +1,786 @@
+/*
+ *	Copyright 2021 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.util;
+
+import cufy.util.Node.Key;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A handle owning a linear chain of nodes with respect to a specific key.
+ * <br>
+ * Unlike {@link Nodes#asDeque(Key, Node)}, a chain remembers its head, its tail and its
+ * size. So, all of its operations at the ends of the chain are constant time. The
+ * remembered state is only kept consistent when the chain is mutated through its own
+ * methods (or its {@link #asDeque() deque} and {@link #iterator() iterators}). Mutating
+ * the nodes of a chain directly leaves the chain undefined.
+ * <br>
+ * A chain can be empty. The nodes of a chain are linked to each other with the key of
+ * the chain, the head has no node before it and the tail has no node after it.
+ * <br>
+ * Chains are not thread safe.
+ *
+ * @param <V> the type of the values of the nodes.
+ * @author LSafer
+ * @version 0.0.5
+ * @since 0.0.5 ~2026.10.17
+ */
+public class Chain<V> implements Iterable<Node<V>>, Serializable {
+	@SuppressWarnings("JavaDoc")
+	private static final long serialVersionUID = 3017469251346713025L;
+
+	/**
+	 * The key the nodes of this chain are linked with.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	protected final Key key;
+
+	/**
+	 * The first node. (null: empty)
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Nullable
+	protected Node<V> head;
+	/**
+	 * The last node. (null: empty)
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Nullable
+	protected Node<V> tail;
+	/**
+	 * The number of nodes.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	protected int size;
+
+	/**
+	 * Construct a new empty chain of nodes linked with the given {@code key}.
+	 *
+	 * @param key the key of the constructed chain.
+	 * @throws NullPointerException if the given {@code key} is null.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public Chain(@NotNull Key key) {
+		Objects.requireNonNull(key, "key");
+		this.key = key;
+	}
+
+	/**
+	 * Construct a new chain owning the chain the given {@code node} is in with respect to
+	 * the given {@code key}. The chain is walked once to find its ends and its size.
+	 *
+	 * @param key  the key of the constructed chain.
+	 * @param node a node of the chain to be owned.
+	 * @throws NullPointerException     if the given {@code key} or {@code node} is null.
+	 * @throws IllegalArgumentException if the chain the given {@code node} is in is a
+	 *                                  ring or loops back to its middle.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public Chain(@NotNull Key key, @NotNull Node<V> node) {
+		Objects.requireNonNull(key, "key");
+		Objects.requireNonNull(node, "node");
+		Key opposite = key.opposite();
+		this.key = key;
+
+		Nodes.Cycle<V> backward = Nodes.cycle(opposite, node);
+		Nodes.Cycle<V> forward = Nodes.cycle(key, node);
+
+		if (backward.getEntry() != null || forward.getEntry() != null)
+			throw new IllegalArgumentException("ring");
+
+		this.head = backward.getLast();
+		this.tail = forward.getLast();
+		this.size = backward.getSize() + forward.getSize() - 1;
+	}
+
+	@NotNull
+	@Override
+	public String toString() {
+		return "Chain{key=" + this.key + ", size=" + this.size + "}";
+	}
+
+	/**
+	 * Return the key the nodes of this chain are linked with.
+	 *
+	 * @return the key of this chain.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(pure = true)
+	public Key key() {
+		return this.key;
+	}
+
+	/**
+	 * Return the first node of this chain.
+	 *
+	 * @return the first node. Or {@code null} if this chain is empty.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Nullable
+	@Contract(pure = true)
+	public Node<V> head() {
+		return this.head;
+	}
+
+	/**
+	 * Return the last node of this chain.
+	 *
+	 * @return the last node. Or {@code null} if this chain is empty.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Nullable
+	@Contract(pure = true)
+	public Node<V> tail() {
+		return this.tail;
+	}
+
+	/**
+	 * Return the number of nodes in this chain.
+	 *
+	 * @return the number of nodes.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = 0, to = Integer.MAX_VALUE)
+	@Contract(pure = true)
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Return true if this chain has no nodes.
+	 *
+	 * @return true, if this chain is empty.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(pure = true)
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * Link the given {@code node} before the head of this chain.
+	 *
+	 * @param node the node to be added.
+	 * @throws NullPointerException     if the given {@code node} is null.
+	 * @throws IllegalArgumentException if the given {@code node} is already linked with
+	 *                                  the key of this chain or its opposite.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "this,param")
+	public void addFirst(@NotNull Node<V> node) {
+		this.requireDetached(node);
+		Node<V> head = this.head;
+
+		if (head == null)
+			this.tail = node;
+		else
+			head.put(this.key.opposite(), node);
+
+		this.head = node;
+		this.size++;
+	}
+
+	/**
+	 * Link the given {@code node} after the tail of this chain.
+	 *
+	 * @param node the node to be added.
+	 * @throws NullPointerException     if the given {@code node} is null.
+	 * @throws IllegalArgumentException if the given {@code node} is already linked with
+	 *                                  the key of this chain or its opposite.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "this,param")
+	public void addLast(@NotNull Node<V> node) {
+		this.requireDetached(node);
+		Node<V> tail = this.tail;
+
+		if (tail == null)
+			this.head = node;
+		else
+			tail.put(this.key, node);
+
+		this.tail = node;
+		this.size++;
+	}
+
+	/**
+	 * Link the given {@code node} after the given {@code after} node of this chain.
+	 *
+	 * @param after a node of this chain.
+	 * @param node  the node to be inserted.
+	 * @throws NullPointerException     if the given {@code after} or {@code node} is
+	 *                                  null.
+	 * @throws IllegalArgumentException if the given {@code after} is detected not to be
+	 *                                  in this chain, or the given {@code node} is
+	 *                                  already linked with the key of this chain or its
+	 *                                  opposite.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "this,param1,param2")
+	public void insert(@NotNull Node<V> after, @NotNull Node<V> node) {
+		this.requireMember(after);
+		this.requireDetached(node);
+		Node<V> next = after.get(this.key);
+
+		after.put(this.key, node);
+
+		if (next == null)
+			this.tail = node;
+		else
+			node.put(this.key, next);
+
+		this.size++;
+	}
+
+	/**
+	 * Unlink the first node of this chain.
+	 *
+	 * @return the unlinked node. Or {@code null} if this chain is empty.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Nullable
+	@Contract(mutates = "this")
+	public Node<V> pollFirst() {
+		Node<V> head = this.head;
+
+		if (head != null)
+			this.unlink(head);
+
+		return head;
+	}
+
+	/**
+	 * Unlink the last node of this chain.
+	 *
+	 * @return the unlinked node. Or {@code null} if this chain is empty.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Nullable
+	@Contract(mutates = "this")
+	public Node<V> pollLast() {
+		Node<V> tail = this.tail;
+
+		if (tail != null)
+			this.unlink(tail);
+
+		return tail;
+	}
+
+	/**
+	 * Unlink the given {@code node} from this chain and link the nodes around it to each
+	 * other. The given {@code node} must be in this chain.
+	 *
+	 * @param node a node of this chain.
+	 * @throws NullPointerException     if the given {@code node} is null.
+	 * @throws IllegalArgumentException if the given {@code node} is detected not to be in
+	 *                                  this chain.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "this,param")
+	public void remove(@NotNull Node<V> node) {
+		this.requireMember(node);
+		this.unlink(node);
+	}
+
+	/**
+	 * Unlink all the nodes of this chain from each other.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "this")
+	public void clear() {
+		Key key = this.key;
+		Node<V> node = this.head;
+
+		while (node != null) {
+			Node<V> next = node.get(key);
+			node.remove(key);
+			node = next;
+		}
+
+		this.head = null;
+		this.tail = null;
+		this.size = 0;
+	}
+
+	/**
+	 * Return true if the given {@code node} is in this chain. This method walks the
+	 * chain. An {@link IndexedChain} answers in constant time.
+	 *
+	 * @param node the node to look for.
+	 * @return true, if the given {@code node} is in this chain.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(value = "null->false", pure = true)
+	public boolean contains(@Nullable Object node) {
+		if (node instanceof Node)
+			for (Node<V> n = this.head; n != null; n = n.get(this.key))
+				if (n == node)
+					return true;
+
+		return false;
+	}
+
+	/**
+	 * Return an iterator iterating over the nodes of this chain from the head to the
+	 * tail. The returned iterator supports {@link Iterator#remove()}.
+	 *
+	 * @return an iterator over the nodes of this chain.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(value = "->new", pure = true)
+	@Override
+	public Iterator<Node<V>> iterator() {
+		return new ChainIterator(this.key, this.head);
+	}
+
+	/**
+	 * Return an iterator iterating over the nodes of this chain from the tail to the
+	 * head. The returned iterator supports {@link Iterator#remove()}.
+	 *
+	 * @return a descending iterator over the nodes of this chain.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(value = "->new", pure = true)
+	public Iterator<Node<V>> descendingIterator() {
+		return new ChainIterator(this.key.opposite(), this.tail);
+	}
+
+	/**
+	 * Return a spliterator over the nodes of this chain from the head to the tail. The
+	 * returned spliterator knows its size.
+	 *
+	 * @return a spliterator over the nodes of this chain.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(value = "->new", pure = true)
+	@Override
+	public Spliterator<Node<V>> spliterator() {
+		return new Nodes.NodeSpliterator<>(this.key, this.head, null, this.size);
+	}
+
+	/**
+	 * Return a sequential stream of the nodes of this chain from the head to the tail.
+	 *
+	 * @return a stream of the nodes of this chain.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(value = "->new", pure = true)
+	public Stream<Node<V>> stream() {
+		return StreamSupport.stream(this.spliterator(), false);
+	}
+
+	/**
+	 * Return a possibly parallel stream of the nodes of this chain from the head to the
+	 * tail.
+	 *
+	 * @return a possibly parallel stream of the nodes of this chain.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(value = "->new", pure = true)
+	public Stream<Node<V>> parallelStream() {
+		return StreamSupport.stream(this.spliterator(), true);
+	}
+
+	/**
+	 * Return a deque view of this chain. All the operations of the returned deque at the
+	 * ends of this chain are constant time.
+	 *
+	 * @return a deque view of this chain.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(value = "->new", pure = true)
+	public Deque<Node<V>> asDeque() {
+		return new ChainDeque();
+	}
+
+	/**
+	 * Unlink the given {@code node} of this chain.
+	 *
+	 * @param node a node of this chain.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "this,param")
+	protected void unlink(@NotNull Node<V> node) {
+		Key key = this.key;
+		Key opposite = key.opposite();
+		Node<V> prev = node.get(opposite);
+		Node<V> next = node.get(key);
+
+		if (prev == null) {
+			this.head = next;
+			if (next != null)
+				node.remove(key);
+		} else if (next == null)
+			prev.remove(key);
+		else
+			prev.put(key, next);
+
+		if (next == null)
+			this.tail = prev;
+
+		this.size--;
+	}
+
+	/**
+	 * Check that the given {@code node} is not linked with the key of this chain or its
+	 * opposite.
+	 *
+	 * @param node the node to be checked.
+	 * @throws NullPointerException     if the given {@code node} is null.
+	 * @throws IllegalArgumentException if the given {@code node} is linked.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(pure = true)
+	protected void requireDetached(@NotNull Node<V> node) {
+		Objects.requireNonNull(node, "node");
+
+		//the only node of a chain has no links
+		if (node == this.head || node.get(this.key) != null || node.get(this.key.opposite()) != null)
+			throw new IllegalArgumentException("Node already linked");
+	}
+
+	/**
+	 * Check that the given {@code node} is in this chain. This check is constant time:
+	 * a node with no node before it must be the head and a node with no node after it
+	 * must be the tail. So, it rejects any detached node or foreign end, but not a
+	 * middle node of another chain with the same key.
+	 *
+	 * @param node the node to be checked.
+	 * @throws NullPointerException     if the given {@code node} is null.
+	 * @throws IllegalArgumentException if the given {@code node} is not in this chain.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(pure = true)
+	protected void requireMember(@NotNull Node<V> node) {
+		Objects.requireNonNull(node, "node");
+
+		if (node.get(this.key.opposite()) == null ? node != this.head : node.get(this.key) == null && node != this.tail)
+			throw new IllegalArgumentException("Node not in the chain");
+	}
+
+	/**
+	 * An iterator iterating over the nodes of a chain in a specific direction.
+	 *
+	 * @author LSafer
+	 * @version 0.0.5
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	protected class ChainIterator implements Iterator<Node<V>> {
+		/**
+		 * The key to follow.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		protected final Key key;
+		/**
+		 * The next node to be returned. (null: no next)
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Nullable
+		protected Node<V> next;
+		/**
+		 * The last node returned by {@link #next()}. (null: none or removed)
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Nullable
+		protected Node<V> previous;
+
+		/**
+		 * Construct a new iterator following the given {@code key} from the given {@code
+		 * first} node.
+		 *
+		 * @param key   the key to follow.
+		 * @param first the first node. (null: empty)
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		protected ChainIterator(@NotNull Key key, @Nullable Node<V> first) {
+			this.key = key;
+			this.next = first;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return this.next != null;
+		}
+
+		@NotNull
+		@Override
+		public Node<V> next() {
+			Node<V> next = this.next;
+
+			if (next == null)
+				throw new NoSuchElementException("next");
+
+			this.next = next.get(this.key);
+			this.previous = next;
+			return next;
+		}
+
+		@Override
+		public void remove() {
+			Node<V> previous = this.previous;
+
+			if (previous == null)
+				throw new IllegalStateException("remove");
+
+			Chain.this.unlink(previous);
+			this.previous = null;
+		}
+	}
+
+	/**
+	 * A deque view of a chain.
+	 *
+	 * @author LSafer
+	 * @version 0.0.5
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	protected class ChainDeque extends AbstractQueue<Node<V>> implements Deque<Node<V>> {
+		@Range(from = 0, to = Integer.MAX_VALUE)
+		@Contract(pure = true)
+		@Override
+		public int size() {
+			return Chain.this.size;
+		}
+
+		@Contract(pure = true)
+		@Override
+		public boolean isEmpty() {
+			return Chain.this.size == 0;
+		}
+
+		@Contract(value = "null->false", pure = true)
+		@Override
+		public boolean contains(@Nullable Object object) {
+			return Chain.this.contains(object);
+		}
+
+		@Contract(mutates = "this")
+		@Override
+		public void clear() {
+			Chain.this.clear();
+		}
+
+		@NotNull
+		@Contract(value = "->new", pure = true)
+		@Override
+		public Iterator<Node<V>> iterator() {
+			return Chain.this.iterator();
+		}
+
+		@NotNull
+		@Contract(value = "->new", pure = true)
+		@Override
+		public Iterator<Node<V>> descendingIterator() {
+			return Chain.this.descendingIterator();
+		}
+
+		@NotNull
+		@Contract(value = "->new", pure = true)
+		@Override
+		public Spliterator<Node<V>> spliterator() {
+			return Chain.this.spliterator();
+		}
+
+		//add/offer
+
+		@Contract(mutates = "this,param")
+		@Override
+		public void addFirst(@NotNull Node<V> node) {
+			Chain.this.addFirst(node);
+		}
+
+		@Contract(mutates = "this,param")
+		@Override
+		public void addLast(@NotNull Node<V> node) {
+			Chain.this.addLast(node);
+		}
+
+		@Contract(value = "_->true", mutates = "this,param")
+		@Override
+		public boolean offerFirst(@NotNull Node<V> node) {
+			Chain.this.addFirst(node);
+			return true;
+		}
+
+		@Contract(value = "_->true", mutates = "this,param")
+		@Override
+		public boolean offerLast(@NotNull Node<V> node) {
+			Chain.this.addLast(node);
+			return true;
+		}
+
+		@Contract(value = "_->true", mutates = "this,param")
+		@Override
+		public boolean offer(@NotNull Node<V> node) {
+			Chain.this.addLast(node);
+			return true;
+		}
+
+		@Contract(mutates = "this,param")
+		@Override
+		public void push(@NotNull Node<V> node) {
+			Chain.this.addFirst(node);
+		}
+
+		//remove/poll
+
+		@NotNull
+		@Contract(mutates = "this")
+		@Override
+		public Node<V> removeFirst() {
+			Node<V> node = Chain.this.pollFirst();
+
+			if (node == null)
+				throw new NoSuchElementException("empty");
+
+			return node;
+		}
+
+		@NotNull
+		@Contract(mutates = "this")
+		@Override
+		public Node<V> removeLast() {
+			Node<V> node = Chain.this.pollLast();
+
+			if (node == null)
+				throw new NoSuchElementException("empty");
+
+			return node;
+		}
+
+		@Nullable
+		@Contract(mutates = "this")
+		@Override
+		public Node<V> pollFirst() {
+			return Chain.this.pollFirst();
+		}
+
+		@Nullable
+		@Contract(mutates = "this")
+		@Override
+		public Node<V> pollLast() {
+			return Chain.this.pollLast();
+		}
+
+		@Nullable
+		@Contract(mutates = "this")
+		@Override
+		public Node<V> poll() {
+			return Chain.this.pollFirst();
+		}
+
+		@NotNull
+		@Contract(mutates = "this")
+		@Override
+		public Node<V> pop() {
+			return this.removeFirst();
+		}
+
+		@Contract(value = "null->false", mutates = "this,param")
+		@Override
+		public boolean remove(@Nullable Object object) {
+			if (!Chain.this.contains(object))
+				return false;
+
+			//noinspection unchecked
+			Chain.this.unlink((Node<V>) object);
+			return true;
+		}
+
+		@Contract(value = "null->false", mutates = "this,param")
+		@Override
+		public boolean removeFirstOccurrence(@Nullable Object object) {
+			return this.remove(object);
+		}
+
+		@Contract(value = "null->false", mutates = "this,param")
+		@Override
+		public boolean removeLastOccurrence(@Nullable Object object) {
+			return this.remove(object);
+		}
+
+		//get/peek
+
+		@NotNull
+		@Contract(pure = true)
+		@Override
+		public Node<V> getFirst() {
+			Node<V> head = Chain.this.head;
+
+			if (head == null)
+				throw new NoSuchElementException("empty");
+
+			return head;
+		}
+
+		@NotNull
+		@Contract(pure = true)
+		@Override
+		public Node<V> getLast() {
+			Node<V> tail = Chain.this.tail;
+
+			if (tail == null)
+				throw new NoSuchElementException("empty");
+
+			return tail;
+		}
+
+		@Nullable
+		@Contract(pure = true)
+		@Override
+		public Node<V> peekFirst() {
+			return Chain.this.head;
+		}
+
+		@Nullable
+		@Contract(pure = true)
+		@Override
+		public Node<V> peekLast() {
+			return Chain.this.tail;
+		}
+
+		@Nullable
+		@Contract(pure = true)
+		@Override
+		public Node<V> peek() {
+			return Chain.this.head;
+		}
+	}
+}
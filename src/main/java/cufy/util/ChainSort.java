@@ -0,0 +1,396 @@
+/*
+ *	Copyright 2021 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.util;
+
+import cufy.util.Node.Key;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToLongFunction;
+
+/**
+ * The sorting machinery behind the sort methods of {@link Nodes}.
+ * <br>
+ * A chain is sorted in three steps. The nodes are gathered into an array (after
+ * detecting rings using {@link Nodes#cycle(Key, Node)}). The array is sorted with a stable bottom-up merge
+ * sort (or a radix sort for {@code long} keys). Then, the chain is relinked to follow
+ * the array, putting only the links whose neighbours changed. So, the links of the
+ * nodes that stay next to each other are kept alive and a sorted chain is not relinked
+ * at all.
+ *
+ * @author LSafer
+ * @version 0.0.5
+ * @since 0.0.5 ~2026.10.17
+ */
+final class ChainSort {
+	/**
+	 * The length of the runs sorted by insertion before merging.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	static final int RUN = 32;
+	/**
+	 * The minimum number of nodes to be sorted in parallel.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	static final int PARALLEL_THRESHOLD = 1 << 13;
+	/**
+	 * The number of bits of a radix sort digit.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	static final int DIGIT = 8;
+	/**
+	 * The number of buckets of a radix sort digit.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	static final int RADIX = 1 << ChainSort.DIGIT;
+
+	/**
+	 * Utility classes must not be initialized.
+	 *
+	 * @throws AssertionError always.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private ChainSort() {
+		throw new AssertionError("No instance for you!");
+	}
+
+	/**
+	 * Sort the chain the given {@code node} is in with respect to the given {@code key}
+	 * using the given {@code comparator}.
+	 *
+	 * @param key        the key to follow.
+	 * @param node       a node of the chain.
+	 * @param comparator the comparator to be used.
+	 * @param <V>        the type of the values of the nodes.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	//fail -> undefined
+	static <V> void sort(@NotNull Key key, @NotNull Node<V> node, @NotNull Comparator<? super Node<V>> comparator) {
+		Gathered<V> gathered = ChainSort.gather(key, node);
+		int length = gathered.length;
+
+		if (length < 2)
+			return;
+
+		//noinspection unchecked
+		ChainSort.sort(gathered.nodes, 0, length, comparator, (Node<V>[]) new Node[length]);
+		ChainSort.relink(key, gathered.nodes, length, gathered.ring);
+	}
+
+	/**
+	 * Sort the chain the given {@code node} is in with respect to the given {@code key}
+	 * using the given {@code comparator} on the {@link ForkJoinPool#commonPool() common
+	 * pool}. Chains shorter than the {@link #PARALLEL_THRESHOLD threshold} are sorted
+	 * sequentially.
+	 * <br>
+	 * The gathered nodes are split into segments sorted in parallel and merged back in
+	 * parallel by {@link Arrays#parallelSort(Object[], int, int, Comparator)}. The chain
+	 * is then relinked sequentially since relinking a node touches its old neighbours.
+	 *
+	 * @param key        the key to follow.
+	 * @param node       a node of the chain.
+	 * @param comparator the comparator to be used.
+	 * @param <V>        the type of the values of the nodes.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	//fail -> undefined
+	static <V> void parallelSort(@NotNull Key key, @NotNull Node<V> node, @NotNull Comparator<? super Node<V>> comparator) {
+		Gathered<V> gathered = ChainSort.gather(key, node);
+		int length = gathered.length;
+
+		if (length < 2)
+			return;
+
+		if (length < ChainSort.PARALLEL_THRESHOLD) {
+			//noinspection unchecked
+			ChainSort.sort(gathered.nodes, 0, length, comparator, (Node<V>[]) new Node[length]);
+		} else
+			Arrays.parallelSort(gathered.nodes, 0, length, comparator);
+
+		ChainSort.relink(key, gathered.nodes, length, gathered.ring);
+	}
+
+	/**
+	 * Sort the chain the given {@code node} is in with respect to the given {@code key}
+	 * by the {@code long} returned from the given {@code function} for each node using a
+	 * stable least-significant-digit radix sort.
+	 * <br>
+	 * The function is invoked once for each node. The keys are sorted in {@code 8}-bit
+	 * digits, skipping the digits that are the same for all the keys. So, the sort takes
+	 * at most {@code 8} counting passes.
+	 *
+	 * @param key      the key to follow.
+	 * @param node     a node of the chain.
+	 * @param function the function extracting the sort key of each node.
+	 * @param <V>      the type of the values of the nodes.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	//fail -> undefined
+	static <V> void radixSort(@NotNull Key key, @NotNull Node<V> node, @NotNull ToLongFunction<? super Node<V>> function) {
+		Gathered<V> gathered = ChainSort.gather(key, node);
+		int length = gathered.length;
+
+		if (length < 2)
+			return;
+
+		Node<V>[] nodes = gathered.nodes;
+		long[] keys = new long[length];
+		long difference = 0;
+		for (int i = 0; i < length; i++) {
+			//flip the sign to order negative keys first
+			keys[i] = function.applyAsLong(nodes[i]) ^ Long.MIN_VALUE;
+			difference |= keys[i] ^ keys[0];
+		}
+
+		//noinspection unchecked
+		Node<V>[] nodeBuffer = (Node<V>[]) new Node[length];
+		long[] keyBuffer = new long[length];
+		int[] counts = new int[ChainSort.RADIX];
+
+		for (int shift = 0; shift < Long.SIZE; shift += ChainSort.DIGIT) {
+			if ((difference >>> shift & ChainSort.RADIX - 1) == 0)
+				//all the keys have the same digit
+				continue;
+
+			Arrays.fill(counts, 0);
+			for (int i = 0; i < length; i++)
+				counts[(int) (keys[i] >>> shift) & ChainSort.RADIX - 1]++;
+
+			for (int i = 0, offset = 0; i < ChainSort.RADIX; i++) {
+				int count = counts[i];
+				counts[i] = offset;
+				offset += count;
+			}
+
+			for (int i = 0; i < length; i++) {
+				int index = counts[(int) (keys[i] >>> shift) & ChainSort.RADIX - 1]++;
+				keyBuffer[index] = keys[i];
+				nodeBuffer[index] = nodes[i];
+			}
+
+			long[] keySwap = keys;
+			keys = keyBuffer;
+			keyBuffer = keySwap;
+			Node<V>[] nodeSwap = nodes;
+			nodes = nodeBuffer;
+			nodeBuffer = nodeSwap;
+		}
+
+		ChainSort.relink(key, nodes, length, gathered.ring);
+	}
+
+	/**
+	 * Gather the nodes of the chain the given {@code node} is in with respect to the
+	 * given {@code key} from its first node to its last node. The first node of a ring is
+	 * the node after the given {@code node}.
+	 *
+	 * @param key  the key to follow.
+	 * @param node a node of the chain.
+	 * @param <V>  the type of the values of the nodes.
+	 * @return the gathered nodes.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(value = "_,_->new", pure = true)
+	static <V> Gathered<V> gather(@NotNull Key key, @NotNull Node<V> node) {
+		Node<V> first = Nodes.head(key, node);
+		Nodes.Cycle<V> cycle = Nodes.cycle(key, first);
+		int length = cycle.getSize();
+		//noinspection unchecked
+		Node<V>[] nodes = (Node<V>[]) new Node[length];
+
+		Node<V> next = first;
+		for (int i = 0; i < length; i++, next = next.get(key))
+			nodes[i] = next;
+
+		return new Gathered<>(nodes, length, cycle.getEntry() != null);
+	}
+
+	/**
+	 * Sort the given {@code array} from the given {@code from} index to the given {@code
+	 * to} index (exclusive) using a stable bottom-up merge sort. The given {@code buffer}
+	 * is used for merging at the same indices.
+	 *
+	 * @param array      the array to be sorted.
+	 * @param from       the first index (inclusive).
+	 * @param to         the last index (exclusive).
+	 * @param comparator the comparator to be used.
+	 * @param buffer     the merging buffer. At least as long as {@code to}.
+	 * @param <T>        the type of the elements.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "param1,param5")
+	static <T> void sort(T @NotNull [] array, int from, int to, @NotNull Comparator<? super T> comparator, T @NotNull [] buffer) {
+		for (int lo = from; lo < to; lo += ChainSort.RUN)
+			ChainSort.insertionSort(array, lo, Math.min(lo + ChainSort.RUN, to), comparator);
+
+		T[] source = array;
+		T[] target = buffer;
+		for (int width = ChainSort.RUN; width < to - from; width <<= 1) {
+			for (int lo = from; lo < to; lo += width << 1) {
+				int mid = Math.min(lo + width, to);
+				int hi = Math.min(mid + width, to);
+				ChainSort.merge(source, lo, mid, hi, target, comparator);
+			}
+
+			T[] swap = source;
+			source = target;
+			target = swap;
+		}
+
+		if (source != array)
+			System.arraycopy(source, from, array, from, to - from);
+	}
+
+	/**
+	 * Merge the sorted ranges {@code [lo, mid)} and {@code [mid, hi)} of the given
+	 * {@code source} into the same indices of the given {@code target}. Equal elements
+	 * keep their order.
+	 *
+	 * @param source     the source array.
+	 * @param lo         the first index of the first range.
+	 * @param mid        the first index of the second range.
+	 * @param hi         the end index of the second range (exclusive).
+	 * @param target     the target array.
+	 * @param comparator the comparator to be used.
+	 * @param <T>        the type of the elements.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "param5")
+	static <T> void merge(T @NotNull [] source, int lo, int mid, int hi, T @NotNull [] target, @NotNull Comparator<? super T> comparator) {
+		if (mid >= hi || comparator.compare(source[mid - 1], source[mid]) <= 0) {
+			//already in order
+			System.arraycopy(source, lo, target, lo, hi - lo);
+			return;
+		}
+
+		int i = lo;
+		int j = mid;
+		for (int k = lo; k < hi; k++)
+			if (j >= hi || i < mid && comparator.compare(source[i], source[j]) <= 0)
+				target[k] = source[i++];
+			else
+				target[k] = source[j++];
+	}
+
+	/**
+	 * Relink the nodes of a chain to follow the order of the given {@code nodes}. Only
+	 * the links whose neighbours changed are put.
+	 *
+	 * @param key    the key to link with.
+	 * @param nodes  the nodes in their new order.
+	 * @param length the number of nodes.
+	 * @param ring   true, to link the last node to the first node.
+	 * @param <V>    the type of the values of the nodes.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	//fail -> undefined
+	static <V> void relink(@NotNull Key key, Node<V> @NotNull [] nodes, int length, boolean ring) {
+		for (int i = 0, l = length - 1; i < l; i++)
+			if (nodes[i].get(key) != nodes[i + 1])
+				nodes[i].put(key, nodes[i + 1]);
+
+		Node<V> first = nodes[0];
+		Node<V> last = nodes[length - 1];
+
+		if (ring) {
+			if (last.get(key) != first)
+				last.put(key, first);
+		} else {
+			//the only possible leftovers are links between the ends
+			if (last.get(key) != null)
+				last.remove(key);
+			if (first.get(key.opposite()) != null)
+				first.remove(key.opposite());
+		}
+	}
+
+	/**
+	 * Sort the given {@code array} from the given {@code from} index to the given {@code
+	 * to} index (exclusive) by insertion.
+	 *
+	 * @param array      the array to be sorted.
+	 * @param from       the first index (inclusive).
+	 * @param to         the last index (exclusive).
+	 * @param comparator the comparator to be used.
+	 * @param <T>        the type of the elements.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "param1")
+	private static <T> void insertionSort(T @NotNull [] array, int from, int to, @NotNull Comparator<? super T> comparator) {
+		for (int i = from + 1; i < to; i++) {
+			T element = array[i];
+			int j = i - 1;
+
+			while (j >= from && comparator.compare(array[j], element) > 0) {
+				array[j + 1] = array[j];
+				j--;
+			}
+
+			array[j + 1] = element;
+		}
+	}
+
+	/**
+	 * The nodes of a chain gathered in order.
+	 *
+	 * @param <V> the type of the values of the nodes.
+	 * @author LSafer
+	 * @version 0.0.5
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	static final class Gathered<V> {
+		/**
+		 * The nodes from the index {@code 0} to {@link #length} (exclusive).
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		final Node<V> @NotNull [] nodes;
+		/**
+		 * The number of nodes.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		final int length;
+		/**
+		 * True, if the last node is linked to the first node.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		final boolean ring;
+
+		/**
+		 * Construct a new gathered chain.
+		 *
+		 * @param nodes  the nodes.
+		 * @param length the number of nodes.
+		 * @param ring   true, if the chain is a ring.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		Gathered(Node<V> @NotNull [] nodes, int length, boolean ring) {
+			this.nodes = nodes;
+			this.length = length;
+			this.ring = ring;
+		}
+	}
+}
@@ -0,0 +1,631 @@
+/*
+ *	Copyright 2021 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.util;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A thread safe node implementation that can only be linked to other concurrent nodes.
+ * <div style="padding: 10px">
+ *     <h3>Relations</h3>
+ *     Both sides of a relation share a single relation object holding its status. A
+ *     relation is first installed in both nodes as pending, then made live by a single
+ *     volatile write. The write also kills the relations it replaces. So, a reader looks
+ *     at the status of the relation instead of the slots and never sees a relation from
+ *     one side only.
+ * </div>
+ * <div style="padding: 10px">
+ *     <h3>Locking</h3>
+ *     Reads ({@link #get(Key)}, {@link #getLink(Key)}, {@link #containsKey(Key)}...) do
+ *     not lock. Writes ({@link #put(Key, Node)}, {@link #remove(Key)}...) lock every node
+ *     whose relations they touch, in a global order to not deadlock, and check that
+ *     nothing has changed after locking (retrying otherwise). So, writes to unrelated
+ *     parts of a graph do not contend.
+ * </div>
+ * The views and the iterators are weakly consistent.
+ *
+ * @param <V> the type of the value of the node.
+ * @author LSafer
+ * @version 0.0.5
+ * @since 0.0.5 ~2026.10.17
+ */
+@SuppressWarnings("ClassHasNoToStringMethod")
+public class ConcurrentNode<V> extends AbstractNode<V> {
+	/**
+	 * The sequence the nodes are locked by.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	private static final AtomicLong SEQUENCE = new AtomicLong();
+
+	/**
+	 * The lock of this node. Held while changing the relations of this node.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	private final ReentrantLock lock = new ReentrantLock();
+	/**
+	 * The sides of the relations of this node. Mapped by their keys.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	private final ConcurrentHashMap<Key, Side<V>> map = new ConcurrentHashMap<>();
+	/**
+	 * The position of this node in the locking order.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private final long sequence = ConcurrentNode.SEQUENCE.getAndIncrement();
+	/**
+	 * The value of this node.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	private final AtomicReference<V> value;
+
+	/**
+	 * A set view of the links of this node.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Nullable
+	private Set<Link<V>> linkSet;
+
+	/**
+	 * Construct a new node with its value initialized to {@code null}.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public ConcurrentNode() {
+		this.value = new AtomicReference<>();
+	}
+
+	/**
+	 * Construct a new node with its value initialized to the given {@code value}.
+	 *
+	 * @param value the initial value of the constructed node.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public ConcurrentNode(@Nullable V value) {
+		this.value = new AtomicReference<>(value);
+	}
+
+	/**
+	 * Lock the given nodes in the global order. Null and duplicate nodes are ignored.
+	 *
+	 * @param nodes the nodes to be locked.
+	 * @return the locked nodes.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(mutates = "param")
+	private static ConcurrentNode<?>[] lock(@Nullable ConcurrentNode<?> @NotNull ... nodes) {
+		int length = 0;
+
+		//sort by sequence, dropping nulls and duplicates
+		loop:
+		for (ConcurrentNode<?> node : nodes) {
+			if (node == null)
+				continue;
+
+			int i = length;
+			while (i > 0 && nodes[i - 1].sequence > node.sequence)
+				i--;
+			if (i > 0 && nodes[i - 1] == node)
+				continue loop;
+
+			System.arraycopy(nodes, i, nodes, i + 1, length - i);
+			nodes[i] = node;
+			length++;
+		}
+
+		ConcurrentNode<?>[] locked = Arrays.copyOf(nodes, length);
+		for (ConcurrentNode<?> node : locked)
+			node.lock.lock();
+		return locked;
+	}
+
+	/**
+	 * Unlock the given nodes.
+	 *
+	 * @param nodes the nodes to be unlocked.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private static void unlock(@NotNull ConcurrentNode<?> @NotNull [] nodes) {
+		for (int i = nodes.length - 1; i >= 0; i--)
+			nodes[i].lock.unlock();
+	}
+
+	/**
+	 * Resolve the live side starting from the given {@code side}.
+	 *
+	 * @param side the side in a slot.
+	 * @param <V>  the type of the values of the nodes.
+	 * @return the live side. Or {@code null} if the slot is empty.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Nullable
+	@Contract(pure = true)
+	private static <V> Side<V> live(@Nullable Side<V> side) {
+		Side<V> s = side;
+
+		while (s != null) {
+			Relation<V> r = s.relation;
+			int status = r.status;
+
+			if (status == Relation.PENDING) {
+				Side<V> previous = s.previous;
+
+				if (r.status == Relation.PENDING)
+					//the previous side is still valid
+					s = previous;
+
+				continue;
+			}
+			if (status == Relation.DEAD)
+				return null;
+
+			Relation<V> killer = r.killer;
+
+			if (killer != null && killer.status == Relation.LIVE)
+				return null;
+			if (r.status != Relation.LIVE)
+				//killed and finalized meanwhile
+				return null;
+
+			return s;
+		}
+
+		return null;
+	}
+
+	@Nullable
+	@Override
+	public V get() {
+		return this.value.get();
+	}
+
+	@Nullable
+	@Override
+	public V set(@Nullable V value) {
+		return this.value.getAndSet(value);
+	}
+
+	@NotNull
+	@Override
+	public Set<Link<V>> linkSet() {
+		if (this.linkSet == null)
+			this.linkSet = new AbstractSet<Link<V>>() {
+				@Override
+				public boolean contains(@Nullable Object object) {
+					if (object instanceof Side) {
+						Side<?> side = (Side<?>) object;
+						return side.node == ConcurrentNode.this &&
+							   ConcurrentNode.live(ConcurrentNode.this.map.get(side.key)) == side;
+					}
+
+					return false;
+				}
+
+				@NotNull
+				@Override
+				public Iterator<Link<V>> iterator() {
+					Iterator<Side<V>> iterator = ConcurrentNode.this.map.values().iterator();
+					return new Iterator<Link<V>>() {
+						@Nullable
+						private Side<V> next = this.seek();
+						@Nullable
+						private Side<V> last;
+
+						@Override
+						public boolean hasNext() {
+							return this.next != null;
+						}
+
+						@Override
+						public Link<V> next() {
+							Side<V> next = this.next;
+
+							if (next == null)
+								throw new NoSuchElementException("next");
+
+							this.last = next;
+							this.next = this.seek();
+							return next;
+						}
+
+						@Override
+						public void remove() {
+							Side<V> last = this.last;
+
+							if (last == null)
+								throw new IllegalStateException("remove");
+
+							ConcurrentNode.this.unlink(last);
+							this.last = null;
+						}
+
+						@Nullable
+						private Side<V> seek() {
+							while (iterator.hasNext()) {
+								Side<V> side = ConcurrentNode.live(iterator.next());
+
+								if (side != null)
+									return side;
+							}
+
+							return null;
+						}
+					};
+				}
+
+				@Override
+				public boolean remove(@Nullable Object object) {
+					if (object instanceof Side && ((Side<?>) object).node == ConcurrentNode.this)
+						//noinspection unchecked
+						return ConcurrentNode.this.unlink((Side<V>) object);
+
+					return false;
+				}
+
+				@Override
+				public int size() {
+					int size = 0;
+					for (Side<V> side : ConcurrentNode.this.map.values())
+						if (ConcurrentNode.live(side) != null)
+							size++;
+					return size;
+				}
+			};
+
+		return this.linkSet;
+	}
+
+	@Nullable
+	@Override
+	public Link<V> getLink(@NotNull Key key) {
+		Objects.requireNonNull(key, "key");
+		return ConcurrentNode.live(this.map.get(key));
+	}
+
+	@Nullable
+	@Override
+	public Node<V> get(@NotNull Key key) {
+		Objects.requireNonNull(key, "key");
+		Side<V> side = ConcurrentNode.live(this.map.get(key.opposite()));
+		return side == null ? null : side.opposite().node;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <br>
+	 * Both sides of the new relation appear at once. The relations replaced at both
+	 * sides disappear at the same moment.
+	 *
+	 * @throws IllegalArgumentException if the given {@code node} is not a concurrent
+	 *                                  node.
+	 */
+	@Nullable
+	@Override
+	public Node<V> put(@NotNull Key key, @NotNull Node<V> node) {
+		Objects.requireNonNull(key, "key");
+		Objects.requireNonNull(node, "node");
+		if (!(node instanceof ConcurrentNode))
+			throw new IllegalArgumentException("Not a concurrent node: " + node);
+
+		ConcurrentNode<V> other = (ConcurrentNode<V>) node;
+		Key opposite = key.opposite();
+
+		while (true) {
+			Side<V> previous = ConcurrentNode.live(this.map.get(opposite));
+			Side<V> back = ConcurrentNode.live(other.map.get(key));
+
+			if (previous != null && back != null && previous.relation == back.relation)
+				//already linked
+				return other;
+
+			ConcurrentNode<?>[] locked = ConcurrentNode.lock(
+					this,
+					other,
+					previous == null ? null : previous.opposite().node,
+					back == null ? null : back.opposite().node
+			);
+			try {
+				if (ConcurrentNode.live(this.map.get(opposite)) != previous ||
+					ConcurrentNode.live(other.map.get(key)) != back)
+					//changed before locking
+					continue;
+
+				Relation<V> relation = new Relation<>(this, opposite, other, key);
+				relation.a.previous = previous;
+				relation.b.previous = back;
+
+				if (previous != null)
+					previous.relation.killer = relation;
+				if (back != null)
+					back.relation.killer = relation;
+
+				this.map.put(opposite, relation.a);
+				other.map.put(key, relation.b);
+
+				//linearization point
+				relation.status = Relation.LIVE;
+
+				if (previous != null) {
+					previous.relation.status = Relation.DEAD;
+					Side<V> o = previous.opposite();
+					o.node.map.remove(o.key, o);
+				}
+				if (back != null) {
+					back.relation.status = Relation.DEAD;
+					Side<V> o = back.opposite();
+					o.node.map.remove(o.key, o);
+				}
+
+				relation.a.previous = null;
+				relation.b.previous = null;
+				return previous == null ? null : previous.opposite().node;
+			} finally {
+				ConcurrentNode.unlock(locked);
+			}
+		}
+	}
+
+	@Nullable
+	@Override
+	public Node<V> remove(@NotNull Key key) {
+		Objects.requireNonNull(key, "key");
+
+		while (true) {
+			Side<V> side = ConcurrentNode.live(this.map.get(key.opposite()));
+
+			if (side == null)
+				return null;
+			if (this.unlink(side))
+				return side.opposite().node;
+		}
+	}
+
+	/**
+	 * Remove the relation of the given {@code side} if it is still a live side of this
+	 * node.
+	 *
+	 * @param side the side of the relation to be removed.
+	 * @return true, if the relation was removed.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "this")
+	private boolean unlink(@NotNull Side<V> side) {
+		Side<V> opposite = side.opposite();
+		ConcurrentNode<?>[] locked = ConcurrentNode.lock(this, opposite.node);
+		try {
+			if (ConcurrentNode.live(this.map.get(side.key)) != side)
+				return false;
+
+			//linearization point
+			side.relation.status = Relation.DEAD;
+
+			this.map.remove(side.key, side);
+			opposite.node.map.remove(opposite.key, opposite);
+			return true;
+		} finally {
+			ConcurrentNode.unlock(locked);
+		}
+	}
+
+	/**
+	 * A relation between two concurrent nodes.
+	 *
+	 * @param <V> the type of the values of the nodes.
+	 * @author LSafer
+	 * @version 0.0.5
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private static final class Relation<V> {
+		/**
+		 * The status of a relation that has been installed but not yet visible.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private static final int PENDING = 0;
+		/**
+		 * The status of a visible relation (unless killed).
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private static final int LIVE = 1;
+		/**
+		 * The status of a removed relation.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private static final int DEAD = 2;
+
+		/**
+		 * The first side.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		private final Side<V> a;
+		/**
+		 * The second side.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		private final Side<V> b;
+
+		/**
+		 * The relation replacing this relation. This relation is dead once it is live.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Nullable
+		private volatile Relation<V> killer;
+		/**
+		 * The status of this relation.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private volatile int status;
+
+		/**
+		 * Construct a new pending relation.
+		 *
+		 * @param a    the first node.
+		 * @param aKey the key of the side of the first node.
+		 * @param b    the second node.
+		 * @param bKey the key of the side of the second node.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private Relation(@NotNull ConcurrentNode<V> a, @NotNull Key aKey, @NotNull ConcurrentNode<V> b, @NotNull Key bKey) {
+			this.a = new Side<>(this, a, aKey);
+			this.b = new Side<>(this, b, bKey);
+		}
+	}
+
+	/**
+	 * A side of a relation. The link in a node.
+	 *
+	 * @param <V> the type of the values of the nodes.
+	 * @author LSafer
+	 * @version 0.0.5
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private static final class Side<V> implements Link<V> {
+		/**
+		 * The relation of this side.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		private final Relation<V> relation;
+		/**
+		 * The node of this side.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		private final ConcurrentNode<V> node;
+		/**
+		 * The key of this side.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		private final Key key;
+
+		/**
+		 * The side this side replaced in its slot. Valid while the relation is pending.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Nullable
+		private volatile Side<V> previous;
+
+		/**
+		 * Construct a new side.
+		 *
+		 * @param relation the relation of the side.
+		 * @param node     the node of the side.
+		 * @param key      the key of the side.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private Side(@NotNull Relation<V> relation, @NotNull ConcurrentNode<V> node, @NotNull Key key) {
+			this.relation = relation;
+			this.node = node;
+			this.key = key;
+		}
+
+		@Override
+		public boolean equals(@Nullable Object object) {
+			return object == this;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(this.key) ^
+				   System.identityHashCode(this.node);
+		}
+
+		@NotNull
+		@Override
+		public String toString() {
+			return this.key + "=>" + this.node;
+		}
+
+		@NotNull
+		@Override
+		public Key getKey() {
+			return this.key;
+		}
+
+		@NotNull
+		@Override
+		public Link<V> getOpposite() {
+			return this.opposite();
+		}
+
+		@Nullable
+		@Override
+		public Node<V> getNode() {
+			return ConcurrentNode.live(this.node.map.get(this.key)) == this ? this.node : null;
+		}
+
+		@Nullable
+		@Override
+		public Node<V> removeNode() {
+			return this.node.unlink(this) ? this.node : null;
+		}
+
+		@Nullable
+		@Override
+		public Node<V> setNode(@NotNull Node<V> node) {
+			Objects.requireNonNull(node, "node");
+			Node<V> n = this.getNode();
+
+			if (n != node)
+				throw new UnsupportedOperationException("setNode");
+
+			return n;
+		}
+
+		/**
+		 * Return the other side of the relation of this side.
+		 *
+		 * @return the other side.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		@Contract(pure = true)
+		private Side<V> opposite() {
+			return this.relation.a == this ? this.relation.b : this.relation.a;
+		}
+	}
+}
@@ -0,0 +1,168 @@
+/*
+ *	Copyright 2021 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.util;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.util.Objects;
+
+/**
+ * A thread safe set of nodes compared by their identity.
+ * <br>
+ * The nodes are spread over a fixed number of {@link NodeIdentitySet segments} by their
+ * identity hash codes. Each segment is guarded by its own lock. So, threads adding
+ * different nodes rarely wait for each other.
+ *
+ * @author LSafer
+ * @version 0.0.5
+ * @since 0.0.5 ~2026.10.17
+ */
+public class ConcurrentNodeIdentitySet {
+	/**
+	 * The default number of segments.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public static final int DEFAULT_SEGMENTS = 64;
+
+	/**
+	 * The segments. Each is guarded by itself.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	private final NodeIdentitySet @NotNull [] segments;
+	/**
+	 * The mask of the segments.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private final int mask;
+
+	/**
+	 * Construct a new empty set with the {@link #DEFAULT_SEGMENTS default} number of
+	 * segments.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public ConcurrentNodeIdentitySet() {
+		this(ConcurrentNodeIdentitySet.DEFAULT_SEGMENTS);
+	}
+
+	/**
+	 * Construct a new empty set with at least the given number of {@code segments}.
+	 *
+	 * @param segments the minimum number of segments. Rounded up to a power of two.
+	 * @throws IllegalArgumentException if the given {@code segments} is not positive or
+	 *                                  is more than {@code 1 << 16}.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public ConcurrentNodeIdentitySet(@Range(from = 1, to = 1 << 16) int segments) {
+		if (segments < 1 || segments > 1 << 16)
+			throw new IllegalArgumentException("segments: " + segments);
+
+		int length = Integer.highestOneBit(segments);
+		if (length < segments)
+			length <<= 1;
+
+		this.segments = new NodeIdentitySet[length];
+		for (int i = 0; i < length; i++)
+			this.segments[i] = new NodeIdentitySet();
+
+		this.mask = length - 1;
+	}
+
+	@NotNull
+	@Override
+	public String toString() {
+		return "ConcurrentNodeIdentitySet{size=" + this.size() + "}";
+	}
+
+	/**
+	 * Add the given {@code node} to this set.
+	 *
+	 * @param node the node to be added.
+	 * @return true, if the given {@code node} was not in this set.
+	 * @throws NullPointerException if the given {@code node} is null.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "this")
+	public boolean add(@NotNull Node<?> node) {
+		Objects.requireNonNull(node, "node");
+		NodeIdentitySet segment = this.segment(node);
+
+		synchronized (segment) {
+			return segment.add(node);
+		}
+	}
+
+	/**
+	 * Return true if the given {@code node} is in this set.
+	 *
+	 * @param node the node to look for.
+	 * @return true, if the given {@code node} is in this set.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(value = "null->false", pure = true)
+	public boolean contains(@Nullable Object node) {
+		if (node == null)
+			return false;
+
+		NodeIdentitySet segment = this.segment(node);
+
+		synchronized (segment) {
+			return segment.contains(node);
+		}
+	}
+
+	/**
+	 * Return the number of nodes in this set. Not atomic with respect to concurrent
+	 * additions.
+	 *
+	 * @return the number of nodes.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = 0, to = Integer.MAX_VALUE)
+	@Contract(pure = true)
+	public int size() {
+		int size = 0;
+
+		for (NodeIdentitySet segment : this.segments)
+			synchronized (segment) {
+				size += segment.size();
+			}
+
+		return size;
+	}
+
+	/**
+	 * Return the segment of the given {@code object}.
+	 *
+	 * @param object the object to get its segment.
+	 * @return the segment of the given {@code object}.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(pure = true)
+	private NodeIdentitySet segment(@NotNull Object object) {
+		//use the high bits, the segments hash by the low bits
+		int h = System.identityHashCode(object) * 0x9E3779B9;
+		return this.segments[h >>> 16 & this.mask];
+	}
+}
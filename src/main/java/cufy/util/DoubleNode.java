@@ -0,0 +1,164 @@
+/*
+ *	Copyright 2021 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.util;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * A node implementation holding a primitive {@code double} value.
+ * <br>
+ * The value is stored unboxed and can be accessed without boxing using {@link
+ * #getDouble()} and {@link #setDouble(double)}. The {@link #get()} and {@link #set(Double)}
+ * methods are still supported for compatibility, but they box (and unbox) the value.
+ * <br>
+ * This node does not support {@code null} values.
+ *
+ * @author LSafer
+ * @version 0.0.5
+ * @since 0.0.5 ~2026.10.17
+ */
+@SuppressWarnings("ClassHasNoToStringMethod")
+public class DoubleNode extends AbstractPrimitiveNode<Double> {
+	@SuppressWarnings("JavaDoc")
+	private static final long serialVersionUID = 2543047826677169686L;
+
+	/**
+	 * The currently set value of this node.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private double value;
+
+	/**
+	 * Construct a new node with its value initialized to {@code 0}.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public DoubleNode() {
+
+	}
+
+	/**
+	 * Construct a new node with its value initialized to the given {@code value}.
+	 *
+	 * @param value the initial value of the constructed node.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public DoubleNode(double value) {
+		this.value = value;
+	}
+
+	/**
+	 * Return the value of the given {@code node} as a {@code double}.
+	 * <br>
+	 * If the given {@code node} is a {@link DoubleNode}, its value is returned without
+	 * boxing. Otherwise, the value returned from {@link Node#get()} is unboxed.
+	 * <br>
+	 * Useful as a method reference for the primitive utilities in {@link Nodes}. Like,
+	 * {@code Nodes.sortByDouble(key, node, DoubleNode::doubleValue)}.
+	 *
+	 * @param node the node to get its value.
+	 * @return the value of the given {@code node}.
+	 * @throws NullPointerException if the given {@code node} is null; if the given {@code
+	 *                              node} has a {@code null} value.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(pure = true)
+	public static double doubleValue(@NotNull Node<? extends Double> node) {
+		Objects.requireNonNull(node, "node");
+
+		if (node instanceof DoubleNode)
+			//noinspection AccessingNonPublicFieldOfAnotherObject
+			return ((DoubleNode) node).value;
+
+		//noinspection ConstantConditions
+		return node.get();
+	}
+
+	// Object
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @implSpec this implementation returns the {@code XOR} of the hash code of the
+	 * 		value of this node and the size of this node. The same as {@link
+	 * 		AbstractNode#hashCode()} but without boxing.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Override
+	public int hashCode() {
+		return Double.hashCode(this.value) ^
+			   this.size();
+	}
+
+	@NotNull
+	@Override
+	public String toString() {
+		return "{:" + this.value + "}";
+	}
+
+	// Value
+
+	@NotNull
+	@Override
+	public Double get() {
+		return this.value;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @throws NullPointerException if the given {@code value} is null.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Override
+	public Double set(@Nullable Double value) {
+		Objects.requireNonNull(value, "value");
+		double v = this.value;
+		this.value = value;
+		return v;
+	}
+
+	/**
+	 * Return the value of this node.
+	 *
+	 * @return the value of this node.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(pure = true)
+	public double getDouble() {
+		return this.value;
+	}
+
+	/**
+	 * Set the value of this node to be the given {@code value}.
+	 *
+	 * @param value the new value of this node.
+	 * @return the previous value of this node.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "this")
+	public double setDouble(double value) {
+		double v = this.value;
+		this.value = value;
+		return v;
+	}
+}
@@ -104,7 +104,7 @@ public class HashNode<V> extends AbstractNode<V> implements Serializable {
 				@Override
 				public boolean contains(Object object) {
 					return object instanceof Link &&
-						   HashNode.this.map.containsValue(object);
+						   HashNode.this.map.get(((Link<?>) object).getKey()) == object;
 				}
 
 				@Override
@@ -154,6 +154,22 @@ public class HashNode<V> extends AbstractNode<V> implements Serializable {
 					return links.size();
 				}
 
+				@Override
+				public boolean remove(Object object) {
+					if (object instanceof Link) {
+						Link<V> link = (Link<V>) object;
+
+						if (HashNode.this.map.remove(link.getKey(), link)) {
+							if (link.getNode() == HashNode.this)
+								link.removeNode();
+
+							return true;
+						}
+					}
+
+					return false;
+				}
+
 				@SuppressWarnings("ConstantConditions")
 				@Contract(mutates = "this,param")
 				@Override
@@ -189,6 +205,13 @@ public class HashNode<V> extends AbstractNode<V> implements Serializable {
 		return this.linkSet;
 	}
 
+	@Nullable
+	@Override
+	public Link<V> getLink(@NotNull Key key) {
+		Objects.requireNonNull(key, "key");
+		return this.map.get(key);
+	}
+
 	// Nodes
 
 	@Nullable
@@ -0,0 +1,174 @@
+/*
+ *	Copyright 2021 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.util;
+
+import cufy.util.Node.Key;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.Objects;
+
+/**
+ * A chain that indexes its nodes for constant time membership checks.
+ * <br>
+ * The nodes of the chain are kept in a {@link NodeIdentitySet} maintained by the
+ * methods adding and unlinking nodes. So, {@link #contains(Object)} (and the {@link
+ * #asDeque() deque} removals relying on it) no longer walks the chain. The index costs
+ * one table slot per node and a hash probe on each addition and removal.
+ * <br>
+ * Like any chain, the index is only kept consistent when the chain is mutated through
+ * its own methods.
+ *
+ * @param <V> the type of the values of the nodes.
+ * @author LSafer
+ * @version 0.0.5
+ * @since 0.0.5 ~2026.10.17
+ */
+public class IndexedChain<V> extends Chain<V> {
+	@SuppressWarnings("JavaDoc")
+	private static final long serialVersionUID = -2268314793616327165L;
+
+	/**
+	 * The nodes of this chain. Rebuilt on deserialization.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	protected transient NodeIdentitySet members = new NodeIdentitySet();
+
+	/**
+	 * Construct a new empty chain with the given {@code key}.
+	 *
+	 * @param key the key of the constructed chain.
+	 * @throws NullPointerException if the given {@code key} is null.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public IndexedChain(@NotNull Key key) {
+		super(key);
+	}
+
+	/**
+	 * Construct a new chain owning and indexing the chain the given {@code node} is in
+	 * with respect to the given {@code key}.
+	 *
+	 * @param key  the key of the constructed chain.
+	 * @param node a node of the chain to be owned.
+	 * @throws NullPointerException     if the given {@code key} or {@code node} is null.
+	 * @throws IllegalArgumentException if the chain the given {@code node} is in is a
+	 *                                  ring or loops back to its middle.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public IndexedChain(@NotNull Key key, @NotNull Node<V> node) {
+		super(key, node);
+		this.index();
+	}
+
+	@Contract(mutates = "this,param")
+	@Override
+	public void addFirst(@NotNull Node<V> node) {
+		super.addFirst(node);
+		this.members.add(node);
+	}
+
+	@Contract(mutates = "this,param")
+	@Override
+	public void addLast(@NotNull Node<V> node) {
+		super.addLast(node);
+		this.members.add(node);
+	}
+
+	@Contract(mutates = "this,param1,param2")
+	@Override
+	public void insert(@NotNull Node<V> after, @NotNull Node<V> node) {
+		super.insert(after, node);
+		this.members.add(node);
+	}
+
+	@Contract(mutates = "this")
+	@Override
+	public void clear() {
+		super.clear();
+		this.members.clear();
+	}
+
+	/**
+	 * Return true if the given {@code node} is in this chain. This method looks the node
+	 * up in the index of this chain.
+	 *
+	 * @param node the node to look for.
+	 * @return true, if the given {@code node} is in this chain.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(value = "null->false", pure = true)
+	@Override
+	public boolean contains(@Nullable Object node) {
+		return this.members.contains(node);
+	}
+
+	@Contract(mutates = "this,param")
+	@Override
+	protected void unlink(@NotNull Node<V> node) {
+		if (!this.members.remove(node))
+			throw new IllegalArgumentException("Node not in the chain");
+
+		super.unlink(node);
+	}
+
+	/**
+	 * Check that the given {@code node} is in this chain. This check looks the node up
+	 * in the index of this chain. So, unlike the check of a plain chain, it also rejects
+	 * the middle nodes of other chains.
+	 *
+	 * @param node the node to be checked.
+	 * @throws NullPointerException     if the given {@code node} is null.
+	 * @throws IllegalArgumentException if the given {@code node} is not in this chain.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(pure = true)
+	@Override
+	protected void requireMember(@NotNull Node<V> node) {
+		Objects.requireNonNull(node, "node");
+
+		if (!this.members.contains(node))
+			throw new IllegalArgumentException("Node not in the chain");
+	}
+
+	/**
+	 * Add all the nodes of this chain to its index.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "this")
+	private void index() {
+		NodeIdentitySet members = new NodeIdentitySet(this.size);
+
+		for (Node<V> node = this.head; node != null; node = node.get(this.key))
+			members.add(node);
+
+		this.members = members;
+	}
+
+	// Serialization
+
+	@SuppressWarnings("JavaDoc")
+	private void readObject(@NotNull ObjectInputStream stream) throws IOException, ClassNotFoundException {
+		stream.defaultReadObject();
+		this.index();
+	}
+}
@@ -0,0 +1,387 @@
+/*
+ *	Copyright 2021 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.util;
+
+import cufy.util.AbstractNode.SimpleKey;
+import cufy.util.Node.Key;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A global registry that gives every {@link Key} (and its {@link Key#opposite()
+ * opposite}) a dense {@code int} ordinal.
+ * <br>
+ * The ordinals are assigned on first sight and never change. Keys are never
+ * unregistered. So, the registry is meant for keys that live as long as the application
+ * (like constants or enums) and not for keys that are created on demand.
+ * <div style="padding: 10px">
+ *     <h3>Fast Paths</h3>
+ *     The ordinal of a {@link SimpleKey} is cached in the key itself. The ordinals of the
+ *     constants of a {@link Enum} key are assigned at once for the whole enum and looked
+ *     up by the ordinal of the constant. Any other key is looked up by its identity. So,
+ *     looking up the ordinal of a key reference that has been passed to {@link
+ *     #ordinal(Key)} before never calls its {@link Key#hashCode()} or {@link
+ *     Key#equals(Object)}.
+ * </div>
+ * <div style="padding: 10px">
+ *     <h3>Equal Keys</h3>
+ *     A key that is not a {@link SimpleKey} nor an {@link Enum} and is {@link
+ *     Key#equals(Object) equal} to an already registered key (like a deserialized copy of
+ *     a constant key) is given the ordinal of the registered key. {@link #ordinal(Key)}
+ *     performs this check once per key reference and remembers the reference.
+ *     {@link #find(Key)} performs it on every call (without remembering anything) for
+ *     the references {@link #ordinal(Key)} has not seen.
+ * </div>
+ *
+ * @author LSafer
+ * @version 0.0.5
+ * @since 0.0.5 ~2026.10.17
+ */
+public final class KeyRegistry {
+	/**
+	 * The ordinals of the constants of each enum key class. Indexed by the ordinal of the
+	 * constant.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	private static final ClassValue<int[]> ENUMS = new ClassValue<int[]>() {
+		@Override
+		protected int[] computeValue(Class<?> type) {
+			Object[] constants = type.getEnumConstants();
+			int[] ordinals = new int[constants.length];
+
+			synchronized (KeyRegistry.class) {
+				for (int i = 0; i < constants.length; i++)
+					ordinals[i] = KeyRegistry.register((Key) constants[i]);
+			}
+
+			return ordinals;
+		}
+	};
+	/**
+	 * The registered keys. Indexed by their ordinals.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	private static volatile Key[] keys = new Key[16];
+	/**
+	 * The ordinals of the opposites of the registered keys. Indexed by the ordinals of
+	 * the keys.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	private static volatile int[] opposites = new int[16];
+	/**
+	 * A copy-on-write identity map containing the ordinals of the registered keys that
+	 * are not {@link SimpleKey}s.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	private static volatile Map<Key, Integer> identities = new IdentityHashMap<>();
+	/**
+	 * The number of registered keys.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private static volatile int size;
+
+	/**
+	 * Utility classes must not be initialized.
+	 *
+	 * @throws AssertionError when called.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private KeyRegistry() {
+		throw new AssertionError("No instance for you!");
+	}
+
+	/**
+	 * Return the ordinal of the given {@code key}. If the given {@code key} was not
+	 * registered, then it will be registered (alongside its opposite) and the newly
+	 * assigned ordinal is returned.
+	 *
+	 * @param key the key to get its ordinal.
+	 * @return the ordinal of the given {@code key}.
+	 * @throws NullPointerException if the given {@code key} is null; if the given {@code
+	 *                              key} has a {@code null} opposite.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = 0, to = Integer.MAX_VALUE)
+	@Contract(mutates = "io")
+	public static int ordinal(@NotNull Key key) {
+		Objects.requireNonNull(key, "key");
+
+		if (key instanceof SimpleKey) {
+			//noinspection AccessingNonPublicFieldOfAnotherObject
+			int ordinal = ((SimpleKey) key).ordinal;
+
+			if (ordinal != 0)
+				return ordinal - 1;
+		} else if (key instanceof Enum) {
+			Enum<?> constant = (Enum<?>) key;
+			return KeyRegistry.ENUMS.get(constant.getDeclaringClass())[constant.ordinal()];
+		} else {
+			Integer ordinal = KeyRegistry.identities.get(key);
+
+			if (ordinal != null)
+				return ordinal;
+		}
+
+		synchronized (KeyRegistry.class) {
+			return KeyRegistry.register(key);
+		}
+	}
+
+	/**
+	 * Return the ordinal of the given {@code key} if it was registered. Unlike {@link
+	 * #ordinal(Key)}, this method never mutates the registry and never locks. So, it is
+	 * safe to be called with keys that are created on demand.
+	 * <br>
+	 * A reference {@link #ordinal(Key)} has not seen (that is not a {@link SimpleKey} nor
+	 * an {@link Enum}) is compared to the registered keys using {@link
+	 * Key#equals(Object)} on every call. So, looking up such a reference requires linear
+	 * time in the number of the registered keys.
+	 *
+	 * @param key the key to find its ordinal.
+	 * @return the ordinal of the given {@code key}. Or {@code -1} if the given {@code
+	 * 		key} was not registered.
+	 * @throws NullPointerException if the given {@code key} is null.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = -1, to = Integer.MAX_VALUE)
+	@Contract(pure = true)
+	public static int find(@NotNull Key key) {
+		Objects.requireNonNull(key, "key");
+
+		if (key instanceof SimpleKey)
+			//noinspection AccessingNonPublicFieldOfAnotherObject
+			return ((SimpleKey) key).ordinal - 1;
+
+		Integer ordinal = KeyRegistry.identities.get(key);
+
+		if (ordinal != null)
+			return ordinal;
+		if (key instanceof Enum)
+			//registered enum constants are always identified
+			return -1;
+
+		return KeyRegistry.lookup(key);
+	}
+
+	/**
+	 * Return the ordinal of the opposite of the key with the given {@code ordinal}.
+	 *
+	 * @param ordinal the ordinal of the key.
+	 * @return the ordinal of the opposite of the key with the given {@code ordinal}.
+	 * @throws IndexOutOfBoundsException if no key has the given {@code ordinal}.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = 0, to = Integer.MAX_VALUE)
+	@Contract(pure = true)
+	public static int opposite(int ordinal) {
+		if (ordinal < 0 || ordinal >= KeyRegistry.size)
+			throw new IndexOutOfBoundsException("ordinal: " + ordinal);
+
+		return KeyRegistry.opposites[ordinal];
+	}
+
+	/**
+	 * Return the key with the given {@code ordinal}. If multiple equal keys share the
+	 * given {@code ordinal}, the key that was registered first is returned.
+	 *
+	 * @param ordinal the ordinal of the key.
+	 * @return the key with the given {@code ordinal}.
+	 * @throws IndexOutOfBoundsException if no key has the given {@code ordinal}.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(pure = true)
+	public static Key key(int ordinal) {
+		if (ordinal < 0 || ordinal >= KeyRegistry.size)
+			throw new IndexOutOfBoundsException("ordinal: " + ordinal);
+
+		return KeyRegistry.keys[ordinal];
+	}
+
+	/**
+	 * Return the number of the ordinals assigned so far. All the ordinals are less than
+	 * the returned number.
+	 *
+	 * @return the number of the ordinals assigned so far.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = 0, to = Integer.MAX_VALUE)
+	@Contract(pure = true)
+	public static int size() {
+		return KeyRegistry.size;
+	}
+
+	/**
+	 * Register the given {@code key} and its opposite. Must be called while holding the
+	 * lock of this class.
+	 *
+	 * @param key the key to be registered.
+	 * @return the ordinal of the given {@code key}.
+	 * @throws NullPointerException if the given {@code key} has a {@code null} opposite.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = 0, to = Integer.MAX_VALUE)
+	@Contract(mutates = "io")
+	private static int register(@NotNull Key key) {
+		int ordinal = KeyRegistry.lookup(key);
+
+		if (ordinal >= 0) {
+			if (!(key instanceof SimpleKey) && KeyRegistry.identities.get(key) == null)
+				//an equal key, remember the reference
+				KeyRegistry.publish(key, ordinal);
+
+			return ordinal;
+		}
+
+		Key opposite = Objects.requireNonNull(key.opposite(), "opposite");
+
+		ordinal = KeyRegistry.assign(key);
+
+		if (opposite == key) {
+			KeyRegistry.opposites[ordinal] = ordinal;
+			KeyRegistry.size = ordinal + 1;
+			KeyRegistry.publish(key, ordinal);
+			return ordinal;
+		}
+
+		int oppositeOrdinal = KeyRegistry.lookup(opposite);
+		boolean assigned = oppositeOrdinal < 0;
+
+		if (assigned)
+			oppositeOrdinal = KeyRegistry.assign(opposite);
+
+		KeyRegistry.opposites[ordinal] = oppositeOrdinal;
+		KeyRegistry.opposites[oppositeOrdinal] = ordinal;
+		KeyRegistry.size = Math.max(ordinal, oppositeOrdinal) + 1;
+		//the ordinals are only visible after everything else is
+		KeyRegistry.publish(key, ordinal);
+		if (assigned)
+			KeyRegistry.publish(opposite, oppositeOrdinal);
+		return ordinal;
+	}
+
+	/**
+	 * Find the ordinal of the given {@code key} without registering it. Does not lock nor
+	 * mutate anything. So, it can be called with or without holding the lock of this
+	 * class.
+	 *
+	 * @param key the key to find its ordinal.
+	 * @return the ordinal of the given {@code key}. Or {@code -1} if not registered.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = -1, to = Integer.MAX_VALUE)
+	@Contract(pure = true)
+	private static int lookup(@NotNull Key key) {
+		if (key instanceof SimpleKey)
+			//noinspection AccessingNonPublicFieldOfAnotherObject
+			return ((SimpleKey) key).ordinal - 1;
+
+		Integer ordinal = KeyRegistry.identities.get(key);
+
+		if (ordinal != null)
+			return ordinal;
+		if (key instanceof Enum)
+			//enums are equal only to themselves
+			return -1;
+
+		//equal keys share ordinals (size first, the array read after it has all of them)
+		int size = KeyRegistry.size;
+		Key[] keys = KeyRegistry.keys;
+		for (int i = 0; i < size; i++) {
+			Key k = keys[i];
+
+			if (!(k instanceof SimpleKey) && !(k instanceof Enum) && k.equals(key))
+				return i;
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Assign a new ordinal to the given {@code key}. Must be called while holding the
+	 * lock of this class. The ordinal is not visible to the lookups until it is {@link
+	 * #publish(Key, int) published}.
+	 *
+	 * @param key the key to assign a new ordinal to.
+	 * @return the ordinal assigned.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = 0, to = Integer.MAX_VALUE)
+	@Contract(mutates = "io")
+	private static int assign(@NotNull Key key) {
+		//the opposite of the previous key might not be published yet
+		int ordinal = KeyRegistry.size;
+		while (ordinal < KeyRegistry.keys.length && KeyRegistry.keys[ordinal] != null)
+			ordinal++;
+
+		if (ordinal >= KeyRegistry.keys.length) {
+			int length = KeyRegistry.keys.length << 1;
+			KeyRegistry.opposites = Arrays.copyOf(KeyRegistry.opposites, length);
+			KeyRegistry.keys = Arrays.copyOf(KeyRegistry.keys, length);
+		}
+
+		KeyRegistry.keys[ordinal] = key;
+		return ordinal;
+	}
+
+	/**
+	 * Make the given {@code ordinal} of the given {@code key} visible to the lookups. Must
+	 * be called while holding the lock of this class and only after the ordinal and the
+	 * ordinal of its opposite are covered by {@link #size}.
+	 *
+	 * @param key     the key to publish its ordinal.
+	 * @param ordinal the ordinal of the key.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "io")
+	private static void publish(@NotNull Key key, int ordinal) {
+		if (key instanceof SimpleKey)
+			//noinspection AccessingNonPublicFieldOfAnotherObject
+			((SimpleKey) key).ordinal = ordinal + 1;
+		else
+			KeyRegistry.identify(key, ordinal);
+	}
+
+	/**
+	 * Map the identity of the given {@code key} to the given {@code ordinal}. Must be
+	 * called while holding the lock of this class.
+	 *
+	 * @param key     the key to be mapped.
+	 * @param ordinal the ordinal of the key.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "io")
+	private static void identify(@NotNull Key key, int ordinal) {
+		Map<Key, Integer> identities = new IdentityHashMap<>(KeyRegistry.identities);
+		identities.put(key, ordinal);
+		KeyRegistry.identities = identities;
+	}
+}
@@ -0,0 +1,164 @@
+/*
+ *	Copyright 2021 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.util;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * A node implementation holding a primitive {@code long} value.
+ * <br>
+ * The value is stored unboxed and can be accessed without boxing using {@link
+ * #getLong()} and {@link #setLong(long)}. The {@link #get()} and {@link #set(Long)}
+ * methods are still supported for compatibility, but they box (and unbox) the value.
+ * <br>
+ * This node does not support {@code null} values.
+ *
+ * @author LSafer
+ * @version 0.0.5
+ * @since 0.0.5 ~2026.10.17
+ */
+@SuppressWarnings("ClassHasNoToStringMethod")
+public class LongNode extends AbstractPrimitiveNode<Long> {
+	@SuppressWarnings("JavaDoc")
+	private static final long serialVersionUID = 2276806164384255608L;
+
+	/**
+	 * The currently set value of this node.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private long value;
+
+	/**
+	 * Construct a new node with its value initialized to {@code 0}.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public LongNode() {
+
+	}
+
+	/**
+	 * Construct a new node with its value initialized to the given {@code value}.
+	 *
+	 * @param value the initial value of the constructed node.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public LongNode(long value) {
+		this.value = value;
+	}
+
+	/**
+	 * Return the value of the given {@code node} as a {@code long}.
+	 * <br>
+	 * If the given {@code node} is a {@link LongNode}, its value is returned without
+	 * boxing. Otherwise, the value returned from {@link Node#get()} is unboxed.
+	 * <br>
+	 * Useful as a method reference for the primitive utilities in {@link Nodes}. Like,
+	 * {@code Nodes.sortByLong(key, node, LongNode::longValue)}.
+	 *
+	 * @param node the node to get its value.
+	 * @return the value of the given {@code node}.
+	 * @throws NullPointerException if the given {@code node} is null; if the given {@code
+	 *                              node} has a {@code null} value.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(pure = true)
+	public static long longValue(@NotNull Node<? extends Long> node) {
+		Objects.requireNonNull(node, "node");
+
+		if (node instanceof LongNode)
+			//noinspection AccessingNonPublicFieldOfAnotherObject
+			return ((LongNode) node).value;
+
+		//noinspection ConstantConditions
+		return node.get();
+	}
+
+	// Object
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @implSpec this implementation returns the {@code XOR} of the hash code of the
+	 * 		value of this node and the size of this node. The same as {@link
+	 * 		AbstractNode#hashCode()} but without boxing.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Override
+	public int hashCode() {
+		return Long.hashCode(this.value) ^
+			   this.size();
+	}
+
+	@NotNull
+	@Override
+	public String toString() {
+		return "{:" + this.value + "}";
+	}
+
+	// Value
+
+	@NotNull
+	@Override
+	public Long get() {
+		return this.value;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @throws NullPointerException if the given {@code value} is null.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Override
+	public Long set(@Nullable Long value) {
+		Objects.requireNonNull(value, "value");
+		long v = this.value;
+		this.value = value;
+		return v;
+	}
+
+	/**
+	 * Return the value of this node.
+	 *
+	 * @return the value of this node.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(pure = true)
+	public long getLong() {
+		return this.value;
+	}
+
+	/**
+	 * Set the value of this node to be the given {@code value}.
+	 *
+	 * @param value the new value of this node.
+	 * @return the previous value of this node.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "this")
+	public long setLong(long value) {
+		long v = this.value;
+		this.value = value;
+		return v;
+	}
+}
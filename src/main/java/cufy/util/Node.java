@@ -21,6 +21,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
 import java.util.ConcurrentModificationException;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -201,6 +202,38 @@ public interface Node<V> {
 	@Contract(pure = true)
 	Set<Link<V>> linkSet();
 
+	/**
+	 * Return the link pointing to this node with the given {@code key}.
+	 * <br>
+	 * Unlike the key-based methods of this interface, this method does not flip the given
+	 * {@code key}. So, the returned link is the link in {@link #linkSet()} that has a key
+	 * equal to the given {@code key}. In other words, the node relating to this node with
+	 * the opposite of the given {@code key} is the node of the opposite of the returned
+	 * link.
+	 * <br>
+	 * Implementations are encouraged to answer this method without iterating over their
+	 * links. Since, the key-based methods of a node are usually implemented atop it.
+	 *
+	 * @param key the key of the link to be returned.
+	 * @return the link pointing to this node with the given {@code key}. Or {@code null}
+	 * 		if no such link.
+	 * @throws NullPointerException if the given {@code key} is null.
+	 * @implSpec this implementation iterates over {@code linkSet()} searching for a
+	 * 		link with the given {@code key}. If such link is found, it will be returned. If
+	 * 		the iteration terminates without finding such a link, {@code null} is returned.
+	 * 		Note that this implementation requires linear time in the size of this node.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Nullable
+	@Contract(pure = true)
+	default Link<V> getLink(@NotNull Key key) {
+		Objects.requireNonNull(key, "key");
+		for (Link<V> l : this.linkSet())
+			if (l.getKey().equals(key))
+				return l;
+		return null;
+	}
+
 	// Nodes
 
 	/**
@@ -0,0 +1,338 @@
+/*
+ *	Copyright 2021 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.util;
+
+import cufy.util.Node.Key;
+import cufy.util.Node.Link;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * The connected components of a set of nodes tracked by a union-find (disjoint set)
+ * structure.
+ * <br>
+ * The nodes are given dense ids by a {@link NodeIdentityIndex} and the forest is kept
+ * in primitive arrays indexed by these ids. Finding a component compresses the path to
+ * its root and merging two components attaches the tree with the lower rank to the
+ * other. So, {@link #sameComponent(Node, Node)} is amortized near constant time.
+ * <br>
+ * The components only grow. Links can be recorded while they are being added (using
+ * {@link #put(Node, Key, Node)}) but removing a link never splits a component. A new
+ * instance must be built after links are removed.
+ * <br>
+ * Components are not thread safe.
+ *
+ * @author LSafer
+ * @version 0.0.5
+ * @since 0.0.5 ~2026.10.17
+ */
+public class NodeComponents {
+	/**
+	 * The ids of the nodes.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	private final NodeIdentityIndex index = new NodeIdentityIndex();
+
+	/**
+	 * The parent of each node. (itself: a root)
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private int @NotNull [] parent = new int[16];
+	/**
+	 * The rank of each root. (an upper bound of the height of its tree)
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private byte @NotNull [] rank = new byte[16];
+	/**
+	 * The number of components.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private int count;
+
+	/**
+	 * Return the components of the nodes reachable from the given {@code root} through
+	 * the keys accepted by the given {@code filter}.
+	 *
+	 * @param root   the node to start from.
+	 * @param filter the filter of the keys to follow.
+	 * @return the components of the reachable nodes. (a single component)
+	 * @throws NullPointerException if the given {@code root} or {@code filter} is null.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(value = "_,_->new", pure = true)
+	public static NodeComponents of(@NotNull Node<?> root, @NotNull Predicate<? super Key> filter) {
+		NodeComponents components = new NodeComponents();
+		components.addAll(root, filter);
+		return components;
+	}
+
+	@NotNull
+	@Override
+	public String toString() {
+		return "NodeComponents{nodes=" + this.index.size() + ", components=" + this.count + "}";
+	}
+
+	/**
+	 * Return the number of nodes in this structure.
+	 *
+	 * @return the number of nodes.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = 0, to = Integer.MAX_VALUE)
+	@Contract(pure = true)
+	public int size() {
+		return this.index.size();
+	}
+
+	/**
+	 * Return the number of components in this structure.
+	 *
+	 * @return the number of components.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = 0, to = Integer.MAX_VALUE)
+	@Contract(pure = true)
+	public int count() {
+		return this.count;
+	}
+
+	/**
+	 * Add the given {@code node} as a component of its own, if it is not already in this
+	 * structure.
+	 *
+	 * @param node the node to be added.
+	 * @return true, if the given {@code node} was not in this structure.
+	 * @throws NullPointerException if the given {@code node} is null.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "this")
+	public boolean add(@NotNull Node<?> node) {
+		int size = this.index.size();
+		return this.id(node) == size;
+	}
+
+	/**
+	 * Add the nodes reachable from the given {@code root} through the keys accepted by
+	 * the given {@code filter}, merging the components of the linked nodes.
+	 *
+	 * @param root   the node to start from.
+	 * @param filter the filter of the keys to follow.
+	 * @return the number of nodes added.
+	 * @throws NullPointerException if the given {@code root} or {@code filter} is null.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = 0, to = Integer.MAX_VALUE)
+	@Contract(mutates = "this")
+	public int addAll(@NotNull Node<?> root, @NotNull Predicate<? super Key> filter) {
+		Objects.requireNonNull(root, "root");
+		Objects.requireNonNull(filter, "filter");
+		int size = this.index.size();
+		NodeIdentitySet visited = new NodeIdentitySet();
+		int[] stack = new int[16];
+		int top = 0;
+
+		visited.add(root);
+		stack[top++] = this.id(root);
+
+		while (top > 0) {
+			int id = stack[--top];
+			Node<?> node = this.index.get(id);
+
+			for (Link<?> link : node.linkSet()) {
+				Link<?> opposite = link.getOpposite();
+				Node<?> other = opposite.getNode();
+
+				if (other == null || !filter.test(opposite.getKey()))
+					continue;
+
+				int o = this.id(other);
+				this.union(id, o);
+
+				if (visited.add(other)) {
+					if (top == stack.length)
+						stack = Arrays.copyOf(stack, top << 1);
+
+					stack[top++] = o;
+				}
+			}
+		}
+
+		return this.index.size() - size;
+	}
+
+	/**
+	 * Merge the components of the given nodes. The nodes are added if they are not in
+	 * this structure.
+	 *
+	 * @param node  the first node.
+	 * @param other the second node.
+	 * @return true, if the nodes were in different components.
+	 * @throws NullPointerException if the given {@code node} or {@code other} is null.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "this")
+	public boolean union(@NotNull Node<?> node, @NotNull Node<?> other) {
+		Objects.requireNonNull(node, "node");
+		Objects.requireNonNull(other, "other");
+		return this.union(this.id(node), this.id(other));
+	}
+
+	/**
+	 * Link the given {@code node} to the given {@code other} node using the given {@code
+	 * key} (as {@link Node#put(Key, Node)} does) and merge their components.
+	 *
+	 * @param node  the node to link from.
+	 * @param key   the key to link with.
+	 * @param other the node to link to.
+	 * @param <V>   the type of the values of the nodes.
+	 * @return the node previously linked to the given {@code node} using the given {@code
+	 * 		key}. The previous link does not split the components.
+	 * @throws NullPointerException if the given {@code node} or {@code key} or {@code
+	 *                              other} is null.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Nullable
+	@Contract(mutates = "this,param1,param3")
+	public <V> Node<V> put(@NotNull Node<V> node, @NotNull Key key, @NotNull Node<V> other) {
+		Objects.requireNonNull(node, "node");
+		Node<V> previous = node.put(key, other);
+		this.union(node, other);
+		return previous;
+	}
+
+	/**
+	 * Return true if the given nodes are in the same component.
+	 *
+	 * @param node  the first node.
+	 * @param other the second node.
+	 * @return true, if both nodes are in this structure and in the same component.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "this")
+	public boolean sameComponent(@Nullable Node<?> node, @Nullable Node<?> other) {
+		int a = this.index.indexOf(node);
+		int b = this.index.indexOf(other);
+		return a >= 0 && b >= 0 && this.find(a) == this.find(b);
+	}
+
+	/**
+	 * Return the component of the given {@code node}. The component is identified by
+	 * the id of its representative node and changes when the component is merged.
+	 *
+	 * @param node the node to get its component.
+	 * @return the id of the component of the given {@code node}. Or {@code -1} if the
+	 * 		node is not in this structure.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = -1, to = Integer.MAX_VALUE)
+	@Contract(mutates = "this")
+	public int component(@Nullable Node<?> node) {
+		int id = this.index.indexOf(node);
+		return id < 0 ? -1 : this.find(id);
+	}
+
+	/**
+	 * Return the id of the given {@code node}, adding it as a component of its own if it
+	 * is not in this structure.
+	 *
+	 * @param node the node.
+	 * @return the id of the given {@code node}.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "this")
+	private int id(@NotNull Node<?> node) {
+		int size = this.index.size();
+		int id = this.index.add(node);
+
+		if (id == size) {
+			if (id == this.parent.length) {
+				this.parent = Arrays.copyOf(this.parent, id << 1);
+				this.rank = Arrays.copyOf(this.rank, id << 1);
+			}
+
+			this.parent[id] = id;
+			this.count++;
+		}
+
+		return id;
+	}
+
+	/**
+	 * Find the root of the given {@code id}, compressing the path to it.
+	 *
+	 * @param id the id of the node.
+	 * @return the id of the root.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "this")
+	private int find(int id) {
+		int[] parent = this.parent;
+		int root = id;
+
+		while (parent[root] != root)
+			root = parent[root];
+
+		while (parent[id] != root) {
+			int next = parent[id];
+			parent[id] = root;
+			id = next;
+		}
+
+		return root;
+	}
+
+	/**
+	 * Merge the components of the given ids by their ranks.
+	 *
+	 * @param a the id of the first node.
+	 * @param b the id of the second node.
+	 * @return true, if the ids were in different components.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "this")
+	private boolean union(int a, int b) {
+		a = this.find(a);
+		b = this.find(b);
+
+		if (a == b)
+			return false;
+
+		byte[] rank = this.rank;
+		if (rank[a] < rank[b])
+			this.parent[a] = b;
+		else if (rank[b] < rank[a])
+			this.parent[b] = a;
+		else {
+			this.parent[b] = a;
+			rank[a]++;
+		}
+
+		this.count--;
+		return true;
+	}
+}
@@ -0,0 +1,227 @@
+/*
+ *	Copyright 2021 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.util;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An index assigning dense integer ids to nodes compared by their identity.
+ * <br>
+ * The first node added gets the id {@code 0}, the next {@code 1} and so on. So,
+ * algorithms can keep their per-node state in primitive arrays indexed by the ids
+ * instead of maps of boxed values. Like {@link NodeIdentitySet}, this index never invokes
+ * {@link Node#hashCode()} or {@link Node#equals(Object)}.
+ * <br>
+ * Nodes cannot be removed. Null nodes are not permitted. Indexes are not thread safe.
+ *
+ * @author LSafer
+ * @version 0.0.5
+ * @since 0.0.5 ~2026.10.17
+ */
+public class NodeIdentityIndex {
+	/**
+	 * The default initial capacity.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public static final int DEFAULT_CAPACITY = 16;
+
+	/**
+	 * The nodes by their ids.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Nullable
+	private Node<?> @NotNull [] nodes;
+	/**
+	 * The hash table of the ids plus one. (0: empty slot) Its length is a power of two.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private int @NotNull [] table;
+	/**
+	 * The number of nodes.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private int size;
+
+	/**
+	 * Construct a new empty index with the {@link #DEFAULT_CAPACITY default} capacity.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public NodeIdentityIndex() {
+		this(NodeIdentityIndex.DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Construct a new empty index able to hold the given number of nodes without
+	 * growing.
+	 *
+	 * @param capacity the expected number of nodes.
+	 * @throws IllegalArgumentException if the given {@code capacity} is negative or more
+	 *                                  than {@code 1 << 29}.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public NodeIdentityIndex(@Range(from = 0, to = 1 << 29) int capacity) {
+		if (capacity < 0 || capacity > 1 << 29)
+			throw new IllegalArgumentException("capacity: " + capacity);
+
+		//keep the load factor at most 1/2
+		int length = Integer.highestOneBit(Math.max(capacity, 2) * 2 - 1) << 1;
+		this.table = new int[length];
+		this.nodes = new Node<?>[length >>> 1];
+	}
+
+	@NotNull
+	@Override
+	public String toString() {
+		return "NodeIdentityIndex{size=" + this.size + "}";
+	}
+
+	/**
+	 * Return the number of nodes in this index. The ids are in {@code [0, size)}.
+	 *
+	 * @return the number of nodes.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = 0, to = Integer.MAX_VALUE)
+	@Contract(pure = true)
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Return the id of the given {@code node}.
+	 *
+	 * @param node the node to get its id.
+	 * @return the id of the given {@code node}. Or {@code -1} if it is not in this index.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = -1, to = Integer.MAX_VALUE)
+	@Contract(pure = true)
+	public int indexOf(@Nullable Object node) {
+		if (node == null)
+			return -1;
+
+		int[] table = this.table;
+		int mask = table.length - 1;
+		for (int i = NodeIdentityIndex.hash(node) & mask; ; i = i + 1 & mask) {
+			int id = table[i] - 1;
+
+			if (id < 0)
+				return -1;
+			if (this.nodes[id] == node)
+				return id;
+		}
+	}
+
+	/**
+	 * Add the given {@code node} to this index, if it is not already in it.
+	 *
+	 * @param node the node to be added.
+	 * @return the id of the given {@code node}. Equals to the previous {@link #size()} if
+	 * 		the node was not in this index.
+	 * @throws NullPointerException if the given {@code node} is null.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = 0, to = Integer.MAX_VALUE)
+	@Contract(mutates = "this")
+	public int add(@NotNull Node<?> node) {
+		Objects.requireNonNull(node, "node");
+		int[] table = this.table;
+		int mask = table.length - 1;
+		int i = NodeIdentityIndex.hash(node) & mask;
+
+		for (int id; (id = table[i] - 1) >= 0; i = i + 1 & mask)
+			if (this.nodes[id] == node)
+				return id;
+
+		int id = this.size++;
+		if (id == this.nodes.length)
+			this.nodes = Arrays.copyOf(this.nodes, id << 1);
+
+		table[i] = id + 1;
+		this.nodes[id] = node;
+
+		if (this.size << 1 > table.length)
+			this.resize(table.length << 1);
+
+		return id;
+	}
+
+	/**
+	 * Return the node with the given {@code id}.
+	 *
+	 * @param id  the id of the node.
+	 * @param <V> the type of the value of the node.
+	 * @return the node with the given {@code id}.
+	 * @throws IndexOutOfBoundsException if the given {@code id} is not in {@code [0,
+	 *                                   size)}.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(pure = true)
+	public <V> Node<V> get(@Range(from = 0, to = Integer.MAX_VALUE) int id) {
+		if (id < 0 || id >= this.size)
+			throw new IndexOutOfBoundsException("id: " + id);
+
+		//noinspection unchecked
+		return (Node<V>) this.nodes[id];
+	}
+
+	/**
+	 * Return the hash of the given {@code object}. Its identity hash code spread to the
+	 * lower bits.
+	 *
+	 * @param object the object to hash.
+	 * @return the hash of the given {@code object}.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(pure = true)
+	private static int hash(@NotNull Object object) {
+		int h = System.identityHashCode(object) * 0x9E3779B9;
+		return h ^ h >>> 16;
+	}
+
+	/**
+	 * Rehash the ids into a table of the given {@code length}.
+	 *
+	 * @param length the length of the new table. A power of two.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "this")
+	private void resize(int length) {
+		int[] table = new int[length];
+		int mask = length - 1;
+
+		for (int id = 0; id < this.size; id++) {
+			int i = NodeIdentityIndex.hash(this.nodes[id]) & mask;
+			while (table[i] != 0)
+				i = i + 1 & mask;
+			table[i] = id + 1;
+		}
+
+		this.table = table;
+	}
+}
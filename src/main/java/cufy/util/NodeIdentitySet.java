@@ -0,0 +1,315 @@
+/*
+ *	Copyright 2021 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.util;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.util.*;
+
+/**
+ * A set of nodes compared by their identity.
+ * <br>
+ * Unlike a {@link HashSet} of nodes, this set never invokes {@link Node#hashCode()} or
+ * {@link Node#equals(Object)} (which might hash or compare the values of the nodes). The
+ * nodes are stored in a single open-addressing table with linear probing, hashed by
+ * their {@link System#identityHashCode(Object) identity hash codes}. So, adding a node
+ * allocates nothing except when the table grows.
+ * <br>
+ * Null nodes are not permitted. Sets are not thread safe.
+ *
+ * @author LSafer
+ * @version 0.0.5
+ * @since 0.0.5 ~2026.10.17
+ */
+public class NodeIdentitySet extends AbstractSet<Node<?>> {
+	/**
+	 * The default initial capacity.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public static final int DEFAULT_CAPACITY = 16;
+
+	/**
+	 * The table of the nodes. (null: empty slot) Its length is a power of two.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Nullable
+	private Node<?> @NotNull [] table;
+	/**
+	 * The number of nodes.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private int size;
+	/**
+	 * The number of modifications. For the iterators to fail fast.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private int modCount;
+
+	/**
+	 * Construct a new empty set with the {@link #DEFAULT_CAPACITY default} capacity.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public NodeIdentitySet() {
+		this(NodeIdentitySet.DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Construct a new empty set able to hold the given number of nodes without growing.
+	 *
+	 * @param capacity the expected number of nodes.
+	 * @throws IllegalArgumentException if the given {@code capacity} is negative or more
+	 *                                  than {@code 1 << 29}.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public NodeIdentitySet(@Range(from = 0, to = 1 << 29) int capacity) {
+		if (capacity < 0 || capacity > 1 << 29)
+			throw new IllegalArgumentException("capacity: " + capacity);
+
+		//keep the load factor at most 1/2
+		int length = Integer.highestOneBit(Math.max(capacity, 2) * 2 - 1) << 1;
+		this.table = new Node<?>[length];
+	}
+
+	@Range(from = 0, to = Integer.MAX_VALUE)
+	@Contract(pure = true)
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	@Contract(pure = true)
+	@Override
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	@Contract(value = "null->false", pure = true)
+	@Override
+	public boolean contains(@Nullable Object object) {
+		if (object == null)
+			return false;
+
+		Node<?>[] table = this.table;
+		int mask = table.length - 1;
+		for (int i = NodeIdentitySet.hash(object) & mask; ; i = i + 1 & mask) {
+			Node<?> node = table[i];
+
+			if (node == object)
+				return true;
+			if (node == null)
+				return false;
+		}
+	}
+
+	/**
+	 * Add the given {@code node} to this set.
+	 *
+	 * @param node the node to be added.
+	 * @return true, if the given {@code node} was not in this set.
+	 * @throws NullPointerException if the given {@code node} is null.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "this")
+	@Override
+	public boolean add(@NotNull Node<?> node) {
+		Objects.requireNonNull(node, "node");
+		Node<?>[] table = this.table;
+		int mask = table.length - 1;
+		int i = NodeIdentitySet.hash(node) & mask;
+
+		for (Node<?> n; (n = table[i]) != null; i = i + 1 & mask)
+			if (n == node)
+				return false;
+
+		table[i] = node;
+		this.modCount++;
+
+		if (++this.size << 1 > table.length)
+			this.resize(table.length << 1);
+
+		return true;
+	}
+
+	@Contract(value = "null->false", mutates = "this")
+	@Override
+	public boolean remove(@Nullable Object object) {
+		if (object == null)
+			return false;
+
+		Node<?>[] table = this.table;
+		int mask = table.length - 1;
+		int i = NodeIdentitySet.hash(object) & mask;
+
+		for (Node<?> n; (n = table[i]) != object; i = i + 1 & mask)
+			if (n == null)
+				return false;
+
+		this.delete(i);
+		return true;
+	}
+
+	@Contract(mutates = "this")
+	@Override
+	public void clear() {
+		Arrays.fill(this.table, null);
+		this.size = 0;
+		this.modCount++;
+	}
+
+	@NotNull
+	@Contract(value = "->new", pure = true)
+	@Override
+	public Iterator<Node<?>> iterator() {
+		return new Iterator<Node<?>>() {
+			/**
+			 * The expected modification count.
+			 */
+			private int expected = NodeIdentitySet.this.modCount;
+			/**
+			 * The table being traversed. Copied before the first removal, since removing
+			 * shifts the nodes of the table.
+			 */
+			@Nullable
+			private Node<?> @NotNull [] traversal = NodeIdentitySet.this.table;
+			/**
+			 * The index of the next slot to examine.
+			 */
+			private int index;
+			/**
+			 * The number of nodes remaining.
+			 */
+			private int remaining = NodeIdentitySet.this.size;
+			/**
+			 * The last returned node. (null: none or removed)
+			 */
+			@Nullable
+			private Node<?> last;
+
+			@Override
+			public boolean hasNext() {
+				return this.remaining > 0;
+			}
+
+			@NotNull
+			@Override
+			public Node<?> next() {
+				if (this.expected != NodeIdentitySet.this.modCount)
+					throw new ConcurrentModificationException();
+				if (this.remaining <= 0)
+					throw new NoSuchElementException("next");
+
+				Node<?>[] traversal = this.traversal;
+				Node<?> node;
+				while ((node = traversal[this.index++]) == null)
+					;
+
+				this.remaining--;
+				this.last = node;
+				return node;
+			}
+
+			@Override
+			public void remove() {
+				Node<?> last = this.last;
+
+				if (last == null)
+					throw new IllegalStateException("remove");
+				if (this.expected != NodeIdentitySet.this.modCount)
+					throw new ConcurrentModificationException();
+
+				if (this.traversal == NodeIdentitySet.this.table)
+					this.traversal = this.traversal.clone();
+
+				this.last = null;
+				NodeIdentitySet.this.remove(last);
+				this.expected = NodeIdentitySet.this.modCount;
+			}
+		};
+	}
+
+	/**
+	 * Return the hash of the given {@code object}. Its identity hash code spread to the
+	 * lower bits.
+	 *
+	 * @param object the object to hash.
+	 * @return the hash of the given {@code object}.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(pure = true)
+	private static int hash(@NotNull Object object) {
+		int h = System.identityHashCode(object) * 0x9E3779B9;
+		return h ^ h >>> 16;
+	}
+
+	/**
+	 * Delete the node at the given slot {@code index}, shifting back the nodes after it
+	 * in its probe sequence.
+	 *
+	 * @param index the index of the slot of the node to be deleted.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "this")
+	private void delete(int index) {
+		Node<?>[] table = this.table;
+		int mask = table.length - 1;
+		int hole = index;
+
+		for (int i = hole + 1 & mask; table[i] != null; i = i + 1 & mask) {
+			int home = NodeIdentitySet.hash(table[i]) & mask;
+
+			//move the node into the hole if its home is not in (hole, i]
+			if ((i - home & mask) >= (i - hole & mask)) {
+				table[hole] = table[i];
+				hole = i;
+			}
+		}
+
+		table[hole] = null;
+		this.size--;
+		this.modCount++;
+	}
+
+	/**
+	 * Rehash the nodes into a table of the given {@code length}.
+	 *
+	 * @param length the length of the new table. A power of two.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "this")
+	private void resize(int length) {
+		Node<?>[] old = this.table;
+		Node<?>[] table = new Node<?>[length];
+		int mask = length - 1;
+
+		for (Node<?> node : old)
+			if (node != null) {
+				int i = NodeIdentitySet.hash(node) & mask;
+				while (table[i] != null)
+					i = i + 1 & mask;
+				table[i] = node;
+			}
+
+		this.table = table;
+	}
+}
@@ -0,0 +1,498 @@
+/*
+ *	Copyright 2021 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.util;
+
+import cufy.util.Node.Key;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A manager of striped locks guarding nodes by their identity.
+ * <br>
+ * Each node is guarded by one of a fixed number of locks picked by its identity hash
+ * code. Locking multiple nodes acquires their locks in the order of the stripes, so two
+ * threads locking overlapping sets of nodes never deadlock. Nodes sharing a stripe are
+ * guarded by the same lock.
+ * <br>
+ * The mutators of this class ({@link #pop(Key, Node)}, {@link #replace(Key, Node,
+ * Node)}, {@link #insert(Key, Node, Node)} and {@link #insertAll(Key, Node, Node)}) are
+ * thread safe variants of the mutators in {@link Nodes}. Each one finds the nodes it
+ * will touch, locks them, checks that they have not changed meanwhile (retrying
+ * otherwise) and then performs the mutation of {@link Nodes}. So, mutations of disjoint
+ * regions of a graph run in parallel.
+ * <br>
+ * The neighbours a mutator finds before locking are read while holding the lock of the
+ * node they are read from. So, the nodes do not need to be thread safe on their own.
+ * Plain nodes (like {@link HashNode}) are supported.
+ * <br>
+ * The guarantees only hold if every thread mutating the graph does it while holding
+ * the locks of this manager.
+ *
+ * @author LSafer
+ * @version 0.0.5
+ * @since 0.0.5 ~2026.10.17
+ */
+public class NodeLockManager {
+	/**
+	 * The default number of stripes.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public static final int DEFAULT_STRIPES = 64;
+
+	/**
+	 * The locks. Indexed by their stripes.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	private final ReentrantLock[] locks;
+	/**
+	 * The mask of the stripes.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private final int mask;
+
+	/**
+	 * Construct a new lock manager with the {@link #DEFAULT_STRIPES default} number of
+	 * stripes.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public NodeLockManager() {
+		this(NodeLockManager.DEFAULT_STRIPES);
+	}
+
+	/**
+	 * Construct a new lock manager with at least the given number of {@code stripes}.
+	 *
+	 * @param stripes the minimum number of stripes. Rounded up to a power of two.
+	 * @throws IllegalArgumentException if the given {@code stripes} is not positive or
+	 *                                  is more than {@code 1 << 30}.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public NodeLockManager(@Range(from = 1, to = 1 << 30) int stripes) {
+		if (stripes < 1 || stripes > 1 << 30)
+			throw new IllegalArgumentException("stripes: " + stripes);
+
+		int length = Integer.highestOneBit(stripes);
+		if (length < stripes)
+			length <<= 1;
+
+		this.locks = new ReentrantLock[length];
+		for (int i = 0; i < length; i++)
+			this.locks[i] = new ReentrantLock();
+
+		this.mask = length - 1;
+	}
+
+	/**
+	 * Lock the given {@code nodes}. Null nodes are ignored.
+	 *
+	 * @param nodes the nodes to be locked.
+	 * @return a guard unlocking the nodes when closed.
+	 * @throws NullPointerException if the given {@code nodes} is null.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(value = "_->new", mutates = "this")
+	public Guard lock(@Nullable Node<?> @NotNull ... nodes) {
+		Objects.requireNonNull(nodes, "nodes");
+		int[] stripes = new int[nodes.length];
+		int length = 0;
+
+		for (Node<?> node : nodes)
+			if (node != null)
+				stripes[length++] = this.stripe(node);
+
+		Arrays.sort(stripes, 0, length);
+
+		//drop duplicates
+		int unique = 0;
+		for (int i = 0; i < length; i++)
+			if (unique == 0 || stripes[unique - 1] != stripes[i])
+				stripes[unique++] = stripes[i];
+
+		int[] locked = Arrays.copyOf(stripes, unique);
+		for (int stripe : locked)
+			this.locks[stripe].lock();
+
+		return new Guard(locked);
+	}
+
+	/**
+	 * Thread safe variant of {@link Nodes#pop(Key, Node)}.
+	 *
+	 * @param key  the key to follow.
+	 * @param node the node to be popped.
+	 * @param <V>  the type of the value of the node.
+	 * @throws NullPointerException          if the given {@code key} or {@code node} is
+	 *                                       null.
+	 * @throws IllegalArgumentException      if a node rejected a link or the given {@code
+	 *                                       key} or its opposite.
+	 * @throws UnsupportedOperationException if a node refused to perform a necessary
+	 *                                       operation.
+	 * @see Nodes#pop(Key, Node)
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "param2")
+	public <V> void pop(@NotNull Key key, @NotNull Node<V> node) {
+		Objects.requireNonNull(key, "key");
+		Objects.requireNonNull(node, "node");
+		Key opposite = key.opposite();
+
+		while (true) {
+			Node<V> next = this.read(node, key);
+			Node<V> previous = this.read(node, opposite);
+
+			Guard guard = this.lock(node, next, previous);
+			try {
+				if (node.get(key) != next || node.get(opposite) != previous)
+					//changed before locking
+					continue;
+
+				Nodes.pop(key, node);
+				return;
+			} finally {
+				guard.close();
+			}
+		}
+	}
+
+	/**
+	 * Thread safe variant of {@link Nodes#replace(Key, Node, Node)}.
+	 *
+	 * @param key   the key to follow.
+	 * @param node  the node to be replaced.
+	 * @param other the node to replace the given {@code node}.
+	 * @param <V>   the type of the value of the node.
+	 * @throws NullPointerException          if the given {@code key} or {@code node} or
+	 *                                       {@code other} is null.
+	 * @throws IllegalArgumentException      if a node rejected a link or the given {@code
+	 *                                       key} or its opposite.
+	 * @throws UnsupportedOperationException if a node refused to perform a necessary
+	 *                                       operation.
+	 * @see Nodes#replace(Key, Node, Node)
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "param2,param3")
+	public <V> void replace(@NotNull Key key, @NotNull Node<V> node, @NotNull Node<V> other) {
+		Objects.requireNonNull(key, "key");
+		Objects.requireNonNull(node, "node");
+		Objects.requireNonNull(other, "other");
+		Key opposite = key.opposite();
+
+		while (true) {
+			Node<V> next = this.read(node, key);
+			Node<V> previous = this.read(node, opposite);
+			Node<V> otherNext = this.read(other, key);
+			Node<V> otherPrevious = this.read(other, opposite);
+
+			Guard guard = this.lock(node, next, previous, other, otherNext, otherPrevious);
+			try {
+				if (node.get(key) != next || node.get(opposite) != previous ||
+					other.get(key) != otherNext || other.get(opposite) != otherPrevious)
+					//changed before locking
+					continue;
+
+				Nodes.replace(key, node, other);
+				return;
+			} finally {
+				guard.close();
+			}
+		}
+	}
+
+	/**
+	 * Thread safe variant of {@link Nodes#insert(Key, Node, Node)}.
+	 *
+	 * @param key   the key to follow.
+	 * @param node  the node to insert after it.
+	 * @param other the node to be inserted.
+	 * @param <V>   the type of the value of the node.
+	 * @throws NullPointerException          if the given {@code key} or {@code node} or
+	 *                                       {@code other} is null.
+	 * @throws IllegalArgumentException      if a node rejected a link or the given {@code
+	 *                                       key} or its opposite.
+	 * @throws UnsupportedOperationException if a node refused to perform a necessary
+	 *                                       operation.
+	 * @see Nodes#insert(Key, Node, Node)
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "param2,param3")
+	public <V> void insert(@NotNull Key key, @NotNull Node<V> node, @NotNull Node<V> other) {
+		Objects.requireNonNull(key, "key");
+		Objects.requireNonNull(node, "node");
+		Objects.requireNonNull(other, "other");
+		Key opposite = key.opposite();
+
+		while (true) {
+			Node<V> next = this.read(node, key);
+			Node<V> otherNext = this.read(other, key);
+			Node<V> otherPrevious = this.read(other, opposite);
+
+			Guard guard = this.lock(node, next, other, otherNext, otherPrevious);
+			try {
+				if (node.get(key) != next ||
+					other.get(key) != otherNext || other.get(opposite) != otherPrevious)
+					//changed before locking
+					continue;
+
+				Nodes.insert(key, node, other);
+				return;
+			} finally {
+				guard.close();
+			}
+		}
+	}
+
+	/**
+	 * Thread safe variant of {@link Nodes#insertAll(Key, Node, Node)}.
+	 * <br>
+	 * Since the head and the tail of the chain are only known after walking the whole
+	 * chain, this method locks every node of the chain of the given {@code other}. So,
+	 * its cost grows with the length of that chain.
+	 *
+	 * @param key   the key to follow.
+	 * @param node  the node to insert after it.
+	 * @param other a node of the chain to be inserted.
+	 * @param <V>   the type of the value of the node.
+	 * @throws NullPointerException          if the given {@code key} or {@code node} or
+	 *                                       {@code other} is null.
+	 * @throws IllegalArgumentException      if a node rejected a link or the given {@code
+	 *                                       key} or its opposite.
+	 * @throws UnsupportedOperationException if a node refused to perform a necessary
+	 *                                       operation.
+	 * @see Nodes#insertAll(Key, Node, Node)
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "param2,param3")
+	public <V> void insertAll(@NotNull Key key, @NotNull Node<V> node, @NotNull Node<V> other) {
+		Objects.requireNonNull(key, "key");
+		Objects.requireNonNull(node, "node");
+		Objects.requireNonNull(other, "other");
+
+		while (true) {
+			Node<V> next = this.read(node, key);
+			Node<?>[] chain = this.chain(key, other, null);
+			//noinspection ConstantConditions
+			Node<?>[] nodes = Arrays.copyOf(chain, chain.length + 2);
+			nodes[chain.length] = node;
+			nodes[chain.length + 1] = next;
+
+			Guard guard = this.lock(nodes);
+			try {
+				Node<?>[] locked = this.chain(key, other, guard);
+
+				if (node.get(key) != next || locked == null || !NodeLockManager.same(chain, locked))
+					//changed before locking
+					continue;
+
+				Nodes.insertAll(key, node, other);
+				return;
+			} finally {
+				guard.close();
+			}
+		}
+	}
+
+	/**
+	 * Return the nodes of the chain the given {@code node} is in with respect to the
+	 * given {@code key}. From its head to its tail.
+	 * <br>
+	 * If no {@code guard} is given, each link is read while holding the lock of the node
+	 * it is read from. Otherwise, the links are read directly, and only from the nodes
+	 * guarded by the given {@code guard}. No lock is taken while holding a guard, since
+	 * taking a lock out of the order of the stripes might deadlock.
+	 *
+	 * @param key   the key to follow.
+	 * @param node  a node of the chain.
+	 * @param guard the guard held by the caller. Or {@code null} if none.
+	 * @return the nodes of the chain of the given {@code node}. Or {@code null} if a
+	 * 		guard is given and the chain reaches a node that is not guarded by it.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Nullable
+	@Contract(value = "_,_,null->new", pure = true)
+	private Node<?>[] chain(@NotNull Key key, @NotNull Node<?> node, @Nullable Guard guard) {
+		Set<Node<?>> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+		Deque<Node<?>> chain = new ArrayDeque<>();
+		Key opposite = key.opposite();
+
+		for (Node<?> n = node; n != null && seen.add(n); n = this.next(n, opposite, guard)) {
+			if (guard != null && !guard.holds(n))
+				//left the locked nodes
+				return null;
+
+			chain.addFirst(n);
+		}
+		for (Node<?> n = this.next(node, key, guard); n != null && seen.add(n); n = this.next(n, key, guard)) {
+			if (guard != null && !guard.holds(n))
+				//left the locked nodes
+				return null;
+
+			chain.addLast(n);
+		}
+
+		return chain.toArray(new Node<?>[0]);
+	}
+
+	/**
+	 * Return the node relating to the given {@code node} with the opposite of the given
+	 * {@code key}. Read directly if the caller holds a {@code guard} (that guards the
+	 * given {@code node}). Otherwise, read while holding the lock of the given {@code
+	 * node}.
+	 *
+	 * @param node  the node to read from.
+	 * @param key   the key to read.
+	 * @param guard the guard held by the caller. Or {@code null} if none.
+	 * @param <V>   the type of the value of the node.
+	 * @return the node relating to the given {@code node} with the opposite of the given
+	 *        {@code key}.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Nullable
+	@Contract(pure = true)
+	private <V> Node<V> next(@NotNull Node<V> node, @NotNull Key key, @Nullable Guard guard) {
+		return guard == null ? this.read(node, key) : node.get(key);
+	}
+
+	/**
+	 * Return the node relating to the given {@code node} with the opposite of the given
+	 * {@code key} while holding the lock of the given {@code node}.
+	 * <br>
+	 * A mutation of a link holds the locks of both of its ends. So, holding the lock of a
+	 * node is enough to read its links safely, even from a node that is not thread safe
+	 * (like {@link HashNode}).
+	 *
+	 * @param node the node to read from.
+	 * @param key  the key to read.
+	 * @param <V>  the type of the value of the node.
+	 * @return the node relating to the given {@code node} with the opposite of the given
+	 *        {@code key}.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Nullable
+	@Contract(pure = true)
+	private <V> Node<V> read(@NotNull Node<V> node, @NotNull Key key) {
+		ReentrantLock lock = this.locks[this.stripe(node)];
+		lock.lock();
+		try {
+			return node.get(key);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Check if the given arrays hold the same nodes (by identity) in the same order.
+	 *
+	 * @param nodes the first array.
+	 * @param other the second array.
+	 * @return true, if the given arrays hold the same nodes in the same order.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(pure = true)
+	private static boolean same(@NotNull Node<?>[] nodes, @NotNull Node<?>[] other) {
+		if (nodes.length != other.length)
+			return false;
+
+		for (int i = 0; i < nodes.length; i++)
+			if (nodes[i] != other[i])
+				return false;
+
+		return true;
+	}
+
+	/**
+	 * Return the stripe of the given {@code node}.
+	 *
+	 * @param node the node to get its stripe.
+	 * @return the stripe of the given {@code node}.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(pure = true)
+	private int stripe(@NotNull Node<?> node) {
+		int h = System.identityHashCode(node);
+		return (h ^ h >>> 16) & this.mask;
+	}
+
+	/**
+	 * The locks held for a set of nodes. Closing it releases them.
+	 *
+	 * @author LSafer
+	 * @version 0.0.5
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public final class Guard implements AutoCloseable {
+		/**
+		 * The held stripes. In the order they were acquired (ascending).
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Nullable
+		private int[] stripes;
+
+		/**
+		 * Construct a new guard for the given held {@code stripes}.
+		 *
+		 * @param stripes the held stripes.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private Guard(@NotNull int[] stripes) {
+			this.stripes = stripes;
+		}
+
+		/**
+		 * Check if the given {@code node} is guarded by this guard.
+		 *
+		 * @param node the node to be checked.
+		 * @return true, if this guard holds the lock of the given {@code node}.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Contract(pure = true)
+		private boolean holds(@NotNull Node<?> node) {
+			int[] stripes = this.stripes;
+			return stripes != null &&
+				   Arrays.binarySearch(stripes, NodeLockManager.this.stripe(node)) >= 0;
+		}
+
+		/**
+		 * Release the locks held by this guard. Does nothing if already released.
+		 *
+		 * @throws IllegalMonitorStateException if called by a thread other than the one
+		 *                                      that acquired the locks.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Override
+		public void close() {
+			int[] stripes = this.stripes;
+
+			if (stripes == null)
+				return;
+
+			this.stripes = null;
+			for (int i = stripes.length - 1; i >= 0; i--)
+				NodeLockManager.this.locks[stripes[i]].unlock();
+		}
+	}
+}
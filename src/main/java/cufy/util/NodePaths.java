@@ -0,0 +1,469 @@
+/*
+ *	Copyright 2021 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.util;
+
+import cufy.util.Node.Key;
+import cufy.util.Node.Link;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Weighted shortest paths over graphs of nodes.
+ * <br>
+ * The searches assign each discovered node a dense id using a {@link NodeIdentityIndex}
+ * and keep the distances in primitive arrays indexed by those ids. The open nodes are
+ * kept in an indexed binary heap of ids that supports decreasing the priority of a node
+ * in place. So, distances are never boxed and no entry is ever inserted twice.
+ * <br>
+ * The graph must not be mutated during a search.
+ *
+ * @author LSafer
+ * @version 0.0.5
+ * @since 0.0.5 ~2026.10.17
+ */
+public final class NodePaths {
+	/**
+	 * Utility classes must not be initialized.
+	 *
+	 * @throws AssertionError when called.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private NodePaths() {
+		throw new AssertionError("No instance for you!");
+	}
+
+	/**
+	 * Return a cost function giving every link the cost {@code 1}.
+	 *
+	 * @param <V> the type of the values of the nodes.
+	 * @return a uniform cost function.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(pure = true)
+	public static <V> LinkCost<V> uniform() {
+		return (from, key, to) -> 1;
+	}
+
+	/**
+	 * Find the cheapest path from the given {@code source} to the given {@code target}
+	 * using Dijkstra's algorithm.
+	 *
+	 * @param source the node to start from.
+	 * @param target the node to reach.
+	 * @param cost   the cost of following each link.
+	 * @param <V>    the type of the values of the nodes.
+	 * @return the cheapest path. Or {@code null} if the {@code target} is not reachable.
+	 * @throws NullPointerException     if the given {@code source} or {@code target} or
+	 *                                  {@code cost} is null.
+	 * @throws IllegalArgumentException if the given {@code cost} function returned a
+	 *                                  negative or {@link Double#NaN NaN} cost.
+	 * @see LinkCost
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Nullable
+	@Contract(pure = true)
+	public static <V> Path<V> dijkstra(@NotNull Node<V> source, @NotNull Node<V> target, @NotNull LinkCost<V> cost) {
+		return NodePaths.aStar(source, target, cost, node -> 0);
+	}
+
+	/**
+	 * Find the cheapest path from the given {@code source} to the given {@code target}
+	 * using the A* algorithm.
+	 * <br>
+	 * The returned path is the cheapest if the given {@code heuristic} never
+	 * overestimates the remaining cost. Nodes are expanded at most once if the given
+	 * {@code heuristic} is also consistent. Otherwise, nodes are reopened when a cheaper
+	 * path to them is found.
+	 *
+	 * @param source    the node to start from.
+	 * @param target    the node to reach.
+	 * @param cost      the cost of following each link.
+	 * @param heuristic the estimated remaining cost from each node to the {@code target}.
+	 * @param <V>       the type of the values of the nodes.
+	 * @return the cheapest path. Or {@code null} if the {@code target} is not reachable.
+	 * @throws NullPointerException     if the given {@code source} or {@code target} or
+	 *                                  {@code cost} or {@code heuristic} is null.
+	 * @throws IllegalArgumentException if the given {@code cost} function returned a
+	 *                                  negative or {@link Double#NaN NaN} cost.
+	 * @see LinkCost
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Nullable
+	@Contract(pure = true)
+	public static <V> Path<V> aStar(@NotNull Node<V> source, @NotNull Node<V> target, @NotNull LinkCost<V> cost, @NotNull Heuristic<V> heuristic) {
+		Objects.requireNonNull(source, "source");
+		Objects.requireNonNull(target, "target");
+		Objects.requireNonNull(cost, "cost");
+		Objects.requireNonNull(heuristic, "heuristic");
+		Search search = new Search();
+
+		search.open(search.discover(source), 0, -1, heuristic.estimate(source));
+
+		while (search.size > 0) {
+			int id = search.poll();
+			Node<V> node = search.index.get(id);
+
+			if (node == target)
+				return search.path(id);
+
+			double distance = search.distance[id];
+			for (Link<V> link : node.linkSet()) {
+				Link<V> opposite = link.getOpposite();
+				Node<V> other = opposite.getNode();
+
+				if (other == null)
+					continue;
+
+				double c = cost.cost(node, opposite.getKey(), other);
+
+				if (c == Double.POSITIVE_INFINITY)
+					continue;
+				if (!(c >= 0))
+					throw new IllegalArgumentException("cost: " + c);
+
+				int o = search.discover(other);
+				double d = distance + c;
+
+				if (d < search.distance[o])
+					search.open(o, d, id, d + heuristic.estimate(other));
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * A function giving the cost of following a link.
+	 * <br>
+	 * Costs must not be negative nor {@link Double#NaN NaN}. A cost of {@link
+	 * Double#POSITIVE_INFINITY positive infinity} means the link cannot be followed.
+	 *
+	 * @param <V> the type of the values of the nodes.
+	 * @author LSafer
+	 * @version 0.0.5
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@FunctionalInterface
+	public interface LinkCost<V> {
+		/**
+		 * Return the cost of following the given {@code key} from the given {@code from}
+		 * node to the given {@code to} node.
+		 *
+		 * @param from the node the link is followed from.
+		 * @param key  the key followed. ({@code from.get(key) == to})
+		 * @param to   the node the link is followed to.
+		 * @return the cost of following the link.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Contract(pure = true)
+		double cost(@NotNull Node<V> from, @NotNull Key key, @NotNull Node<V> to);
+	}
+
+	/**
+	 * A function estimating the remaining cost from a node to the target of a search.
+	 *
+	 * @param <V> the type of the values of the nodes.
+	 * @author LSafer
+	 * @version 0.0.5
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@FunctionalInterface
+	public interface Heuristic<V> {
+		/**
+		 * Return the estimated remaining cost from the given {@code node} to the target.
+		 *
+		 * @param node the node to estimate its remaining cost.
+		 * @return the estimated remaining cost.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Contract(pure = true)
+		double estimate(@NotNull Node<V> node);
+	}
+
+	/**
+	 * A path found by a search.
+	 *
+	 * @param <V> the type of the values of the nodes.
+	 * @author LSafer
+	 * @version 0.0.5
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public static final class Path<V> {
+		/**
+		 * The nodes of the path. From the source to the target.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		private final List<Node<V>> nodes;
+		/**
+		 * The total cost of the path.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private final double cost;
+
+		/**
+		 * Construct a new path.
+		 *
+		 * @param nodes the nodes of the path.
+		 * @param cost  the total cost of the path.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		Path(@NotNull List<Node<V>> nodes, double cost) {
+			this.nodes = nodes;
+			this.cost = cost;
+		}
+
+		@NotNull
+		@Override
+		public String toString() {
+			return "Path{length=" + this.nodes.size() + ", cost=" + this.cost + "}";
+		}
+
+		/**
+		 * Return the nodes of this path. From the source to the target (both
+		 * inclusive).
+		 *
+		 * @return an unmodifiable list of the nodes of this path.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		@Contract(pure = true)
+		public List<Node<V>> getNodes() {
+			return Collections.unmodifiableList(this.nodes);
+		}
+
+		/**
+		 * Return the total cost of this path.
+		 *
+		 * @return the cost of this path.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Contract(pure = true)
+		public double getCost() {
+			return this.cost;
+		}
+	}
+
+	/**
+	 * The state of a search. The per-node arrays are indexed by the ids of the nodes and
+	 * the open nodes are kept in an indexed binary min-heap ordered by their priorities.
+	 *
+	 * @author LSafer
+	 * @version 0.0.5
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private static final class Search {
+		/**
+		 * The ids of the discovered nodes.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		private final NodeIdentityIndex index = new NodeIdentityIndex();
+
+		/**
+		 * The best known distance of each node from the source.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private double @NotNull [] distance = new double[16];
+		/**
+		 * The priority of each open node.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private double @NotNull [] priority = new double[16];
+		/**
+		 * The id of the node before each node in its best known path. (-1: none)
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private int @NotNull [] parent = new int[16];
+		/**
+		 * The position of each node in the heap. (-1: not in the heap)
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private int @NotNull [] position = new int[16];
+		/**
+		 * The heap of the ids of the open nodes.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private int @NotNull [] heap = new int[16];
+		/**
+		 * The number of open nodes.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private int size;
+
+		/**
+		 * Return the id of the given {@code node}, initializing its state if it was not
+		 * discovered before.
+		 *
+		 * @param node the node to get its id.
+		 * @return the id of the given {@code node}.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private int discover(@NotNull Node<?> node) {
+			int count = this.index.size();
+			int id = this.index.add(node);
+
+			if (id == count) {
+				if (id == this.distance.length) {
+					int length = id << 1;
+					this.distance = Arrays.copyOf(this.distance, length);
+					this.priority = Arrays.copyOf(this.priority, length);
+					this.parent = Arrays.copyOf(this.parent, length);
+					this.position = Arrays.copyOf(this.position, length);
+				}
+
+				this.distance[id] = Double.POSITIVE_INFINITY;
+				this.position[id] = -1;
+			}
+
+			return id;
+		}
+
+		/**
+		 * Set the given {@code distance} and {@code priority} of the node with the given
+		 * {@code id}, and add it to the heap or move it up in the heap.
+		 *
+		 * @param id       the id of the node.
+		 * @param distance the new distance of the node. Less than its current distance.
+		 * @param parent   the id of the node before it in its path. (-1: none)
+		 * @param priority the new priority of the node.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private void open(int id, double distance, int parent, double priority) {
+			this.distance[id] = distance;
+			this.parent[id] = parent;
+			this.priority[id] = priority;
+
+			int i = this.position[id];
+			if (i < 0) {
+				if (this.size == this.heap.length)
+					this.heap = Arrays.copyOf(this.heap, this.size << 1);
+
+				i = this.size++;
+			}
+
+			this.up(i, id);
+		}
+
+		/**
+		 * Remove the open node with the least priority from the heap.
+		 *
+		 * @return the id of the removed node.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private int poll() {
+			int[] heap = this.heap;
+			int id = heap[0];
+			int last = heap[--this.size];
+
+			this.position[id] = -1;
+			if (this.size > 0)
+				this.down(0, last);
+
+			return id;
+		}
+
+		/**
+		 * Place the node with the given {@code id} at the given heap index {@code i} or
+		 * above it.
+		 *
+		 * @param i  the heap index to start from.
+		 * @param id the id of the node to place.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private void up(int i, int id) {
+			int[] heap = this.heap;
+			double p = this.priority[id];
+
+			while (i > 0) {
+				int j = i - 1 >>> 1;
+				int parent = heap[j];
+
+				if (this.priority[parent] <= p)
+					break;
+
+				heap[i] = parent;
+				this.position[parent] = i;
+				i = j;
+			}
+
+			heap[i] = id;
+			this.position[id] = i;
+		}
+
+		/**
+		 * Place the node with the given {@code id} at the given heap index {@code i} or
+		 * below it.
+		 *
+		 * @param i  the heap index to start from.
+		 * @param id the id of the node to place.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private void down(int i, int id) {
+			int[] heap = this.heap;
+			int size = this.size;
+			double p = this.priority[id];
+
+			for (int j; (j = (i << 1) + 1) < size; ) {
+				int child = heap[j];
+
+				if (j + 1 < size && this.priority[heap[j + 1]] < this.priority[child])
+					child = heap[++j];
+				if (p <= this.priority[child])
+					break;
+
+				heap[i] = child;
+				this.position[child] = i;
+				i = j;
+			}
+
+			heap[i] = id;
+			this.position[id] = i;
+		}
+
+		/**
+		 * Build the path ending at the node with the given {@code id}.
+		 *
+		 * @param id  the id of the last node.
+		 * @param <V> the type of the values of the nodes.
+		 * @return the path ending at the given node.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		private <V> Path<V> path(int id) {
+			List<Node<V>> nodes = new ArrayList<>();
+
+			for (int i = id; i >= 0; i = this.parent[i])
+				nodes.add(this.index.get(i));
+
+			Collections.reverse(nodes);
+			return new Path<>(nodes, this.distance[id]);
+		}
+	}
+}
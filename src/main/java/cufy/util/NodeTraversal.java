@@ -0,0 +1,533 @@
+/*
+ *	Copyright 2021 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.util;
+
+import cufy.util.Node.Key;
+import cufy.util.Node.Link;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Utilities for visiting the nodes reachable from a node through a set of keys.
+ * <br>
+ * A node is reachable through a key if it is {@link Node#get(Key) got} from a reachable
+ * node with the key. The keys to follow are chosen by a filter. Each reachable node is
+ * visited exactly once. The visited nodes are remembered in a {@link NodeIdentitySet}.
+ * So, the {@link Node#hashCode()} of the nodes (which hashes their values) is never
+ * invoked. Both orders are iterative, so the depth of a graph does not matter.
+ * <br>
+ * A traversal stops early when its visitor returns {@code false}.
+ * <br>
+ * Large read-only graphs can be traversed in parallel using {@link
+ * #parallelBreadthFirst(ForkJoinPool, Node, Predicate, int, Visitor)}.
+ *
+ * @author LSafer
+ * @version 0.0.5
+ * @since 0.0.5 ~2026.10.17
+ */
+public final class NodeTraversal {
+	/**
+	 * The depth of a traversal that is not bounded.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public static final int UNBOUNDED = Integer.MAX_VALUE;
+
+	/**
+	 * Utility classes must not be initialized.
+	 *
+	 * @throws AssertionError always.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private NodeTraversal() {
+		throw new AssertionError("No instance for you!");
+	}
+
+	/**
+	 * Return a filter accepting any key.
+	 *
+	 * @return a filter accepting any key.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(pure = true)
+	public static Predicate<Key> any() {
+		return key -> true;
+	}
+
+	/**
+	 * Return a filter accepting only the given {@code keys}.
+	 *
+	 * @param keys the keys to be accepted.
+	 * @return a filter accepting the given {@code keys}.
+	 * @throws NullPointerException if the given {@code keys} is null.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(value = "_->new", pure = true)
+	public static Predicate<Key> keys(@NotNull Key @NotNull ... keys) {
+		Objects.requireNonNull(keys, "keys");
+		Set<Key> set = new HashSet<>(Arrays.asList(keys));
+		return set::contains;
+	}
+
+	/**
+	 * Visit the nodes reachable from the given {@code root} through the keys accepted by
+	 * the given {@code filter} in breadth-first order. Nodes nearer to the root are
+	 * visited first.
+	 *
+	 * @param root     the node to start from. Visited at the depth {@code 0}.
+	 * @param filter   the filter of the keys to follow.
+	 * @param maxDepth the maximum depth of a visited node.
+	 * @param visitor  the visitor to invoke for each node.
+	 * @param <V>      the type of the values of the nodes.
+	 * @return the number of visited nodes.
+	 * @throws NullPointerException     if the given {@code root} or {@code filter} or
+	 *                                  {@code visitor} is null.
+	 * @throws IllegalArgumentException if the given {@code maxDepth} is negative.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = 1, to = Integer.MAX_VALUE)
+	public static <V> int breadthFirst(@NotNull Node<V> root, @NotNull Predicate<? super Key> filter, @Range(from = 0, to = Integer.MAX_VALUE) int maxDepth, @NotNull Visitor<V> visitor) {
+		NodeTraversal.check(root, filter, maxDepth, visitor);
+		NodeIdentitySet visited = new NodeIdentitySet();
+		List<Node<V>> frontier = new ArrayList<>();
+		List<Node<V>> next = new ArrayList<>();
+		int count = 0;
+
+		visited.add(root);
+		frontier.add(root);
+
+		for (int depth = 0; !frontier.isEmpty(); depth++) {
+			for (Node<V> node : frontier) {
+				count++;
+
+				if (!visitor.visit(node, depth))
+					return count;
+
+				if (depth < maxDepth)
+					NodeTraversal.expand(node, filter, visited, next);
+			}
+
+			List<Node<V>> swap = frontier;
+			frontier = next;
+			next = swap;
+			next.clear();
+		}
+
+		return count;
+	}
+
+	/**
+	 * Visit the nodes reachable from the given {@code root} through the keys accepted by
+	 * the given {@code filter} in depth-first (pre) order. A node is visited before the
+	 * nodes reached from it. The depth of a node is the depth it was first reached at.
+	 *
+	 * @param root     the node to start from. Visited at the depth {@code 0}.
+	 * @param filter   the filter of the keys to follow.
+	 * @param maxDepth the maximum depth of a visited node.
+	 * @param visitor  the visitor to invoke for each node.
+	 * @param <V>      the type of the values of the nodes.
+	 * @return the number of visited nodes.
+	 * @throws NullPointerException     if the given {@code root} or {@code filter} or
+	 *                                  {@code visitor} is null.
+	 * @throws IllegalArgumentException if the given {@code maxDepth} is negative.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = 1, to = Integer.MAX_VALUE)
+	public static <V> int depthFirst(@NotNull Node<V> root, @NotNull Predicate<? super Key> filter, @Range(from = 0, to = Integer.MAX_VALUE) int maxDepth, @NotNull Visitor<V> visitor) {
+		NodeTraversal.check(root, filter, maxDepth, visitor);
+		NodeIdentitySet visited = new NodeIdentitySet();
+		List<Node<V>> children = new ArrayList<>();
+		Object[] nodes = new Object[16];
+		int[] depths = new int[16];
+		int top = 0;
+		int count = 0;
+
+		visited.add(root);
+		nodes[top] = root;
+		depths[top++] = 0;
+
+		while (top > 0) {
+			//noinspection unchecked
+			Node<V> node = (Node<V>) nodes[--top];
+			int depth = depths[top];
+			nodes[top] = null;
+			count++;
+
+			if (!visitor.visit(node, depth))
+				return count;
+
+			if (depth < maxDepth) {
+				NodeTraversal.expand(node, filter, visited, children);
+
+				if (top + children.size() > nodes.length) {
+					int length = Math.max(nodes.length << 1, top + children.size());
+					nodes = Arrays.copyOf(nodes, length);
+					depths = Arrays.copyOf(depths, length);
+				}
+
+				//push in reverse to visit the children in their link order
+				for (int i = children.size() - 1; i >= 0; i--) {
+					nodes[top] = children.get(i);
+					depths[top++] = depth + 1;
+				}
+
+				children.clear();
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * Visit the nodes reachable from the given {@code root} through the keys accepted by
+	 * the given {@code filter} in parallel on the {@link ForkJoinPool#commonPool() common
+	 * pool}, level by level.
+	 *
+	 * @param root     the node to start from. Visited at the depth {@code 0}.
+	 * @param filter   the filter of the keys to follow.
+	 * @param maxDepth the maximum depth of a visited node.
+	 * @param visitor  the visitor to invoke for each node.
+	 * @param <V>      the type of the values of the nodes.
+	 * @return the number of nodes visited at each depth.
+	 * @throws NullPointerException     if the given {@code root} or {@code filter} or
+	 *                                  {@code visitor} is null.
+	 * @throws IllegalArgumentException if the given {@code maxDepth} is negative.
+	 * @see #parallelBreadthFirst(ForkJoinPool, Node, Predicate, int, Visitor)
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	public static <V> int[] parallelBreadthFirst(@NotNull Node<V> root, @NotNull Predicate<? super Key> filter, @Range(from = 0, to = Integer.MAX_VALUE) int maxDepth, @NotNull Visitor<V> visitor) {
+		return NodeTraversal.parallelBreadthFirst(ForkJoinPool.commonPool(), root, filter, maxDepth, visitor);
+	}
+
+	/**
+	 * Visit the nodes reachable from the given {@code root} through the keys accepted by
+	 * the given {@code filter} in parallel on the given {@code pool}, level by level.
+	 * <br>
+	 * The nodes of each depth (the frontier) are split into chunks expanded by the
+	 * threads of the given {@code pool}. The next frontier is the nodes reached for the
+	 * first time from the current frontier, deduplicated by a {@link
+	 * ConcurrentNodeIdentitySet}. A depth is only started after the previous depth is
+	 * done. So, nodes nearer to the root are still visited first, but the nodes of the
+	 * same depth are visited in no specific order.
+	 * <br>
+	 * The given {@code filter} and {@code visitor} are invoked concurrently. The graph
+	 * must not be mutated during the traversal. If the given {@code visitor} returns
+	 * {@code false}, the traversal stops as soon as possible. (The nodes already being
+	 * visited by other threads still finish)
+	 *
+	 * @param pool     the pool to run the traversal on.
+	 * @param root     the node to start from. Visited at the depth {@code 0}.
+	 * @param filter   the filter of the keys to follow.
+	 * @param maxDepth the maximum depth of a visited node.
+	 * @param visitor  the visitor to invoke for each node.
+	 * @param <V>      the type of the values of the nodes.
+	 * @return the number of nodes visited at each depth.
+	 * @throws NullPointerException     if the given {@code pool} or {@code root} or {@code
+	 *                                  filter} or {@code visitor} is null.
+	 * @throws IllegalArgumentException if the given {@code maxDepth} is negative.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	public static <V> int[] parallelBreadthFirst(@NotNull ForkJoinPool pool, @NotNull Node<V> root, @NotNull Predicate<? super Key> filter, @Range(from = 0, to = Integer.MAX_VALUE) int maxDepth, @NotNull Visitor<V> visitor) {
+		Objects.requireNonNull(pool, "pool");
+		NodeTraversal.check(root, filter, maxDepth, visitor);
+		ConcurrentNodeIdentitySet visited = new ConcurrentNodeIdentitySet();
+		AtomicBoolean stopped = new AtomicBoolean();
+		int[] levels = new int[16];
+		int depth = 0;
+
+		visited.add(root);
+		Object[] frontier = {root};
+
+		while (true) {
+			Level<V> level = new Level<>(frontier, 0, frontier.length, depth, depth < maxDepth, filter, visitor, visited, stopped);
+			pool.invoke(level);
+
+			if (depth == levels.length)
+				levels = Arrays.copyOf(levels, depth << 1);
+
+			levels[depth++] = level.count;
+
+			if (stopped.get() || level.next.isEmpty())
+				return Arrays.copyOf(levels, depth);
+
+			frontier = level.next.toArray();
+		}
+	}
+
+	/**
+	 * Collect the nodes reachable from the given {@code root} through the given {@code
+	 * keys} (including the root itself).
+	 *
+	 * @param root the node to start from.
+	 * @param keys the keys to follow.
+	 * @return a new set of the reachable nodes.
+	 * @throws NullPointerException if the given {@code root} or {@code keys} is null.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(value = "_,_->new", pure = true)
+	public static NodeIdentitySet reachable(@NotNull Node<?> root, @NotNull Key @NotNull ... keys) {
+		NodeIdentitySet set = new NodeIdentitySet();
+		NodeTraversal.breadthFirst(root, NodeTraversal.keys(keys), NodeTraversal.UNBOUNDED, (node, depth) -> {
+			set.add(node);
+			return true;
+		});
+		return set;
+	}
+
+	/**
+	 * Add the not visited nodes got from the given {@code node} with the keys accepted by
+	 * the given {@code filter} to the given {@code visited} set and the given {@code out}
+	 * list.
+	 *
+	 * @param node    the node to expand.
+	 * @param filter  the filter of the keys to follow.
+	 * @param visited the visited nodes.
+	 * @param out     the list to add the newly reached nodes to.
+	 * @param <V>     the type of the values of the nodes.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private static <V> void expand(@NotNull Node<V> node, @NotNull Predicate<? super Key> filter, @NotNull NodeIdentitySet visited, @NotNull List<Node<V>> out) {
+		for (Link<V> link : node.linkSet()) {
+			Link<V> opposite = link.getOpposite();
+			Node<V> other = opposite.getNode();
+
+			//the other node is got from this node with the opposite key
+			if (other != null && filter.test(opposite.getKey()) && visited.add(other))
+				out.add(other);
+		}
+	}
+
+	/**
+	 * Check the arguments of a traversal.
+	 *
+	 * @param root     the root.
+	 * @param filter   the filter.
+	 * @param maxDepth the maximum depth.
+	 * @param visitor  the visitor.
+	 * @throws NullPointerException     if the given {@code root} or {@code filter} or
+	 *                                  {@code visitor} is null.
+	 * @throws IllegalArgumentException if the given {@code maxDepth} is negative.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private static void check(@NotNull Node<?> root, @NotNull Predicate<?> filter, int maxDepth, @NotNull Visitor<?> visitor) {
+		Objects.requireNonNull(root, "root");
+		Objects.requireNonNull(filter, "filter");
+		Objects.requireNonNull(visitor, "visitor");
+		if (maxDepth < 0)
+			throw new IllegalArgumentException("maxDepth: " + maxDepth);
+	}
+
+	/**
+	 * A visitor of the nodes of a traversal.
+	 *
+	 * @param <V> the type of the values of the nodes.
+	 * @author LSafer
+	 * @version 0.0.5
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@FunctionalInterface
+	public interface Visitor<V> {
+		/**
+		 * Visit the given {@code node}.
+		 *
+		 * @param node  the visited node.
+		 * @param depth the number of keys followed from the root to the node.
+		 * @return true, to continue the traversal. False, to stop it.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		boolean visit(@NotNull Node<V> node, @Range(from = 0, to = Integer.MAX_VALUE) int depth);
+	}
+
+	/**
+	 * A task expanding a chunk of the frontier of a parallel breadth-first traversal.
+	 * Splits itself in halves until the chunk is small.
+	 *
+	 * @param <V> the type of the values of the nodes.
+	 * @author LSafer
+	 * @version 0.0.5
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private static final class Level<V> extends RecursiveAction {
+		/**
+		 * The maximum number of frontier nodes expanded by one task.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private static final int THRESHOLD = 1 << 10;
+		@SuppressWarnings("JavaDoc")
+		private static final long serialVersionUID = -1726404871352617450L;
+
+		/**
+		 * The frontier.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		private final Object @NotNull [] frontier;
+		/**
+		 * The first index of the chunk (inclusive).
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private final int from;
+		/**
+		 * The last index of the chunk (exclusive).
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private final int to;
+		/**
+		 * The depth of the frontier.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private final int depth;
+		/**
+		 * True, to expand the nodes of the frontier.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private final boolean expand;
+		/**
+		 * The filter of the keys to follow.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		private final Predicate<? super Key> filter;
+		/**
+		 * The visitor.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		private final Visitor<V> visitor;
+		/**
+		 * The visited nodes.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		private final ConcurrentNodeIdentitySet visited;
+		/**
+		 * Set when the visitor stops the traversal.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		private final AtomicBoolean stopped;
+
+		/**
+		 * The nodes reached for the first time by this task. Available after completion.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		private List<Node<V>> next = Collections.emptyList();
+		/**
+		 * The number of nodes visited by this task. Available after completion.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private int count;
+
+		/**
+		 * Construct a new task expanding the given chunk of the given {@code frontier}.
+		 *
+		 * @param frontier the frontier.
+		 * @param from     the first index of the chunk (inclusive).
+		 * @param to       the last index of the chunk (exclusive).
+		 * @param depth    the depth of the frontier.
+		 * @param expand   true, to expand the nodes.
+		 * @param filter   the filter of the keys to follow.
+		 * @param visitor  the visitor.
+		 * @param visited  the visited nodes.
+		 * @param stopped  set when the visitor stops the traversal.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private Level(@NotNull Object @NotNull [] frontier, int from, int to, int depth, boolean expand, @NotNull Predicate<? super Key> filter, @NotNull Visitor<V> visitor, @NotNull ConcurrentNodeIdentitySet visited, @NotNull AtomicBoolean stopped) {
+			this.frontier = frontier;
+			this.from = from;
+			this.to = to;
+			this.depth = depth;
+			this.expand = expand;
+			this.filter = filter;
+			this.visitor = visitor;
+			this.visited = visited;
+			this.stopped = stopped;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.to - this.from > Level.THRESHOLD) {
+				int mid = this.from + this.to >>> 1;
+				Level<V> left = new Level<>(this.frontier, this.from, mid, this.depth, this.expand, this.filter, this.visitor, this.visited, this.stopped);
+				Level<V> right = new Level<>(this.frontier, mid, this.to, this.depth, this.expand, this.filter, this.visitor, this.visited, this.stopped);
+				ForkJoinTask.invokeAll(left, right);
+
+				this.count = left.count + right.count;
+				if (right.next.isEmpty())
+					this.next = left.next;
+				else if (left.next.isEmpty())
+					this.next = right.next;
+				else {
+					this.next = left.next;
+					this.next.addAll(right.next);
+				}
+				return;
+			}
+
+			List<Node<V>> next = new ArrayList<>();
+			int count = 0;
+
+			for (int i = this.from; i < this.to && !this.stopped.get(); i++) {
+				//noinspection unchecked
+				Node<V> node = (Node<V>) this.frontier[i];
+				count++;
+
+				if (!this.visitor.visit(node, this.depth)) {
+					this.stopped.set(true);
+					break;
+				}
+
+				if (this.expand)
+					for (Link<V> link : node.linkSet()) {
+						Link<V> opposite = link.getOpposite();
+						Node<V> other = opposite.getNode();
+
+						if (other != null && this.filter.test(opposite.getKey()) && this.visited.add(other))
+							next.add(other);
+					}
+			}
+
+			this.count = count;
+			this.next = next;
+		}
+	}
+}
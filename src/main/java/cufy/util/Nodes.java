@@ -23,6 +23,12 @@ import org.jetbrains.annotations.*;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * A utility interface containing common utilities for {@link Node}s.
@@ -40,6 +46,10 @@ public interface Nodes {
 	 * <br>
 	 * If the given {@code node} is relating to itself. Then, the node before the given
 	 * {@code node} will be returned. (even if it was the node itself)
+	 * <br>
+	 * If the nodes after the given {@code node} loop back to a node other than the given
+	 * {@code node} (a rho shape). Then, the node before the looped back to node in the
+	 * loop will be returned.
 	 *
 	 * @param key  the key to follow.
 	 * @param node the node to get its tail.
@@ -54,15 +64,7 @@ public interface Nodes {
 	static <V> Node<V> tail(@NotNull Key key, @NotNull Node<V> node) {
 		Objects.requireNonNull(key, "key");
 		Objects.requireNonNull(node, "node");
-		Node<V> tail = node;
-		while (true) {
-			Node<V> next = tail.get(key);
-
-			if (next == null || next == node)
-				return tail;
-
-			tail = next;
-		}
+		return Nodes.cycle(key, node).getLast();
 	}
 
 	/**
@@ -92,6 +94,9 @@ public interface Nodes {
 	/**
 	 * Determine if the given {@code node} relates to itself with respect to the given
 	 * {@code key} or not.
+	 * <br>
+	 * If the nodes after the given {@code node} loop back to a node other than the given
+	 * {@code node} (a rho shape). Then, the chain is infinite as well.
 	 *
 	 * @param key  the key to follow.
 	 * @param node the node to be checked.
@@ -105,11 +110,104 @@ public interface Nodes {
 	static <V> boolean isInfinite(@NotNull Key key, @NotNull Node<V> node) {
 		Objects.requireNonNull(key, "key");
 		Objects.requireNonNull(node, "node");
-		Node<V> next = node;
-		while ((next = next.get(key)) != null)
-			if (next == node)
-				return true;
-		return false;
+		return Nodes.cycle(key, node).getEntry() != null;
+	}
+
+	/**
+	 * Detect the cycle (if any) the nodes after the given {@code node} with respect to
+	 * the given {@code key} end with.
+	 * <br>
+	 * The detection uses Brent's algorithm. It takes time linear to the number of the
+	 * distinct nodes after the given {@code node} and constant memory. So, it terminates
+	 * on any shape of chain. Either linear, a ring or a chain looping back to its middle
+	 * (a rho shape).
+	 *
+	 * @param key  the key to follow.
+	 * @param node the node to start from.
+	 * @param <V>  the type of the value of the node.
+	 * @return the shape of the chain after the given {@code node}.
+	 * @throws NullPointerException if the given {@code key} or {@code node} is null.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(value = "_,_->new", pure = true)
+	static <V> Cycle<V> cycle(@NotNull Key key, @NotNull Node<V> node) {
+		Objects.requireNonNull(key, "key");
+		Objects.requireNonNull(node, "node");
+		Node<V> tortoise = node;
+		Node<V> hare = node.get(key);
+
+		if (hare == null)
+			return new Cycle<>(null, node, 1, 0);
+
+		int power = 1;
+		int length = 1;
+		int count = 2;
+		while (tortoise != hare) {
+			if (power == length) {
+				//teleport the tortoise
+				tortoise = hare;
+				power <<= 1;
+				length = 0;
+			}
+
+			Node<V> next = hare.get(key);
+
+			if (next == null)
+				//the hare reached the end, so all the nodes were distinct
+				return new Cycle<>(null, hare, count, 0);
+
+			hare = next;
+			length++;
+			count++;
+		}
+
+		//find the entry: the hare stays `length` nodes ahead
+		tortoise = node;
+		hare = node;
+		for (int i = 0; i < length; i++)
+			hare = hare.get(key);
+
+		int offset = 0;
+		while (tortoise != hare) {
+			tortoise = tortoise.get(key);
+			hare = hare.get(key);
+			offset++;
+		}
+
+		Node<V> last = tortoise;
+		for (int i = 1; i < length; i++)
+			last = last.get(key);
+
+		return new Cycle<>(tortoise, last, offset, length);
+	}
+
+	/**
+	 * Perform the given {@code action} for each node relative to the given {@code node}
+	 * with respect to the given {@code key}. From the first node to the last node.
+	 * <br>
+	 * If the given {@code node} indirectly relate to itself. Then, the first node will be
+	 * the node after the given {@code node} and the last node will be the given {@code
+	 * node} itself. Each node is visited once even if the chain loops back to its
+	 * middle.
+	 *
+	 * @param key    the key to follow.
+	 * @param node   the node to perform the given {@code action} for its relatives.
+	 * @param action the action to be performed.
+	 * @param <V>    the type of the value of the node.
+	 * @throws NullPointerException if the given {@code key} or {@code node} or {@code
+	 *                              action} is null.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	static <V> void forEach(@NotNull Key key, @NotNull Node<V> node, @NotNull Consumer<? super Node<V>> action) {
+		Objects.requireNonNull(key, "key");
+		Objects.requireNonNull(node, "node");
+		Objects.requireNonNull(action, "action");
+		Node<V> first = Nodes.head(key, node);
+		int size = Nodes.cycle(key, first).getSize();
+		Node<V> next = first;
+		for (int i = 0; i < size; i++, next = next.get(key))
+			action.accept(next);
 	}
 
 	//mutate
@@ -417,15 +515,43 @@ public interface Nodes {
 		Objects.requireNonNull(key, "key");
 		Objects.requireNonNull(node, "node");
 		Objects.requireNonNull(comparator, "comparator");
-		LinkedList<Node<V>> list = Nodes.collect(key, node);
-
-		list.sort(comparator);
-
-		if (Nodes.isInfinite(key, node))
-			//add the last to the first to make `Nodes.concat` retain the infinity illusion
-			list.addFirst(list.getLast());
+		ChainSort.sort(key, node, comparator);
+	}
 
-		Nodes.concat(key, list);
+	/**
+	 * Sort the relatives of the given {@code node} with respect to the given {@code key}
+	 * using the given {@code comparator} in parallel.
+	 * <br>
+	 * The nodes are split into segments sorted and merged on the {@link
+	 * java.util.concurrent.ForkJoinPool#commonPool() common pool}. Then, the existing
+	 * nodes are relinked to follow the sorted order. Short chains are sorted sequentially
+	 * like {@link #sort(Key, Node, Comparator)}. The sort is stable.
+	 * <br>
+	 * The given {@code comparator} might be invoked from multiple threads at the same
+	 * time. The nodes must not be mutated while sorting.
+	 * <br>
+	 * If any node involved rejected to do an operation, the method will fail with no
+	 * guarantee to what node has what relation with respect to the given {@code key} or
+	 * its opposite.
+	 *
+	 * @param key        the key to follow.
+	 * @param node       the node to sort its relatives.
+	 * @param comparator the comparator to be used for sorting.
+	 * @param <V>        the type of the value of the node.
+	 * @throws NullPointerException          if the given {@code key} or {@code node} or
+	 *                                       {@code comparator} is null.
+	 * @throws IllegalArgumentException      if a node rejected a link or the given {@code
+	 *                                       key} or its opposite.
+	 * @throws UnsupportedOperationException if a node refused to perform a necessary
+	 *                                       operation.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	//fail -> undefined
+	static <V> void parallelSort(@NotNull Key key, @NotNull Node<V> node, @NotNull Comparator<Node<V>> comparator) {
+		Objects.requireNonNull(key, "key");
+		Objects.requireNonNull(node, "node");
+		Objects.requireNonNull(comparator, "comparator");
+		ChainSort.parallelSort(key, node, comparator);
 	}
 
 	/**
@@ -452,15 +578,210 @@ public interface Nodes {
 	static <V extends Comparable<? super V>> void sort(@NotNull Key key, @NotNull Node<V> node) {
 		Objects.requireNonNull(key, "key");
 		Objects.requireNonNull(node, "node");
-		LinkedList<Node<V>> list = Nodes.collect(key, node);
+		ChainSort.sort(key, node, Comparator.comparing(Node::get));
+	}
 
-		list.sort(Comparator.comparing(Node::get));
+	/**
+	 * Sort the relatives of the given {@code node} with respect to the given {@code key}
+	 * by the {@code int} returned from the given {@code function} for each node.
+	 * <br>
+	 * The given {@code function} is expected to not box the values. Like, {@link
+	 * IntNode#intValue(Node)}.
+	 * <br>
+	 * If any node involved rejected to do an operation, the method will fail with no
+	 * guarantee to what node has what relation with respect to the given {@code key} or
+	 * its opposite.
+	 *
+	 * @param key      the key to follow.
+	 * @param node     the node to sort its relatives.
+	 * @param function the function extracting the sort key of each node.
+	 * @param <V>      the type of the value of the node.
+	 * @throws NullPointerException          if the given {@code key} or {@code node} or
+	 *                                       {@code function} is null.
+	 * @throws IllegalArgumentException      if a node rejected a link or the given {@code
+	 *                                       key} or its opposite.
+	 * @throws UnsupportedOperationException if a node refused to perform a necessary
+	 *                                       operation.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	//fail -> undefined
+	static <V> void sortByInt(@NotNull Key key, @NotNull Node<V> node, @NotNull ToIntFunction<? super Node<V>> function) {
+		Objects.requireNonNull(function, "function");
+		Nodes.sort(key, node, Comparator.comparingInt(function));
+	}
 
-		if (Nodes.isInfinite(key, node))
-			//add the last to the first to make `Nodes.concat` retain the infinity illusion
-			list.addFirst(list.getLast());
+	/**
+	 * Sort the relatives of the given {@code node} with respect to the given {@code key}
+	 * by the {@code long} returned from the given {@code function} for each node.
+	 * <br>
+	 * The given {@code function} is expected to not box the values. Like, {@link
+	 * LongNode#longValue(Node)}.
+	 * <br>
+	 * If any node involved rejected to do an operation, the method will fail with no
+	 * guarantee to what node has what relation with respect to the given {@code key} or
+	 * its opposite.
+	 *
+	 * @param key      the key to follow.
+	 * @param node     the node to sort its relatives.
+	 * @param function the function extracting the sort key of each node.
+	 * @param <V>      the type of the value of the node.
+	 * @throws NullPointerException          if the given {@code key} or {@code node} or
+	 *                                       {@code function} is null.
+	 * @throws IllegalArgumentException      if a node rejected a link or the given {@code
+	 *                                       key} or its opposite.
+	 * @throws UnsupportedOperationException if a node refused to perform a necessary
+	 *                                       operation.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	//fail -> undefined
+	static <V> void sortByLong(@NotNull Key key, @NotNull Node<V> node, @NotNull ToLongFunction<? super Node<V>> function) {
+		Objects.requireNonNull(function, "function");
+		Nodes.sort(key, node, Comparator.comparingLong(function));
+	}
 
-		Nodes.concat(key, list);
+	/**
+	 * Sort the relatives of the given {@code node} with respect to the given {@code key}
+	 * by the {@code double} returned from the given {@code function} for each node.
+	 * <br>
+	 * The given {@code function} is expected to not box the values. Like, {@link
+	 * DoubleNode#doubleValue(Node)}.
+	 * <br>
+	 * If any node involved rejected to do an operation, the method will fail with no
+	 * guarantee to what node has what relation with respect to the given {@code key} or
+	 * its opposite.
+	 *
+	 * @param key      the key to follow.
+	 * @param node     the node to sort its relatives.
+	 * @param function the function extracting the sort key of each node.
+	 * @param <V>      the type of the value of the node.
+	 * @throws NullPointerException          if the given {@code key} or {@code node} or
+	 *                                       {@code function} is null.
+	 * @throws IllegalArgumentException      if a node rejected a link or the given {@code
+	 *                                       key} or its opposite.
+	 * @throws UnsupportedOperationException if a node refused to perform a necessary
+	 *                                       operation.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	//fail -> undefined
+	static <V> void sortByDouble(@NotNull Key key, @NotNull Node<V> node, @NotNull ToDoubleFunction<? super Node<V>> function) {
+		Objects.requireNonNull(function, "function");
+		Nodes.sort(key, node, Comparator.comparingDouble(function));
+	}
+
+	/**
+	 * Sort the relatives of the given {@code node} with respect to the given {@code key}
+	 * by the {@code long} returned from the given {@code function} for each node using a
+	 * radix sort.
+	 * <br>
+	 * Unlike {@link #sortByLong(Key, Node, ToLongFunction)}, this method does not compare
+	 * the nodes. The given {@code function} is invoked exactly once for each node and the
+	 * nodes are distributed by the bytes of the returned keys. The sort is stable and
+	 * takes linear time for each distinct byte of the keys. Any value that maps to a
+	 * {@code long} preserving its order can be sorted this way. Like, {@code int}s,
+	 * {@code long}s or {@link java.time.Instant#toEpochMilli() instants}.
+	 * <br>
+	 * If any node involved rejected to do an operation, the method will fail with no
+	 * guarantee to what node has what relation with respect to the given {@code key} or
+	 * its opposite.
+	 *
+	 * @param key      the key to follow.
+	 * @param node     the node to sort its relatives.
+	 * @param function the function extracting the sort key of each node.
+	 * @param <V>      the type of the value of the node.
+	 * @throws NullPointerException          if the given {@code key} or {@code node} or
+	 *                                       {@code function} is null.
+	 * @throws IllegalArgumentException      if a node rejected a link or the given {@code
+	 *                                       key} or its opposite.
+	 * @throws UnsupportedOperationException if a node refused to perform a necessary
+	 *                                       operation.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	//fail -> undefined
+	static <V> void radixSort(@NotNull Key key, @NotNull Node<V> node, @NotNull ToLongFunction<? super Node<V>> function) {
+		Objects.requireNonNull(key, "key");
+		Objects.requireNonNull(node, "node");
+		Objects.requireNonNull(function, "function");
+		ChainSort.radixSort(key, node, function);
+	}
+
+	//aggregate
+
+	/**
+	 * Collect the statistics of the {@code int}s returned from the given {@code function}
+	 * for each node relative to the given {@code node} with respect to the given {@code
+	 * key}.
+	 * <br>
+	 * The given {@code function} is expected to not box the values. Like, {@link
+	 * IntNode#intValue(Node)}.
+	 *
+	 * @param key      the key to follow.
+	 * @param node     the node to summarize its relatives.
+	 * @param function the function extracting the value of each node.
+	 * @param <V>      the type of the value of the node.
+	 * @return the statistics of the values of the relatives of the given {@code node}.
+	 * @throws NullPointerException if the given {@code key} or {@code node} or {@code
+	 *                              function} is null.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(value = "_,_,_->new", pure = true)
+	static <V> IntSummaryStatistics summarizeInt(@NotNull Key key, @NotNull Node<V> node, @NotNull ToIntFunction<? super Node<V>> function) {
+		Objects.requireNonNull(function, "function");
+		IntSummaryStatistics statistics = new IntSummaryStatistics();
+		Nodes.forEach(key, node, n -> statistics.accept(function.applyAsInt(n)));
+		return statistics;
+	}
+
+	/**
+	 * Collect the statistics of the {@code long}s returned from the given {@code
+	 * function} for each node relative to the given {@code node} with respect to the
+	 * given {@code key}.
+	 * <br>
+	 * The given {@code function} is expected to not box the values. Like, {@link
+	 * LongNode#longValue(Node)}.
+	 *
+	 * @param key      the key to follow.
+	 * @param node     the node to summarize its relatives.
+	 * @param function the function extracting the value of each node.
+	 * @param <V>      the type of the value of the node.
+	 * @return the statistics of the values of the relatives of the given {@code node}.
+	 * @throws NullPointerException if the given {@code key} or {@code node} or {@code
+	 *                              function} is null.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(value = "_,_,_->new", pure = true)
+	static <V> LongSummaryStatistics summarizeLong(@NotNull Key key, @NotNull Node<V> node, @NotNull ToLongFunction<? super Node<V>> function) {
+		Objects.requireNonNull(function, "function");
+		LongSummaryStatistics statistics = new LongSummaryStatistics();
+		Nodes.forEach(key, node, n -> statistics.accept(function.applyAsLong(n)));
+		return statistics;
+	}
+
+	/**
+	 * Collect the statistics of the {@code double}s returned from the given {@code
+	 * function} for each node relative to the given {@code node} with respect to the
+	 * given {@code key}.
+	 * <br>
+	 * The given {@code function} is expected to not box the values. Like, {@link
+	 * DoubleNode#doubleValue(Node)}.
+	 *
+	 * @param key      the key to follow.
+	 * @param node     the node to summarize its relatives.
+	 * @param function the function extracting the value of each node.
+	 * @param <V>      the type of the value of the node.
+	 * @return the statistics of the values of the relatives of the given {@code node}.
+	 * @throws NullPointerException if the given {@code key} or {@code node} or {@code
+	 *                              function} is null.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(value = "_,_,_->new", pure = true)
+	static <V> DoubleSummaryStatistics summarizeDouble(@NotNull Key key, @NotNull Node<V> node, @NotNull ToDoubleFunction<? super Node<V>> function) {
+		Objects.requireNonNull(function, "function");
+		DoubleSummaryStatistics statistics = new DoubleSummaryStatistics();
+		Nodes.forEach(key, node, n -> statistics.accept(function.applyAsDouble(n)));
+		return statistics;
 	}
 
 	//struct
@@ -784,6 +1105,13 @@ public interface Nodes {
 			//noinspection AssignmentOrReturnOfFieldWithMutableType
 			return this.linkSet;
 		}
+
+		@Nullable
+		@Override
+		public Link<V> getLink(@NotNull Key key) {
+			Link<V> link = this.node.getLink(key);
+			return link == null ? null : Nodes.unmodifiableLink(link);
+		}
 	}
 
 	//singleton
@@ -894,6 +1222,14 @@ public interface Nodes {
 			//noinspection AssignmentOrReturnOfFieldWithMutableType
 			return this.linkSet;
 		}
+
+		@Nullable
+		@Override
+		public Link<V> getLink(@NotNull Key key) {
+			Objects.requireNonNull(key, "key");
+			Link<V> link = this.link;
+			return link.getKey().equals(key) ? link : null;
+		}
 	}
 
 	//view
@@ -912,8 +1248,98 @@ public interface Nodes {
 	 */
 	@Contract(value = "_,_->new", pure = true)
 	static <V> LinkedList<Node<V>> collect(@NotNull Key key, @NotNull Node<V> node) {
-		Deque deque = Nodes.asDeque(key, node);
-		return new LinkedList<>(deque);
+		LinkedList<Node<V>> list = new LinkedList<>();
+		//a single walk, the size of the deque is not known in advance
+		for (Node<V> n : Nodes.asDeque(key, node))
+			list.add(n);
+		return list;
+	}
+
+	/**
+	 * Return a new {@link Chain} owning the chain the given {@code node} is in with
+	 * respect to the given {@code key}. Unlike {@link #asDeque(Key, Node)}, the returned
+	 * chain remembers its ends and its size.
+	 *
+	 * @param key  the key of the chain.
+	 * @param node a node of the chain.
+	 * @param <V>  the type of the value of the node.
+	 * @return a new chain handle of the chain the given {@code node} is in.
+	 * @throws NullPointerException     if the given {@code key} or {@code node} is null.
+	 * @throws IllegalArgumentException if the chain the given {@code node} is in is a
+	 *                                  ring.
+	 * @see Chain#Chain(Key, Node)
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(value = "_,_->new", pure = true)
+	static <V> Chain<V> chain(@NotNull Key key, @NotNull Node<V> node) {
+		return new Chain<>(key, node);
+	}
+
+	/**
+	 * Return a sequential stream of the relatives of the given {@code node} with respect
+	 * to the given {@code key}. From the first node to the last node.
+	 * <br>
+	 * If the given {@code node} indirectly relate to itself. Then, the first node will be
+	 * the node after the given {@code node} and the last node will be the given {@code
+	 * node} itself.
+	 * <br>
+	 * The chain must not be mutated while the stream is being consumed.
+	 *
+	 * @param key  the key to follow.
+	 * @param node the node to stream its relatives.
+	 * @param <V>  the type of the value of the node.
+	 * @return a sequential stream of the relatives of the given {@code node}.
+	 * @throws NullPointerException if the given {@code key} or {@code node} is null.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(value = "_,_->new", pure = true)
+	static <V> Stream<Node<V>> stream(@NotNull Key key, @NotNull Node<V> node) {
+		return StreamSupport.stream(Nodes.spliterator(key, node), false);
+	}
+
+	/**
+	 * Return a possibly parallel stream of the relatives of the given {@code node} with
+	 * respect to the given {@code key}. The stream is split by jumping ahead in batches
+	 * of nodes. So, the chain is not copied to be processed in parallel.
+	 * <br>
+	 * The chain must not be mutated while the stream is being consumed.
+	 *
+	 * @param key  the key to follow.
+	 * @param node the node to stream its relatives.
+	 * @param <V>  the type of the value of the node.
+	 * @return a possibly parallel stream of the relatives of the given {@code node}.
+	 * @throws NullPointerException if the given {@code key} or {@code node} is null.
+	 * @see #stream(Key, Node)
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(value = "_,_->new", pure = true)
+	static <V> Stream<Node<V>> parallelStream(@NotNull Key key, @NotNull Node<V> node) {
+		return StreamSupport.stream(Nodes.spliterator(key, node), true);
+	}
+
+	/**
+	 * Return a spliterator over the relatives of the given {@code node} with respect to
+	 * the given {@code key}. The chain is walked once to know the size of the returned
+	 * spliterator.
+	 *
+	 * @param key  the key to follow.
+	 * @param node the node to split its relatives.
+	 * @param <V>  the type of the value of the node.
+	 * @return a spliterator over the relatives of the given {@code node}.
+	 * @throws NullPointerException if the given {@code key} or {@code node} is null.
+	 * @see #stream(Key, Node)
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(value = "_,_->new", pure = true)
+	static <V> Spliterator<Node<V>> spliterator(@NotNull Key key, @NotNull Node<V> node) {
+		Objects.requireNonNull(key, "key");
+		Objects.requireNonNull(node, "node");
+		Node<V> first = Nodes.head(key, node);
+		return new NodeSpliterator<>(key, first, first, Nodes.cycle(key, first).getSize());
 	}
 
 	/**
@@ -932,6 +1358,7 @@ public interface Nodes {
 	 * @return a deque view of the relatives of the given {@code node} with respect to the
 	 * 		given {@code key}.
 	 * @throws NullPointerException if the given {@code key} or {@code node} is null.
+	 * @see #chain(Key, Node)
 	 * @since 0.0.4 ~2021.05.03
 	 */
 	@NotNull
@@ -1038,7 +1465,9 @@ public interface Nodes {
 		 * 		the first node. If the sole node was examined while counting forward, the
 		 * 		counting will stop and the count number will be declared as the size of this
 		 * 		deque. Since, the method already examined all the nodes and if the method
-		 * 		continued counting it will examine just previously counted nodes.
+		 * 		continued counting it will examine just previously counted nodes. The
+		 * 		counting is done by {@link Nodes#cycle(Key, Node)}. So, it terminates even if
+		 * 		the chain loops back to its middle.
 		 * @since 0.0.4 ~2021.05.01
 		 */
 		@Range(from = 1, to = Integer.MAX_VALUE)
@@ -1048,26 +1477,17 @@ public interface Nodes {
 			Key key = this.key;
 			Node<V> node = this.node;
 
-			int size = 1;
-
 			//forward
-			Node<V> next = node;
-			while ((next = next.get(key)) != null)
-				if (next == node)
-					//infinite loop detected
-					return size;
-				else
-					size++;
+			Cycle<V> forward = Nodes.cycle(key, node);
 
-			Key opposite = key.opposite();
+			if (forward.getEntry() == node)
+				//infinite loop detected
+				return forward.getSize();
 
-			//backwards
-			Node<V> prev = node;
-			while ((prev = prev.get(opposite)) != null)
-				//no need for infinite loop check
-				size++;
+			//backwards (the sole node is counted twice)
+			Cycle<V> backward = Nodes.cycle(key.opposite(), node);
 
-			return size;
+			return (int) Math.min((long) forward.getSize() + backward.getSize() - 1, Integer.MAX_VALUE);
 		}
 
 		/**
@@ -1104,20 +1524,17 @@ public interface Nodes {
 				if (object == sole)
 					return true;
 
+				int forward = Nodes.cycle(key, sole).getSize();
 				Node<V> next = sole;
-				while ((next = next.get(key)) != null)
-					if (next == object)
+				for (int i = 1; i < forward; i++)
+					if ((next = next.get(key)) == object)
 						return true;
-					else if (next == sole)
-						return false;
 
+				int backward = Nodes.cycle(opposite, sole).getSize();
 				Node<V> prev = sole;
-				while ((prev = prev.get(opposite)) != null)
-					if (prev == object)
+				for (int i = 1; i < backward; i++)
+					if ((prev = prev.get(opposite)) == object)
 						return true;
-					else if (prev == sole)
-						//concurrent extra guard
-						return false;
 			}
 
 			return false;
@@ -1129,11 +1546,10 @@ public interface Nodes {
 		 * {@inheritDoc}
 		 *
 		 * @throws UnsupportedOperationException if this deque has only its sole node.
-		 * @implSpec this implementation will loop forward from the sole node to the
-		 * 		node with either no node or the sole node after it. If no node was after that
-		 * 		node, then that node will simply be removed. If the node after that node was
-		 * 		the sole node, then the sole node will be linked to the node before that node
-		 * 		(retaining the infinity effect).
+		 * @implSpec this implementation will find the last node using {@link
+		 * 		Nodes#tail(Key, Node)}. If no node was after that node, then that node will
+		 * 		simply be removed. Otherwise, the node after it will be linked to the node
+		 * 		before it (retaining the infinity effect).
 		 * @since 0.0.4 ~2021.05.01
 		 */
 		@SuppressWarnings("DuplicatedCode")
@@ -1143,47 +1559,34 @@ public interface Nodes {
 		public Node<V> removeLast() {
 			Key key = this.key;
 			Node<V> sole = this.node;
+			Node<V> last = Nodes.tail(key, sole);
 
-			//forward
-			Node<V> last = sole;
-			Node<V> prev = null;
-			while (true) {
-				Node<V> next = last.get(key);
+			if (last == sole)
+				//...[S] => throw
+				//~[S]~ => throw
+				throw new UnsupportedOperationException("sole");
 
-				if (next == null) {
-					if (last == sole)
-						//...[S] => throw
-						throw new UnsupportedOperationException("sole");
+			Node<V> prev = last.get(key.opposite());
+			Node<V> next = last.get(key);
 
-					//...[S]...[X] => ...[S]...[X-1]
-					prev.remove(key);
-					return last;
-				}
-				if (next == sole) {
-					if (last == sole)
-						//~[S]~ => throw
-						throw new UnsupportedOperationException("sole");
-
-					//~[S]...[X]~ => ~[S]...[X-1]~
-					prev.put(key, sole);
-					return last;
-				}
+			if (next == null)
+				//...[S]...[X] => ...[S]...[X-1]
+				prev.remove(key);
+			else
+				//~[S]...[X]~ => ~[S]...[X-1]~
+				prev.put(key, next);
 
-				//shift forward
-				prev = last;
-				last = next;
-			}
+			return last;
 		}
 
 		/**
 		 * {@inheritDoc}
 		 *
 		 * @throws UnsupportedOperationException if this deque has only its sole node.
-		 * @implSpec this implementation will loop backwards from the sole node to the
-		 * 		node with either no node or the sole node before it. If no node was before
-		 * 		that node, then that node will simply be removed. If the node before that
-		 * 		node was the sole node, then the sole node will be linked to the node after
-		 * 		that node (retaining the infinity effect).
+		 * @implSpec this implementation will find the first node using {@link
+		 * 		Nodes#head(Key, Node)}. If no node was before that node, then that node will
+		 * 		simply be removed. Otherwise, the node before it will be linked to the node
+		 * 		after it (retaining the infinity effect).
 		 * @since 0.0.4 ~2021.05.01
 		 */
 		@SuppressWarnings("DuplicatedCode")
@@ -1193,36 +1596,24 @@ public interface Nodes {
 		public Node<V> removeFirst() {
 			Key opposite = this.key.opposite();
 			Node<V> sole = this.node;
+			Node<V> first = Nodes.head(this.key, sole);
 
-			//backward
-			Node<V> first = sole;
-			Node<V> next = null;
-			while (true) {
-				Node<V> prev = first.get(opposite);
+			if (first == sole)
+				//[S]... => throw
+				//~[S]~ => throw
+				throw new UnsupportedOperationException("sole");
 
-				if (prev == null) {
-					if (first == sole)
-						//[S]... => throw
-						throw new UnsupportedOperationException("sole");
+			Node<V> next = first.get(this.key);
+			Node<V> prev = first.get(opposite);
 
-					//[X]...[S]... => [X+1]...[S]...
-					next.remove(opposite);
-					return first;
-				}
-				if (prev == sole) {
-					if (first == sole)
-						//~[S]~ => throw
-						throw new UnsupportedOperationException("sole");
-
-					//~[X]...[S]~ => ~[X+1]...[S]~
-					next.put(opposite, sole);
-					return first;
-				}
+			if (prev == null)
+				//[X]...[S]... => [X+1]...[S]...
+				next.remove(opposite);
+			else
+				//~[X]...[S]~ => ~[X+1]...[S]~
+				next.put(opposite, prev);
 
-				//shift backward
-				next = first;
-				first = prev;
-			}
+			return first;
 		}
 
 		/**
@@ -1300,11 +1691,10 @@ public interface Nodes {
 		/**
 		 * {@inheritDoc}
 		 *
-		 * @implSpec this implementation will loop forward until reaching a node with
-		 * 		either no node or the sole node after it. If so, then the given {@code node}
-		 * 		will be linked after that node. Additionally, if that reached node has the
-		 * 		sole node after it then the sole node will be linked after the given {@code
-		 * 		node}.
+		 * @implSpec this implementation will find the last node using {@link
+		 * 		Nodes#tail(Key, Node)}. Then, the given {@code node} will be linked after that
+		 * 		node. Additionally, if that node had a node after it then that node will be
+		 * 		linked after the given {@code node}.
 		 * @since 0.0.4 ~2021.05.02
 		 */
 		@SuppressWarnings("DuplicatedCode")
@@ -1313,38 +1703,24 @@ public interface Nodes {
 		public void addLast(@NotNull Node<V> node) {
 			Objects.requireNonNull(node, "node");
 			Key key = this.key;
-			Node<V> sole = this.node;
+			Node<V> last = Nodes.tail(key, this.node);
+			Node<V> next = last.get(key);
 
-			//forward
-			Node<V> last = sole;
-			while (true) {
-				Node<V> next = last.get(key);
-
-				if (next == null) {
-					//...[S]...[X] => ...[S}...[X]-[node]
-					last.put(key, node);
-					return;
-				}
-				if (next == sole) {
-					//~[S]...[X]~ => ~[S]...[X]-[node]~
-					last.put(key, node);
-					node.put(key, sole);
-					return;
-				}
+			//...[S]...[X] => ...[S}...[X]-[node]
+			last.put(key, node);
 
-				//shift forward
-				last = next;
-			}
+			if (next != null)
+				//~[S]...[X]~ => ~[S]...[X]-[node]~
+				node.put(key, next);
 		}
 
 		/**
 		 * {@inheritDoc}
 		 *
-		 * @implSpec this implementation will loop backward until reaching a node with
-		 * 		either no node or the sole node before it. If so, then the given {@code node}
-		 * 		will be linked before that node. Additionally, if that reached node has the
-		 * 		sole node before it then the sole node will be linked before the given {@code
-		 * 		node}.
+		 * @implSpec this implementation will find the first node using {@link
+		 * 		Nodes#head(Key, Node)}. Then, the given {@code node} will be linked before
+		 * 		that node. Additionally, if that node had a node before it then that node will
+		 * 		be linked before the given {@code node}.
 		 * @since 0.0.4 ~2021.05.02
 		 */
 		@SuppressWarnings("DuplicatedCode")
@@ -1353,28 +1729,15 @@ public interface Nodes {
 		public void addFirst(@NotNull Node<V> node) {
 			Objects.requireNonNull(node, "node");
 			Key opposite = this.key.opposite();
-			Node<V> sole = this.node;
-
-			//backwards
-			Node<V> first = sole;
-			while (true) {
-				Node<V> prev = first.get(opposite);
+			Node<V> first = Nodes.head(this.key, this.node);
+			Node<V> prev = first.get(opposite);
 
-				if (prev == null) {
-					//[X]...[S] => [node]-[X]...[S}
-					first.put(opposite, node);
-					return;
-				}
-				if (prev == sole) {
-					//~[X]...[S]~ => ~[node]-[X]...[S]~
-					first.put(opposite, node);
-					node.put(opposite, sole);
-					return;
-				}
+			//[X]...[S] => [node]-[X]...[S}
+			first.put(opposite, node);
 
-				//shift backwards
-				first = prev;
-			}
+			if (prev != null)
+				//~[X]...[S]~ => ~[node]-[X]...[S]~
+				node.put(opposite, prev);
 		}
 
 		/**
@@ -1446,53 +1809,27 @@ public interface Nodes {
 		/**
 		 * {@inheritDoc}
 		 *
-		 * @implSpec this implementation will loop forward until reaching a node with
-		 * 		either no node or the sole node after it then return that node.
+		 * @implSpec this implementation delegates to {@link Nodes#tail(Key, Node)}.
 		 * @since 0.0.4 ~2021.05.02
 		 */
 		@NotNull
 		@Contract(pure = true)
 		@Override
 		public Node<V> getLast() {
-			Key key = this.key;
-			Node<V> sole = this.node;
-
-			//forward
-			Node<V> last = sole;
-			while (true) {
-				Node<V> next = last.get(key);
-
-				if (next == null || next == sole)
-					return last;
-
-				last = next;
-			}
+			return Nodes.tail(this.key, this.node);
 		}
 
 		/**
 		 * {@inheritDoc}
 		 *
-		 * @implSpec this implementation will loop backward until reaching a node with
-		 * 		either no node or the sole node before it then return that node.
+		 * @implSpec this implementation delegates to {@link Nodes#head(Key, Node)}.
 		 * @since 0.0.4 ~2021.05.02
 		 */
 		@NotNull
 		@Contract(pure = true)
 		@Override
 		public Node<V> getFirst() {
-			Key opposite = this.key.opposite();
-			Node<V> sole = this.node;
-
-			//backward
-			Node<V> first = sole;
-			while (true) {
-				Node<V> prev = first.get(opposite);
-
-				if (prev == null || prev == sole)
-					return first;
-
-				first = prev;
-			}
+			return Nodes.head(this.key, this.node);
 		}
 
 		/**
@@ -1564,13 +1901,12 @@ public interface Nodes {
 				Node<V> prev;
 				Node<V> next;
 
-				//forward
+				//forward (bounded, the chain might loop)
+				int forward = Nodes.cycle(key, sole).getSize();
 				prev = sole;
 				next = sole;
-				while ((next = next.get(key)) != null) {
-					if (next == sole)
-						//loop detected
-						return false;
+				for (int i = 1; i < forward; i++) {
+					next = next.get(key);
 
 					if (next == object) {
 						//node found!
@@ -1590,17 +1926,16 @@ public interface Nodes {
 					prev = next;
 				}
 
-				//backwards
+				//backwards (bounded, the chain might loop)
+				int backward = Nodes.cycle(opposite, sole).getSize();
 				prev = sole;
 				next = sole;
-				while ((prev = prev.get(opposite)) != null) {
-					if (prev == sole)
-						//loop detect (extra guard)
-						return false;
+				for (int i = 1; i < backward; i++) {
+					prev = prev.get(opposite);
 
 					if (prev == object) {
 						//node found!
-						Node<V> before = next.get(opposite);
+						Node<V> before = prev.get(opposite);
 
 						if (before == null)
 							//end removal
@@ -1641,7 +1976,7 @@ public interface Nodes {
 			Key key = this.key;
 			Node<V> sole = this.node;
 			Node<V> first = this.getFirst();
-			return new NodeIterator<>(key, sole, first);
+			return new NodeIterator<>(key, sole, first, Nodes.cycle(key, first).getSize());
 		}
 
 		@NotNull
@@ -1651,7 +1986,301 @@ public interface Nodes {
 			Key opposite = this.key.opposite();
 			Node<V> sole = this.node;
 			Node<V> last = this.getLast();
-			return new NodeIterator<>(opposite, sole, last);
+			return new NodeIterator<>(opposite, sole, last, Nodes.cycle(opposite, last).getSize());
+		}
+	}
+
+	/**
+	 * The shape of a chain after a specific node with respect to a specific key. As
+	 * detected by {@link Nodes#cycle(Key, Node)}.
+	 * <br>
+	 * The chain has {@link #getOffset() offset} nodes before its cycle and {@link
+	 * #getLength() length} nodes in its cycle. A linear chain has no cycle and all of its
+	 * nodes are before it. A ring starting at the node has no nodes before its cycle.
+	 *
+	 * @param <V> the type of the values of the nodes.
+	 * @author LSafer
+	 * @version 0.0.5
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	final class Cycle<V> {
+		/**
+		 * The first node in the cycle. (null: no cycle)
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Nullable
+		private final Node<V> entry;
+		/**
+		 * The last distinct node.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		private final Node<V> last;
+		/**
+		 * The number of nodes before the cycle.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private final int offset;
+		/**
+		 * The number of nodes in the cycle.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private final int length;
+
+		/**
+		 * Construct a new cycle description.
+		 *
+		 * @param entry  the first node in the cycle. (null: no cycle)
+		 * @param last   the last distinct node.
+		 * @param offset the number of nodes before the cycle.
+		 * @param length the number of nodes in the cycle.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		Cycle(@Nullable Node<V> entry, @NotNull Node<V> last, int offset, int length) {
+			this.entry = entry;
+			this.last = last;
+			this.offset = offset;
+			this.length = length;
+		}
+
+		@NotNull
+		@Override
+		public String toString() {
+			return "Cycle{offset=" + this.offset + ", length=" + this.length + "}";
+		}
+
+		/**
+		 * Return the first node in the cycle. The node the last node links back to.
+		 *
+		 * @return the entry of the cycle. Or {@code null} if the chain has no cycle.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Nullable
+		@Contract(pure = true)
+		public Node<V> getEntry() {
+			return this.entry;
+		}
+
+		/**
+		 * Return the last distinct node. The last node of a linear chain or the node
+		 * before the entry in the cycle.
+		 *
+		 * @return the last distinct node.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		@Contract(pure = true)
+		public Node<V> getLast() {
+			return this.last;
+		}
+
+		/**
+		 * Return the number of nodes before the cycle (the tail length).
+		 *
+		 * @return the number of nodes before the cycle.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Range(from = 0, to = Integer.MAX_VALUE)
+		@Contract(pure = true)
+		public int getOffset() {
+			return this.offset;
+		}
+
+		/**
+		 * Return the number of nodes in the cycle.
+		 *
+		 * @return the length of the cycle. Or {@code 0} if the chain has no cycle.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Range(from = 0, to = Integer.MAX_VALUE)
+		@Contract(pure = true)
+		public int getLength() {
+			return this.length;
+		}
+
+		/**
+		 * Return the number of distinct nodes.
+		 *
+		 * @return the number of distinct nodes.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Range(from = 1, to = Integer.MAX_VALUE)
+		@Contract(pure = true)
+		public int getSize() {
+			return this.offset + this.length;
+		}
+	}
+
+	/**
+	 * A spliterator over the nodes of a chain. Splits by copying batches of nodes from
+	 * its start into arrays. Each batch is larger than the previous one. So, the remaining
+	 * nodes are never copied and the splitting cost is amortized over the nodes.
+	 * <br>
+	 * If the size is known, the spliterator stops after that many nodes.
+	 *
+	 * @param <V> the type of the value of the nodes.
+	 * @author LSafer
+	 * @version 0.0.5
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	class NodeSpliterator<V> implements Spliterator<Node<V>> {
+		/**
+		 * The size of the first batch.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		public static final int BATCH_UNIT = 1 << 10;
+		/**
+		 * The maximum size of a batch.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		public static final int MAX_BATCH = 1 << 25;
+
+		/**
+		 * The key to follow.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		private final Key key;
+		/**
+		 * The node to stop before when reached again. (null: stop at the end only)
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Nullable
+		private final Node<V> fence;
+		/**
+		 * The next node. (null: exhausted)
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Nullable
+		private Node<V> next;
+		/**
+		 * The number of remaining nodes. (negative: unknown)
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private long size;
+		/**
+		 * The size of the next batch.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private int batch;
+
+		/**
+		 * Construct a new spliterator over the nodes from the given {@code first} node
+		 * following the given {@code key} until the end of the chain or reaching the
+		 * given {@code fence}.
+		 *
+		 * @param key   the key to follow.
+		 * @param first the first node. (null: empty)
+		 * @param fence the node to stop before when reached again. (null: stop at the end
+		 *              only)
+		 * @param size  the number of nodes. (negative: unknown)
+		 * @throws NullPointerException if the given {@code key} is null.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		public NodeSpliterator(@NotNull Key key, @Nullable Node<V> first, @Nullable Node<V> fence, long size) {
+			Objects.requireNonNull(key, "key");
+			this.key = key;
+			this.next = first;
+			this.fence = fence;
+			this.size = size;
+		}
+
+		@Override
+		public boolean tryAdvance(@NotNull Consumer<? super Node<V>> action) {
+			Objects.requireNonNull(action, "action");
+			Node<V> next = this.next;
+
+			if (next == null)
+				return false;
+
+			this.next = this.size == 1 ? null : this.after(next);
+			if (this.size > 0)
+				this.size--;
+
+			action.accept(next);
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(@NotNull Consumer<? super Node<V>> action) {
+			Objects.requireNonNull(action, "action");
+			Node<V> next = this.next;
+			long size = this.size;
+			this.next = null;
+			this.size = 0;
+
+			while (next != null) {
+				Node<V> current = next;
+				next = --size == 0 ? null : this.after(current);
+				action.accept(current);
+			}
+		}
+
+		@Nullable
+		@Override
+		public Spliterator<Node<V>> trySplit() {
+			Node<V> next = this.next;
+
+			if (next == null || this.size >= 0 && this.size <= 1)
+				return null;
+
+			int batch = Math.min(this.batch + NodeSpliterator.BATCH_UNIT, NodeSpliterator.MAX_BATCH);
+			if (this.size > 0 && batch > this.size)
+				batch = (int) this.size;
+
+			Object[] array = new Object[batch];
+			int length = 0;
+			do {
+				array[length++] = next;
+			} while ((next = this.after(next)) != null && length < batch);
+
+			this.batch = length;
+			if (this.size > 0)
+				this.size -= length;
+
+			this.next = this.size == 0 ? null : next;
+
+			return Spliterators.spliterator(array, 0, length, Spliterator.ORDERED | Spliterator.NONNULL);
+		}
+
+		@Override
+		public long estimateSize() {
+			if (this.next == null)
+				return 0;
+
+			return this.size < 0 ? Long.MAX_VALUE : this.size;
+		}
+
+		@Override
+		public int characteristics() {
+			int characteristics = Spliterator.ORDERED | Spliterator.NONNULL;
+			return this.size < 0 ? characteristics : characteristics | Spliterator.SIZED | Spliterator.SUBSIZED;
+		}
+
+		/**
+		 * Return the node after the given {@code node}.
+		 *
+		 * @param node the current node.
+		 * @return the node after the given {@code node}. Or null if the end or the fence
+		 * 		was reached.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Nullable
+		@Contract(pure = true)
+		private Node<V> after(@NotNull Node<V> node) {
+			Node<V> after = node.get(this.key);
+			return after == this.fence ? null : after;
 		}
 	}
 
@@ -1678,6 +2307,13 @@ public interface Nodes {
 		 */
 		@NotNull
 		private final Node<V> node;
+		/**
+		 * The first node returned by this iterator. When reached again, a loop occurred.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		private final Node<V> first;
 		/**
 		 * The next node to be returned by {@link #next}. (null: no next)
 		 *
@@ -1692,6 +2328,12 @@ public interface Nodes {
 		 */
 		@Nullable
 		private Node<V> previous;
+		/**
+		 * The number of nodes remaining to be returned.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private long remaining;
 
 		/**
 		 * Construct a new iterator iterating over the nodes after the given {@code node}
@@ -1705,12 +2347,33 @@ public interface Nodes {
 		 * @since 0.0.4 ~2021.05.02
 		 */
 		public NodeIterator(@NotNull Key key, @NotNull Node<V> node, @NotNull Node<V> first) {
+			this(key, node, first, Long.MAX_VALUE);
+		}
+
+		/**
+		 * Construct a new iterator iterating over at most the given number of {@code
+		 * nodes} after the given {@code node} with respect to the given {@code key}.
+		 *
+		 * @param key   the key the constructed iterator will follow.
+		 * @param node  the sole node for the constructed iterator.
+		 * @param first the first node to iterator from.
+		 * @param nodes the maximum number of nodes to iterate over.
+		 * @throws NullPointerException     if the given {@code key} or {@code node} or
+		 *                                  {@code first} is null.
+		 * @throws IllegalArgumentException if the given {@code nodes} is not positive.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		public NodeIterator(@NotNull Key key, @NotNull Node<V> node, @NotNull Node<V> first, @Range(from = 1, to = Long.MAX_VALUE) long nodes) {
 			Objects.requireNonNull(key, "key");
 			Objects.requireNonNull(node, "node");
 			Objects.requireNonNull(first, "first");
+			if (nodes < 1)
+				throw new IllegalArgumentException("nodes: " + nodes);
 			this.key = key;
 			this.node = node;
+			this.first = first;
 			this.next = first;
+			this.remaining = nodes;
 		}
 
 		@Override
@@ -1721,15 +2384,16 @@ public interface Nodes {
 		@Override
 		public Node<V> next() {
 			Key key = this.key;
-			Node<V> sole = this.node;
 			Node<V> next = this.next;
 
 			if (next == null)
 				//end reached
 				throw new NoSuchElementException("next");
 
-			//the sole is always the last item.
-			this.next = next == sole ? null : next.get(key);
+			Node<V> after = next.get(key);
+
+			//the node before the first is always the last item.
+			this.next = after == this.first || --this.remaining == 0 ? null : after;
 			this.previous = next;
 			return next;
 		}
@@ -1745,7 +2409,7 @@ public interface Nodes {
 			if (remove == sole)
 				throw new UnsupportedOperationException("sole");
 
-			Node<V> prev = remove.get(key);
+			Node<V> prev = remove.get(key.opposite());
 			Node<V> next = remove.get(key);
 
 			if (prev != null)
@@ -0,0 +1,593 @@
+/*
+ *	Copyright 2021 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.util;
+
+import cufy.util.Node.Key;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * An immutable graph of nodes addressed by dense {@code int} ids.
+ * <br>
+ * Every mutation returns a new version of the graph and leaves the receiver untouched.
+ * The records of the nodes are stored in a 32-ary trie indexed by the ids. A mutation
+ * only copies the path from the root to the changed records, so the versions share
+ * everything else. Holding a version is a consistent snapshot of the graph and it can
+ * be read from any thread without locking. A version no longer referenced is garbage
+ * collected like any other object.
+ * <br>
+ * The relations follow the same rules as {@link Node#put(Key, Node)}: after {@code
+ * put(a, key, b)}, {@code get(a, key)} is {@code b} and {@code get(b, key.opposite())}
+ * is {@code a}, and any previous relation at either side is removed.
+ * <br>
+ * To share the latest version between threads, use a {@link Holder}.
+ *
+ * @param <V> the type of the values of the nodes.
+ * @author LSafer
+ * @version 0.0.5
+ * @since 0.0.5 ~2026.10.17
+ */
+public final class PersistentNodeGraph<V> {
+	/**
+	 * The number of bits of an index in a trie level.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private static final int BITS = 5;
+	/**
+	 * The number of children of a trie level.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private static final int WIDTH = 1 << PersistentNodeGraph.BITS;
+	/**
+	 * The mask of an index in a trie level.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private static final int MASK = PersistentNodeGraph.WIDTH - 1;
+
+	/**
+	 * The empty graph.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	private static final PersistentNodeGraph<?> EMPTY = new PersistentNodeGraph<>(new Object[PersistentNodeGraph.WIDTH], 0, 0);
+
+	/**
+	 * The root of the trie.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	private final Object[] root;
+	/**
+	 * The shift of the index of the root level. ({@code 0}: the root is a leaf)
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private final int shift;
+	/**
+	 * The number of nodes.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private final int size;
+
+	/**
+	 * Construct a new version.
+	 *
+	 * @param root  the root of the trie.
+	 * @param shift the shift of the root level.
+	 * @param size  the number of nodes.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private PersistentNodeGraph(@NotNull Object[] root, int shift, int size) {
+		this.root = root;
+		this.shift = shift;
+		this.size = size;
+	}
+
+	/**
+	 * Return the empty graph.
+	 *
+	 * @param <V> the type of the values of the nodes.
+	 * @return the empty graph.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(pure = true)
+	public static <V> PersistentNodeGraph<V> empty() {
+		//noinspection unchecked
+		return (PersistentNodeGraph<V>) PersistentNodeGraph.EMPTY;
+	}
+
+	@Override
+	public boolean equals(@Nullable Object object) {
+		return object == this;
+	}
+
+	@Override
+	public int hashCode() {
+		return System.identityHashCode(this);
+	}
+
+	@NotNull
+	@Override
+	public String toString() {
+		return "PersistentNodeGraph{size=" + this.size + "}";
+	}
+
+	/**
+	 * Return the number of nodes in this graph. The ids of the nodes are from {@code 0}
+	 * to the returned number (exclusive).
+	 *
+	 * @return the number of nodes.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = 0, to = Integer.MAX_VALUE)
+	@Contract(pure = true)
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Return a new version with a new node with the given {@code value}. The id of the
+	 * new node is the {@link #size()} of this version.
+	 *
+	 * @param value the value of the new node.
+	 * @return a new version with the new node.
+	 * @throws IllegalStateException if this graph is full.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(value = "_->new", pure = true)
+	public PersistentNodeGraph<V> add(@Nullable V value) {
+		int id = this.size;
+
+		if (id == Integer.MAX_VALUE)
+			throw new IllegalStateException("full");
+
+		Record<V> record = new Record<>(value, Record.NO_KEYS, Record.NO_IDS);
+
+		if (id == 1 << this.shift + PersistentNodeGraph.BITS) {
+			//the root is full, grow a level
+			Object[] root = new Object[PersistentNodeGraph.WIDTH];
+			root[0] = this.root;
+			int shift = this.shift + PersistentNodeGraph.BITS;
+			return new PersistentNodeGraph<>(PersistentNodeGraph.assoc(root, shift, id, record), shift, id + 1);
+		}
+
+		return new PersistentNodeGraph<>(PersistentNodeGraph.assoc(this.root, this.shift, id, record), this.shift, id + 1);
+	}
+
+	/**
+	 * Return the value of the node with the given {@code id}.
+	 *
+	 * @param id the id of the node.
+	 * @return the value of the node.
+	 * @throws IndexOutOfBoundsException if no node has the given {@code id}.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Nullable
+	@Contract(pure = true)
+	public V get(int id) {
+		return this.record(id).value;
+	}
+
+	/**
+	 * Return a new version with the value of the node with the given {@code id} set to
+	 * the given {@code value}.
+	 *
+	 * @param id    the id of the node.
+	 * @param value the new value.
+	 * @return a new version with the value set.
+	 * @throws IndexOutOfBoundsException if no node has the given {@code id}.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(value = "_,_->new", pure = true)
+	public PersistentNodeGraph<V> set(int id, @Nullable V value) {
+		Record<V> record = this.record(id);
+		return this.with(id, new Record<>(value, record.keys, record.ids));
+	}
+
+	/**
+	 * Return the id of the node related to the node with the given {@code id} by the
+	 * given {@code key}.
+	 *
+	 * @param id  the id of the node.
+	 * @param key the key of the relation.
+	 * @return the id of the related node. Or {@code -1} if none.
+	 * @throws NullPointerException      if the given {@code key} is null.
+	 * @throws IndexOutOfBoundsException if no node has the given {@code id}.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = -1, to = Integer.MAX_VALUE)
+	@Contract(pure = true)
+	public int get(int id, @NotNull Key key) {
+		Objects.requireNonNull(key, "key");
+		Record<V> record = this.record(id);
+		int index = record.indexOf(key);
+		return index < 0 ? -1 : record.ids[index];
+	}
+
+	/**
+	 * Return the keys relating the node with the given {@code id} to other nodes.
+	 *
+	 * @param id the id of the node.
+	 * @return an unmodifiable list of the keys of the node.
+	 * @throws IndexOutOfBoundsException if no node has the given {@code id}.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(pure = true)
+	public List<Key> keys(int id) {
+		return Collections.unmodifiableList(Arrays.asList(this.record(id).keys));
+	}
+
+	/**
+	 * Return a new version with the node with the given {@code id} related to the node
+	 * with the given {@code other} id by the given {@code key} (and the other node
+	 * related to it by the opposite of the given {@code key}). The previous relations at
+	 * both sides are removed.
+	 *
+	 * @param id    the id of the node.
+	 * @param key   the key of the relation.
+	 * @param other the id of the other node.
+	 * @return a new version with the relation. Or this version if already related.
+	 * @throws NullPointerException      if the given {@code key} is null.
+	 * @throws IndexOutOfBoundsException if no node has the given {@code id} or the given
+	 *                                   {@code other} id.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(pure = true)
+	public PersistentNodeGraph<V> put(int id, @NotNull Key key, int other) {
+		Objects.requireNonNull(key, "key");
+		this.record(other);
+		Key opposite = key.opposite();
+		int previous = this.get(id, key);
+
+		if (previous == other && this.get(other, opposite) == id)
+			return this;
+
+		PersistentNodeGraph<V> graph = this;
+
+		if (previous >= 0)
+			graph = graph.without(previous, opposite);
+
+		int back = graph.get(other, opposite);
+
+		if (back >= 0)
+			graph = graph.without(back, key);
+
+		graph = graph.with(id, key, other);
+		return graph.with(other, opposite, id);
+	}
+
+	/**
+	 * Return a new version without the relation of the node with the given {@code id} by
+	 * the given {@code key} (at both of its sides).
+	 *
+	 * @param id  the id of the node.
+	 * @param key the key of the relation.
+	 * @return a new version without the relation. Or this version if no such relation.
+	 * @throws NullPointerException      if the given {@code key} is null.
+	 * @throws IndexOutOfBoundsException if no node has the given {@code id}.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(pure = true)
+	public PersistentNodeGraph<V> remove(int id, @NotNull Key key) {
+		int other = this.get(id, key);
+
+		if (other < 0)
+			return this;
+
+		return this.without(id, key).without(other, key.opposite());
+	}
+
+	/**
+	 * Return the record of the node with the given {@code id}.
+	 *
+	 * @param id the id of the node.
+	 * @return the record of the node.
+	 * @throws IndexOutOfBoundsException if no node has the given {@code id}.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(pure = true)
+	private Record<V> record(int id) {
+		if (id < 0 || id >= this.size)
+			throw new IndexOutOfBoundsException("id: " + id);
+
+		Object[] level = this.root;
+		for (int shift = this.shift; shift > 0; shift -= PersistentNodeGraph.BITS)
+			level = (Object[]) level[id >>> shift & PersistentNodeGraph.MASK];
+
+		//noinspection unchecked
+		return (Record<V>) level[id & PersistentNodeGraph.MASK];
+	}
+
+	/**
+	 * Return a new version with the record of the node with the given {@code id}
+	 * replaced with the given {@code record}.
+	 *
+	 * @param id     the id of the node.
+	 * @param record the new record.
+	 * @return a new version with the record replaced.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(value = "_,_->new", pure = true)
+	private PersistentNodeGraph<V> with(int id, @NotNull Record<V> record) {
+		return new PersistentNodeGraph<>(PersistentNodeGraph.assoc(this.root, this.shift, id, record), this.shift, this.size);
+	}
+
+	/**
+	 * Return a new version with the node with the given {@code id} related to the given
+	 * {@code other} id by the given {@code key} (at its side only).
+	 *
+	 * @param id    the id of the node.
+	 * @param key   the key of the relation.
+	 * @param other the id of the other node.
+	 * @return a new version with the relation.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(value = "_,_,_->new", pure = true)
+	private PersistentNodeGraph<V> with(int id, @NotNull Key key, int other) {
+		Record<V> record = this.record(id);
+		int index = record.indexOf(key);
+
+		if (index >= 0) {
+			int[] ids = record.ids.clone();
+			ids[index] = other;
+			return this.with(id, new Record<>(record.value, record.keys, ids));
+		}
+
+		int length = record.keys.length;
+		Key[] keys = Arrays.copyOf(record.keys, length + 1);
+		int[] ids = Arrays.copyOf(record.ids, length + 1);
+		keys[length] = key;
+		ids[length] = other;
+		return this.with(id, new Record<>(record.value, keys, ids));
+	}
+
+	/**
+	 * Return a new version without the relation of the node with the given {@code id} by
+	 * the given {@code key} (at its side only).
+	 *
+	 * @param id  the id of the node.
+	 * @param key the key of the relation.
+	 * @return a new version without the relation. Or this version if no such relation.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(pure = true)
+	private PersistentNodeGraph<V> without(int id, @NotNull Key key) {
+		Record<V> record = this.record(id);
+		int index = record.indexOf(key);
+
+		if (index < 0)
+			return this;
+
+		int length = record.keys.length - 1;
+		Key[] keys = Arrays.copyOf(record.keys, length);
+		int[] ids = Arrays.copyOf(record.ids, length);
+
+		if (index < length) {
+			//move the last to the removed index
+			keys[index] = record.keys[length];
+			ids[index] = record.ids[length];
+		}
+
+		return this.with(id, new Record<>(record.value, keys, ids));
+	}
+
+	/**
+	 * Return a copy of the given trie {@code level} with the record at the given {@code
+	 * id} set to the given {@code record}. Only the path to the record is copied.
+	 *
+	 * @param level  the trie level.
+	 * @param shift  the shift of the given level.
+	 * @param id     the id of the record.
+	 * @param record the record.
+	 * @return a copy of the given level with the record set.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(value = "_,_,_,_->new", pure = true)
+	private static Object[] assoc(@Nullable Object[] level, int shift, int id, @NotNull Record<?> record) {
+		Object[] copy = level == null ? new Object[PersistentNodeGraph.WIDTH] : level.clone();
+
+		if (shift == 0)
+			copy[id & PersistentNodeGraph.MASK] = record;
+		else {
+			int index = id >>> shift & PersistentNodeGraph.MASK;
+			copy[index] = PersistentNodeGraph.assoc((Object[]) copy[index], shift - PersistentNodeGraph.BITS, id, record);
+		}
+
+		return copy;
+	}
+
+	/**
+	 * A mutable reference to the latest version of a graph. The reference can be shared
+	 * between threads. Readers take {@link #snapshot() snapshots} and writers {@link
+	 * #update(UnaryOperator) update} the reference atomically.
+	 *
+	 * @param <V> the type of the values of the nodes.
+	 * @author LSafer
+	 * @version 0.0.5
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public static final class Holder<V> {
+		/**
+		 * The latest version.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		private final AtomicReference<PersistentNodeGraph<V>> reference;
+
+		/**
+		 * Construct a new holder holding the empty graph.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		public Holder() {
+			this.reference = new AtomicReference<>(PersistentNodeGraph.empty());
+		}
+
+		/**
+		 * Construct a new holder holding the given {@code graph}.
+		 *
+		 * @param graph the initial version.
+		 * @throws NullPointerException if the given {@code graph} is null.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		public Holder(@NotNull PersistentNodeGraph<V> graph) {
+			Objects.requireNonNull(graph, "graph");
+			this.reference = new AtomicReference<>(graph);
+		}
+
+		/**
+		 * Return the latest version. The returned version never changes.
+		 *
+		 * @return the latest version.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		@Contract(pure = true)
+		public PersistentNodeGraph<V> snapshot() {
+			return this.reference.get();
+		}
+
+		/**
+		 * Replace the latest version with the result of applying the given {@code
+		 * function} to it. The given {@code function} might be applied multiple times if
+		 * other threads updated this holder meanwhile, so it must be free of side
+		 * effects.
+		 *
+		 * @param function the function computing the next version.
+		 * @return the new latest version.
+		 * @throws NullPointerException if the given {@code function} is null or returned
+		 *                              null.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		@Contract(mutates = "this")
+		public PersistentNodeGraph<V> update(@NotNull UnaryOperator<PersistentNodeGraph<V>> function) {
+			Objects.requireNonNull(function, "function");
+
+			while (true) {
+				PersistentNodeGraph<V> current = this.reference.get();
+				PersistentNodeGraph<V> next = Objects.requireNonNull(function.apply(current), "next");
+
+				if (this.reference.compareAndSet(current, next))
+					return next;
+			}
+		}
+	}
+
+	/**
+	 * The immutable record of a node.
+	 *
+	 * @param <V> the type of the value of the node.
+	 * @author LSafer
+	 * @version 0.0.5
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private static final class Record<V> {
+		/**
+		 * No keys.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		private static final Key[] NO_KEYS = new Key[0];
+		/**
+		 * No ids.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		private static final int[] NO_IDS = new int[0];
+
+		/**
+		 * The value of the node.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Nullable
+		private final V value;
+		/**
+		 * The keys of the relations of the node.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		private final Key[] keys;
+		/**
+		 * The ids of the related nodes. Indexed the same as {@link #keys}.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		private final int[] ids;
+
+		/**
+		 * Construct a new record.
+		 *
+		 * @param value the value of the node.
+		 * @param keys  the keys of the relations.
+		 * @param ids   the ids of the related nodes.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private Record(@Nullable V value, @NotNull Key[] keys, @NotNull int[] ids) {
+			this.value = value;
+			this.keys = keys;
+			this.ids = ids;
+		}
+
+		/**
+		 * Return the index of the given {@code key} in this record.
+		 *
+		 * @param key the key to look for.
+		 * @return the index of the key. Or {@code -1} if not found.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Contract(pure = true)
+		private int indexOf(@NotNull Key key) {
+			Key[] keys = this.keys;
+			for (int i = 0; i < keys.length; i++)
+				if (keys[i] == key)
+					return i;
+			for (int i = 0; i < keys.length; i++)
+				if (keys[i].equals(key))
+					return i;
+			return -1;
+		}
+	}
+}
@@ -0,0 +1,388 @@
+/*
+ *	Copyright 2021 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.util.arena;
+
+import cufy.util.Node.Key;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A node arena stored in a memory-mapped file.
+ * <br>
+ * Opening a graph file only reads its header. The chunks are mapped when first
+ * accessed, and the nodes are views over the mapped regions. So, opening a graph takes
+ * the same time no matter how large it is. Mutations are written to the mapped regions
+ * directly and reach the file when the operating system writes them back, or when
+ * {@link #force()} is called.
+ * <div style="padding: 10px">
+ *     <h3>File Format</h3>
+ *     All the numbers are big-endian.
+ *     <ul>
+ *         <li>{@code int} magic {@code 0x43554659}</li>
+ *         <li>{@code int} version {@code 1}</li>
+ *         <li>{@code int} the size of the header in bytes</li>
+ *         <li>{@code int} the base-2 logarithm of the number of records in a chunk</li>
+ *         <li>{@code int} the size of an encoded value in bytes</li>
+ *         <li>{@code int} the number of keys</li>
+ *         <li>{@code int} the number of nodes</li>
+ *         <li>{@code int} reserved</li>
+ *         <li>for each key: {@code int} the length of its name followed by its name in
+ *         UTF-8. The name of a key is its {@link Key#toString()}</li>
+ *         <li>padding to a multiple of {@code 8}</li>
+ *         <li>the chunks. Each chunk is {@code 1 << chunkShift} records as described in
+ *         {@link NodeArena}</li>
+ *     </ul>
+ * </div>
+ * A graph file can only be opened with a codec of the same size and keys with the same
+ * names in the same order as the ones it was created with.
+ *
+ * @param <V> the type of the values of the nodes.
+ * @author LSafer
+ * @version 0.0.5
+ * @since 0.0.5 ~2026.10.17
+ */
+public class MappedNodeGraph<V> extends NodeArena<V> {
+	/**
+	 * The magic number at the start of every graph file.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public static final int MAGIC = 0x43554659;
+	/**
+	 * The version of the format written by this class.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public static final int VERSION = 1;
+
+	/**
+	 * The size of the fixed part of the header.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private static final int FIXED_HEADER = 32;
+	/**
+	 * The position of the number of nodes in the header.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private static final int SIZE_POSITION = 24;
+
+	/**
+	 * The channel of the graph file.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	protected final FileChannel channel;
+	/**
+	 * The mapped header of the graph file.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	protected final MappedByteBuffer header;
+	/**
+	 * The size of the header in bytes. The chunks start right after it.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	protected final int headerSize;
+
+	/**
+	 * The chunks mapped so far.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	private final List<MappedByteBuffer> mapped = new ArrayList<>();
+
+	/**
+	 * An internal constructor opening a graph over the given {@code channel}. The caller
+	 * is responsible for closing the given {@code channel} if this constructor fails.
+	 *
+	 * @param channel    the channel of the graph file.
+	 * @param codec      the codec of the values of the nodes.
+	 * @param chunkShift the chunk shift of the file.
+	 * @param keys       the keys the nodes can be linked with.
+	 * @throws IOException if an I/O error occurs; if the file is not compatible.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private MappedNodeGraph(@NotNull FileChannel channel, @NotNull Codec<V> codec, int chunkShift, Key @NotNull ... keys) throws IOException {
+		super(codec, chunkShift, keys);
+		this.channel = channel;
+
+		byte[][] names = new byte[this.keys.length][];
+		int headerSize = MappedNodeGraph.FIXED_HEADER;
+		for (int i = 0; i < names.length; i++) {
+			names[i] = this.keys[i].toString().getBytes(StandardCharsets.UTF_8);
+			headerSize += Integer.BYTES + names[i].length;
+		}
+		headerSize = headerSize + 7 & ~7;
+
+		if (channel.size() == 0) {
+			this.headerSize = headerSize;
+			this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, headerSize);
+			this.header.putInt(MappedNodeGraph.MAGIC)
+					   .putInt(MappedNodeGraph.VERSION)
+					   .putInt(headerSize)
+					   .putInt(this.chunkShift)
+					   .putInt(codec.size())
+					   .putInt(names.length)
+					   .putInt(0)
+					   .putInt(0);
+			for (byte[] name : names)
+				this.header.putInt(name.length).put(name);
+			this.header.force();
+		} else {
+			this.headerSize = MappedNodeGraph.readInt(channel, 8);
+			if (this.headerSize != headerSize || channel.size() < headerSize)
+				throw new IOException("Incompatible keys");
+
+			this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, headerSize);
+			if (this.header.getInt(16) != codec.size())
+				throw new IOException("Incompatible codec size: " + this.header.getInt(16));
+			if (this.header.getInt(20) != names.length)
+				throw new IOException("Incompatible keys");
+
+			this.header.position(MappedNodeGraph.FIXED_HEADER);
+			for (byte[] name : names) {
+				byte[] n = new byte[this.header.getInt()];
+				if (n.length != name.length)
+					throw new IOException("Incompatible keys");
+				this.header.get(n);
+				if (!Arrays.equals(n, name))
+					throw new IOException("Incompatible key: " + new String(n, StandardCharsets.UTF_8));
+			}
+
+			this.restore(this.header.getInt(MappedNodeGraph.SIZE_POSITION));
+		}
+	}
+
+	/**
+	 * Write the number of nodes to the header and force all the changes made to the
+	 * mapped regions to be written to the file.
+	 *
+	 * @throws IllegalStateException if this graph is closed.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "this")
+	public void force() {
+		if (this.isClosed())
+			throw new IllegalStateException("closed");
+
+		for (MappedByteBuffer chunk : this.mapped)
+			chunk.force();
+
+		this.header.putInt(MappedNodeGraph.SIZE_POSITION, this.size());
+		this.header.force();
+	}
+
+	/**
+	 * Force all the changes to the file, then drop the mapped regions and close the
+	 * file. The regions are unmapped when the garbage collector collects them.
+	 *
+	 * @throws UncheckedIOException if an I/O error occurs while closing the file.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Override
+	public void close() {
+		if (this.isClosed())
+			return;
+
+		this.force();
+		this.mapped.clear();
+		super.close();
+
+		try {
+			this.channel.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Map the chunk with the given {@code index}. The file is extended if the chunk is
+	 * beyond its end.
+	 *
+	 * @param index    the index of the chunk.
+	 * @param capacity the capacity of the chunk in bytes.
+	 * @return the mapped region of the chunk.
+	 * @throws UncheckedIOException if an I/O error occurs.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Override
+	protected ByteBuffer allocate(@Range(from = 0, to = Integer.MAX_VALUE) int index, @Range(from = 0, to = Integer.MAX_VALUE) int capacity) {
+		try {
+			long position = this.headerSize + (long) index * capacity;
+			MappedByteBuffer chunk = this.channel.map(FileChannel.MapMode.READ_WRITE, position, capacity);
+			this.mapped.add(chunk);
+			return chunk;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Open the graph file at the given {@code path}. Creating it if it does not exist.
+	 *
+	 * @param path  the path of the graph file.
+	 * @param codec the codec of the values of the nodes.
+	 * @param keys  the keys the nodes can be linked with.
+	 * @param <V>   the type of the values of the nodes.
+	 * @return the opened graph.
+	 * @throws NullPointerException if the given {@code path} or {@code codec} or {@code
+	 *                              keys} is null.
+	 * @throws IOException          if an I/O error occurs; if the file is not a graph
+	 *                              file; if the file was created with a different codec
+	 *                              size or different keys.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(value = "_,_,_->new")
+	public static <V> MappedNodeGraph<V> open(@NotNull Path path, @NotNull Codec<V> codec, Key @NotNull ... keys) throws IOException {
+		return MappedNodeGraph.openFile(path, codec, -1, keys);
+	}
+
+	/**
+	 * Open the graph file at the given {@code path}. Creating it with chunks of {@code 1
+	 * << chunkShift} records if it does not exist.
+	 *
+	 * @param path       the path of the graph file.
+	 * @param codec      the codec of the values of the nodes.
+	 * @param chunkShift the base-2 logarithm of the number of records in a chunk.
+	 * @param keys       the keys the nodes can be linked with.
+	 * @param <V>        the type of the values of the nodes.
+	 * @return the opened graph.
+	 * @throws NullPointerException     if the given {@code path} or {@code codec} or
+	 *                                  {@code keys} is null.
+	 * @throws IllegalArgumentException if the given {@code chunkShift} is negative; if a
+	 *                                  chunk will exceed {@link Integer#MAX_VALUE}
+	 *                                  bytes.
+	 * @throws IOException              if an I/O error occurs; if the file is not a
+	 *                                  graph file; if the file was created with a
+	 *                                  different chunk size, codec size or keys.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(value = "_,_,_,_->new")
+	public static <V> MappedNodeGraph<V> open(@NotNull Path path, @NotNull Codec<V> codec, @Range(from = 0, to = 30) int chunkShift, Key @NotNull ... keys) throws IOException {
+		if (chunkShift < 0 || chunkShift > 30)
+			throw new IllegalArgumentException("chunkShift: " + chunkShift);
+
+		return MappedNodeGraph.openFile(path, codec, chunkShift, keys);
+	}
+
+	/**
+	 * Open the graph file at the given {@code path}. The arguments are validated before
+	 * opening the file and the file is closed if opening the graph fails.
+	 *
+	 * @param path       the path of the graph file.
+	 * @param codec      the codec of the values of the nodes.
+	 * @param chunkShift the requested chunk shift. Or {@code -1} for the one in the file
+	 *                   or the default.
+	 * @param keys       the keys the nodes can be linked with.
+	 * @param <V>        the type of the values of the nodes.
+	 * @return the opened graph.
+	 * @throws IOException if an I/O error occurs; if the file is not compatible.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	private static <V> MappedNodeGraph<V> openFile(@NotNull Path path, @NotNull Codec<V> codec, int chunkShift, Key @NotNull ... keys) throws IOException {
+		Objects.requireNonNull(path, "path");
+		Objects.requireNonNull(codec, "codec");
+		Objects.requireNonNull(keys, "keys");
+		FileChannel channel = FileChannel.open(
+				path,
+				StandardOpenOption.READ,
+				StandardOpenOption.WRITE,
+				StandardOpenOption.CREATE
+		);
+
+		try {
+			return new MappedNodeGraph<>(channel, codec, MappedNodeGraph.chunkShift(channel, chunkShift), keys);
+		} catch (IOException | RuntimeException e) {
+			try {
+				channel.close();
+			} catch (IOException suppressed) {
+				e.addSuppressed(suppressed);
+			}
+
+			throw e;
+		}
+	}
+
+	/**
+	 * Return the chunk shift to be used for the file of the given {@code channel}.
+	 *
+	 * @param channel    the channel of the graph file.
+	 * @param chunkShift the requested chunk shift. Or {@code -1} for the one in the file
+	 *                   or the default.
+	 * @return the chunk shift to be used.
+	 * @throws IOException if an I/O error occurs; if the file is not a graph file; if
+	 *                     the file has a different chunk shift than the requested one.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private static int chunkShift(@NotNull FileChannel channel, int chunkShift) throws IOException {
+		if (channel.size() == 0)
+			return chunkShift < 0 ? NodeArena.DEFAULT_CHUNK_SHIFT : chunkShift;
+		if (channel.size() < MappedNodeGraph.FIXED_HEADER ||
+			MappedNodeGraph.readInt(channel, 0) != MappedNodeGraph.MAGIC)
+			throw new IOException("Not a graph file");
+		if (MappedNodeGraph.readInt(channel, 4) != MappedNodeGraph.VERSION)
+			throw new IOException("Unsupported version: " + MappedNodeGraph.readInt(channel, 4));
+
+		int shift = MappedNodeGraph.readInt(channel, 12);
+
+		if (chunkShift >= 0 && chunkShift != shift)
+			throw new IOException("Incompatible chunk shift: " + shift);
+
+		return shift;
+	}
+
+	/**
+	 * Read the {@code int} at the given {@code position} in the file of the given {@code
+	 * channel}.
+	 *
+	 * @param channel  the channel to read from.
+	 * @param position the position of the int.
+	 * @return the read int.
+	 * @throws IOException if an I/O error occurs; if the file ended before the int.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private static int readInt(@NotNull FileChannel channel, long position) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES);
+		while (buffer.hasRemaining())
+			if (channel.read(buffer, position + buffer.position()) < 0)
+				throw new IOException("Unexpected end of file");
+		return buffer.getInt(0);
+	}
+}
@@ -0,0 +1,1246 @@
+/*
+ *	Copyright 2021 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.util.arena;
+
+import cufy.util.AbstractNode;
+import cufy.util.Node;
+import cufy.util.Node.Key;
+import cufy.util.Node.Link;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.io.Closeable;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.*;
+
+/**
+ * A graph store that keeps the values and the links of its nodes in chunks of direct
+ * {@link ByteBuffer}s outside the java heap.
+ * <br>
+ * Each node is a fixed size record addressed by a dense {@code int} id. The record
+ * contains the value of the node (encoded by a {@link Codec}) followed by one {@code
+ * int} slot for each key of the arena holding the id of the node on the other side.
+ * <br>
+ * The nodes of an arena are exposed as lightweight {@link Node} views. The view of an
+ * id is created on demand and held weakly. So, the heap only holds the views still in
+ * use, and a view in use is always the same object for its id (the nodes can be
+ * compared by identity like any other node).
+ * <br>
+ * The links of a node are views of its slots, created on demand. Unlike the links of
+ * the heap nodes, two link views of the same node and key are equal but not the same
+ * object, and a link view keeps viewing its slot after the slot is relinked (it does
+ * not become detached). The opposite of a link view is created once, so {@code
+ * link.getOpposite().getOpposite() == link}. The nodes of an arena can only be linked to the nodes of the
+ * same arena and only with the keys of the arena.
+ * <br>
+ * Closing an arena drops all its chunks at once. The memory of a chunk is released
+ * when the garbage collector collects its buffer. Using an arena (or any of its nodes)
+ * after closing it will throw an {@link IllegalStateException}.
+ * <br>
+ * Arenas are not thread safe.
+ *
+ * @param <V> the type of the values of the nodes.
+ * @author LSafer
+ * @version 0.0.5
+ * @since 0.0.5 ~2026.10.17
+ */
+public class NodeArena<V> implements Closeable {
+	/**
+	 * The default base-2 logarithm of the number of records in a chunk.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public static final int DEFAULT_CHUNK_SHIFT = 14;
+
+	/**
+	 * The codec of the values of the nodes.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	protected final Codec<V> codec;
+	/**
+	 * The keys of this arena. Indexed by their slots.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	protected final Key[] keys;
+	/**
+	 * The slots of the opposites of the keys of this arena. Indexed by the slots of the
+	 * keys.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	protected final int[] opposites;
+	/**
+	 * The size of a record in bytes.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	protected final int recordSize;
+	/**
+	 * The base-2 logarithm of the number of records in a chunk.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	protected final int chunkShift;
+
+	/**
+	 * The chunks of this arena. Allocated on demand. (null: closed)
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Nullable
+	private ByteBuffer[] chunks;
+	/**
+	 * The node views in use. (null: closed)
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Nullable
+	private ViewCache views;
+	/**
+	 * The number of nodes in this arena.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private int size;
+
+	/**
+	 * Construct a new arena with the given {@code codec} and {@code keys}.
+	 * <br>
+	 * The opposites of the given {@code keys} are added to the arena if not given.
+	 *
+	 * @param codec the codec of the values of the nodes.
+	 * @param keys  the keys the nodes of the constructed arena can be linked with.
+	 * @throws NullPointerException if the given {@code codec} or {@code keys} is null.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public NodeArena(@NotNull Codec<V> codec, Key @NotNull ... keys) {
+		this(codec, NodeArena.DEFAULT_CHUNK_SHIFT, keys);
+	}
+
+	/**
+	 * Construct a new arena with the given {@code codec} and {@code keys} with chunks of
+	 * {@code 1 << chunkShift} records.
+	 * <br>
+	 * The opposites of the given {@code keys} are added to the arena if not given.
+	 *
+	 * @param codec      the codec of the values of the nodes.
+	 * @param chunkShift the base-2 logarithm of the number of records in a chunk.
+	 * @param keys       the keys the nodes of the constructed arena can be linked with.
+	 * @throws NullPointerException     if the given {@code codec} or {@code keys} is
+	 *                                  null.
+	 * @throws IllegalArgumentException if the given {@code chunkShift} is negative; if a
+	 *                                  chunk will exceed {@link Integer#MAX_VALUE}
+	 *                                  bytes.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public NodeArena(@NotNull Codec<V> codec, @Range(from = 0, to = 30) int chunkShift, Key @NotNull ... keys) {
+		Objects.requireNonNull(codec, "codec");
+		Objects.requireNonNull(keys, "keys");
+		if (chunkShift < 0 || chunkShift > 30)
+			throw new IllegalArgumentException("chunkShift: " + chunkShift);
+
+		List<Key> list = new ArrayList<>(keys.length << 1);
+		for (Key key : keys) {
+			Objects.requireNonNull(key, "key");
+			if (!list.contains(key))
+				list.add(key);
+		}
+		for (int i = 0, l = list.size(); i < l; i++) {
+			Key opposite = Objects.requireNonNull(list.get(i).opposite(), "opposite");
+			if (!list.contains(opposite))
+				list.add(opposite);
+		}
+
+		this.codec = codec;
+		this.keys = list.toArray(new Key[0]);
+		this.opposites = new int[this.keys.length];
+		for (int i = 0; i < this.keys.length; i++)
+			this.opposites[i] = list.indexOf(this.keys[i].opposite());
+
+		this.recordSize = codec.size() + (this.keys.length << 2);
+		this.chunkShift = chunkShift;
+
+		if ((long) this.recordSize << chunkShift > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Chunk too large: " + this.recordSize + " << " + chunkShift);
+
+		this.chunks = new ByteBuffer[1];
+		this.views = new ViewCache();
+	}
+
+	/**
+	 * Drop all the chunks of this arena. After this, using this arena or any node of it
+	 * will throw an {@link IllegalStateException}.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Override
+	public void close() {
+		this.chunks = null;
+		this.views = null;
+	}
+
+	/**
+	 * Return the id of the given {@code node}.
+	 *
+	 * @param node the node to get its id.
+	 * @return the id of the given {@code node}.
+	 * @throws NullPointerException     if the given {@code node} is null.
+	 * @throws IllegalArgumentException if the given {@code node} is not a node of this
+	 *                                  arena.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = 0, to = Integer.MAX_VALUE)
+	@Contract(pure = true)
+	public int id(@NotNull Node<V> node) {
+		Objects.requireNonNull(node, "node");
+		if (!(node instanceof NodeArena.ArenaNode) || ((NodeArena<?>.ArenaNode) node).arena() != this)
+			throw new IllegalArgumentException("Foreign node: " + node);
+
+		return ((NodeArena<?>.ArenaNode) node).id;
+	}
+
+	/**
+	 * Return the slot of the given {@code key} in this arena.
+	 *
+	 * @param key the key to get its slot.
+	 * @return the slot of the given {@code key}. Or {@code -1} if the given {@code key}
+	 * 		is not a key of this arena.
+	 * @throws NullPointerException if the given {@code key} is null.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = -1, to = Integer.MAX_VALUE)
+	@Contract(pure = true)
+	public int slot(@NotNull Key key) {
+		Objects.requireNonNull(key, "key");
+		Key[] keys = this.keys;
+		for (int i = 0; i < keys.length; i++)
+			if (keys[i] == key)
+				return i;
+		for (int i = 0; i < keys.length; i++)
+			if (keys[i].equals(key))
+				return i;
+		return -1;
+	}
+
+	/**
+	 * Return a list of the keys of this arena. Indexed by their slots.
+	 *
+	 * @return an unmodifiable list of the keys of this arena.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(pure = true)
+	public List<Key> keys() {
+		return Collections.unmodifiableList(Arrays.asList(this.keys));
+	}
+
+	/**
+	 * Return the number of nodes in this arena.
+	 *
+	 * @return the number of nodes in this arena.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = 0, to = Integer.MAX_VALUE)
+	@Contract(pure = true)
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Allocate a new node with its value initialized to {@code null}.
+	 *
+	 * @return the view of the allocated node.
+	 * @throws IllegalStateException if this arena is closed; if this arena is full.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(mutates = "this")
+	public Node<V> newNode() {
+		return this.node(this.allocate());
+	}
+
+	/**
+	 * Allocate a new node with its value initialized to the given {@code value}.
+	 *
+	 * @param value the initial value of the allocated node.
+	 * @return the view of the allocated node.
+	 * @throws IllegalStateException if this arena is closed; if this arena is full.
+	 * @throws NullPointerException  if the codec of this arena does not support {@code
+	 *                               null} and the given {@code value} is null.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(mutates = "this")
+	public Node<V> newNode(@Nullable V value) {
+		int id = this.allocate();
+		this.setValue(id, value);
+		return this.node(id);
+	}
+
+	/**
+	 * Return the view of the node with the given {@code id}.
+	 *
+	 * @param id the id of the node.
+	 * @return the view of the node with the given {@code id}.
+	 * @throws IllegalStateException     if this arena is closed.
+	 * @throws IndexOutOfBoundsException if no node has the given {@code id}.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(pure = true)
+	public Node<V> node(int id) {
+		this.check(id);
+		ViewCache views = this.views;
+
+		//noinspection ConstantConditions,unchecked
+		Node<V> node = (Node<V>) views.get(id);
+
+		if (node == null)
+			views.put(id, node = new ArenaNode(id));
+
+		return node;
+	}
+
+	/**
+	 * Return the value of the node with the given {@code id}.
+	 *
+	 * @param id the id of the node.
+	 * @return the value of the node.
+	 * @throws IllegalStateException     if this arena is closed.
+	 * @throws IndexOutOfBoundsException if no node has the given {@code id}.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Nullable
+	@Contract(pure = true)
+	public V getValue(int id) {
+		this.check(id);
+		return this.codec.read(this.chunk(id), this.offset(id));
+	}
+
+	/**
+	 * Set the value of the node with the given {@code id} to the given {@code value}.
+	 *
+	 * @param id    the id of the node.
+	 * @param value the new value.
+	 * @throws IllegalStateException     if this arena is closed.
+	 * @throws IndexOutOfBoundsException if no node has the given {@code id}.
+	 * @throws NullPointerException      if the codec of this arena does not support
+	 *                                   {@code null} and the given {@code value} is
+	 *                                   null.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "this")
+	public void setValue(int id, @Nullable V value) {
+		this.check(id);
+		this.codec.write(this.chunk(id), this.offset(id), value);
+	}
+
+	/**
+	 * Return the id of the node linked to the node with the given {@code id} at the given
+	 * {@code slot}.
+	 *
+	 * @param id   the id of the node.
+	 * @param slot the slot of the key.
+	 * @return the id of the linked node. Or {@code -1} if no node is linked.
+	 * @throws IllegalStateException     if this arena is closed.
+	 * @throws IndexOutOfBoundsException if no node has the given {@code id}; if no key
+	 *                                   has the given {@code slot}.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = -1, to = Integer.MAX_VALUE)
+	@Contract(pure = true)
+	public int neighbour(int id, int slot) {
+		this.check(id);
+		if (slot < 0 || slot >= this.keys.length)
+			throw new IndexOutOfBoundsException("slot: " + slot);
+
+		return this.read(id, slot);
+	}
+
+	/**
+	 * Link the node with the given {@code id} at the given {@code slot} to the node with
+	 * the given {@code other} id at the opposite slot. Any previous link at either side
+	 * is removed (from both of its sides).
+	 *
+	 * @param id    the id of the node.
+	 * @param slot  the slot of the key.
+	 * @param other the id of the other node.
+	 * @return the id of the node previously linked to the node with the given {@code id}
+	 * 		at the given {@code slot}. Or {@code -1} if none.
+	 * @throws IllegalStateException     if this arena is closed.
+	 * @throws IndexOutOfBoundsException if no node has the given {@code id} or the given
+	 *                                   {@code other} id; if no key has the given {@code
+	 *                                   slot}.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = -1, to = Integer.MAX_VALUE)
+	@Contract(mutates = "this")
+	public int link(int id, int slot, int other) {
+		int previous = this.neighbour(id, slot);
+		this.check(other);
+		int opposite = this.opposites[slot];
+
+		if (previous >= 0)
+			this.write(previous, opposite, -1);
+
+		int back = this.read(other, opposite);
+
+		if (back >= 0)
+			this.write(back, slot, -1);
+
+		this.write(id, slot, other);
+		this.write(other, opposite, id);
+		return previous;
+	}
+
+	/**
+	 * Remove the link of the node with the given {@code id} at the given {@code slot}
+	 * (from both of its sides).
+	 *
+	 * @param id   the id of the node.
+	 * @param slot the slot of the key.
+	 * @return the id of the node previously linked. Or {@code -1} if none.
+	 * @throws IllegalStateException     if this arena is closed.
+	 * @throws IndexOutOfBoundsException if no node has the given {@code id}; if no key
+	 *                                   has the given {@code slot}.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = -1, to = Integer.MAX_VALUE)
+	@Contract(mutates = "this")
+	public int unlink(int id, int slot) {
+		int previous = this.neighbour(id, slot);
+
+		if (previous >= 0) {
+			this.write(id, slot, -1);
+			this.write(previous, this.opposites[slot], -1);
+		}
+
+		return previous;
+	}
+
+	/**
+	 * Allocate a chunk with the given {@code index} and {@code capacity}.
+	 * <br>
+	 * The returned buffer must be zeroed (or restored from a previous run) and must have
+	 * at least the given {@code capacity}. By default, a direct buffer with the native
+	 * byte order is allocated.
+	 *
+	 * @param index    the index of the chunk.
+	 * @param capacity the capacity of the chunk in bytes.
+	 * @return a buffer for the chunk.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(value = "_,_->new", pure = true)
+	protected ByteBuffer allocate(@Range(from = 0, to = Integer.MAX_VALUE) int index, @Range(from = 0, to = Integer.MAX_VALUE) int capacity) {
+		return ByteBuffer.allocateDirect(capacity)
+						 .order(ByteOrder.nativeOrder());
+	}
+
+	/**
+	 * Set the number of nodes of this arena. Used by subclasses restoring an arena.
+	 *
+	 * @param size the new size.
+	 * @throws IllegalArgumentException if the given {@code size} is negative.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "this")
+	protected void restore(@Range(from = 0, to = Integer.MAX_VALUE) int size) {
+		if (size < 0)
+			throw new IllegalArgumentException("size: " + size);
+
+		this.size = size;
+	}
+
+	/**
+	 * Return whether this arena is closed.
+	 *
+	 * @return true, if this arena is closed.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(pure = true)
+	protected boolean isClosed() {
+		return this.chunks == null;
+	}
+
+	/**
+	 * Allocate a new record.
+	 *
+	 * @return the id of the new record.
+	 * @throws IllegalStateException if this arena is closed; if this arena is full.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = 0, to = Integer.MAX_VALUE)
+	@Contract(mutates = "this")
+	private int allocate() {
+		if (this.chunks == null)
+			throw new IllegalStateException("closed");
+		if (this.size == Integer.MAX_VALUE)
+			throw new IllegalStateException("full");
+
+		int id = this.size++;
+		//make sure the chunk is there
+		this.chunk(id);
+		return id;
+	}
+
+	/**
+	 * Check that this arena is not closed and that a node has the given {@code id}.
+	 *
+	 * @param id the id to be checked.
+	 * @throws IllegalStateException     if this arena is closed.
+	 * @throws IndexOutOfBoundsException if no node has the given {@code id}.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(pure = true)
+	private void check(int id) {
+		if (this.chunks == null)
+			throw new IllegalStateException("closed");
+		if (id < 0 || id >= this.size)
+			throw new IndexOutOfBoundsException("id: " + id);
+	}
+
+	/**
+	 * Return the chunk containing the record with the given {@code id}. Allocating it if
+	 * not allocated yet.
+	 *
+	 * @param id the id of the record.
+	 * @return the chunk containing the record.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(mutates = "this")
+	private ByteBuffer chunk(int id) {
+		int index = id >>> this.chunkShift;
+		ByteBuffer[] chunks = this.chunks;
+
+		//noinspection ConstantConditions
+		if (index >= chunks.length) {
+			int length = Math.max(index + 1, chunks.length << 1);
+			chunks = this.chunks = Arrays.copyOf(chunks, length);
+		}
+
+		ByteBuffer chunk = chunks[index];
+
+		if (chunk == null)
+			chunk = chunks[index] = this.allocate(index, this.recordSize << this.chunkShift);
+
+		return chunk;
+	}
+
+	/**
+	 * Return the offset of the record with the given {@code id} in its chunk.
+	 *
+	 * @param id the id of the record.
+	 * @return the offset of the record.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(pure = true)
+	private int offset(int id) {
+		return (id & (1 << this.chunkShift) - 1) * this.recordSize;
+	}
+
+	/**
+	 * Read the given {@code slot} of the record with the given {@code id}.
+	 *
+	 * @param id   the id of the record.
+	 * @param slot the slot to be read.
+	 * @return the id stored at the slot. Or {@code -1} if empty.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(pure = true)
+	private int read(int id, int slot) {
+		//stored shifted by one, so a zeroed chunk has no links
+		return this.chunk(id).getInt(this.offset(id) + this.codec.size() + (slot << 2)) - 1;
+	}
+
+	/**
+	 * Write the given {@code other} id to the given {@code slot} of the record with the
+	 * given {@code id}.
+	 *
+	 * @param id    the id of the record.
+	 * @param slot  the slot to be written.
+	 * @param other the id to be stored. Or {@code -1} to empty the slot.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "this")
+	private void write(int id, int slot, int other) {
+		this.chunk(id).putInt(this.offset(id) + this.codec.size() + (slot << 2), other + 1);
+	}
+
+	/**
+	 * Encodes and decodes the values of the nodes of an arena into fixed size records.
+	 *
+	 * @param <V> the type of the values.
+	 * @author LSafer
+	 * @version 0.0.5
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public interface Codec<V> {
+		/**
+		 * A codec storing {@code int} values. Rejecting {@code null}.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		Codec<Integer> INT = new Codec<Integer>() {
+			@Override
+			public int size() {
+				return Integer.BYTES;
+			}
+
+			@NotNull
+			@Override
+			public Integer read(@NotNull ByteBuffer buffer, int offset) {
+				return buffer.getInt(offset);
+			}
+
+			@Override
+			public void write(@NotNull ByteBuffer buffer, int offset, @Nullable Integer value) {
+				Objects.requireNonNull(value, "value");
+				buffer.putInt(offset, value);
+			}
+		};
+		/**
+		 * A codec storing {@code long} values. Rejecting {@code null}.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		Codec<Long> LONG = new Codec<Long>() {
+			@Override
+			public int size() {
+				return Long.BYTES;
+			}
+
+			@NotNull
+			@Override
+			public Long read(@NotNull ByteBuffer buffer, int offset) {
+				return buffer.getLong(offset);
+			}
+
+			@Override
+			public void write(@NotNull ByteBuffer buffer, int offset, @Nullable Long value) {
+				Objects.requireNonNull(value, "value");
+				buffer.putLong(offset, value);
+			}
+		};
+		/**
+		 * A codec storing {@code double} values. Rejecting {@code null}.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		Codec<Double> DOUBLE = new Codec<Double>() {
+			@Override
+			public int size() {
+				return Double.BYTES;
+			}
+
+			@NotNull
+			@Override
+			public Double read(@NotNull ByteBuffer buffer, int offset) {
+				return buffer.getDouble(offset);
+			}
+
+			@Override
+			public void write(@NotNull ByteBuffer buffer, int offset, @Nullable Double value) {
+				Objects.requireNonNull(value, "value");
+				buffer.putDouble(offset, value);
+			}
+		};
+
+		/**
+		 * Return the number of bytes a value takes.
+		 *
+		 * @return the size of an encoded value.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Range(from = 0, to = Integer.MAX_VALUE)
+		@Contract(pure = true)
+		int size();
+
+		/**
+		 * Decode the value at the given {@code offset} in the given {@code buffer}.
+		 * <br>
+		 * A zeroed region is a valid input and must decode to the default value.
+		 *
+		 * @param buffer the buffer to read from.
+		 * @param offset the offset of the value.
+		 * @return the decoded value.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Nullable
+		@Contract(pure = true)
+		V read(@NotNull ByteBuffer buffer, int offset);
+
+		/**
+		 * Encode the given {@code value} at the given {@code offset} in the given {@code
+		 * buffer}. Must not write more than {@link #size()} bytes.
+		 *
+		 * @param buffer the buffer to write to.
+		 * @param offset the offset of the value.
+		 * @param value  the value to be encoded.
+		 * @throws NullPointerException     if this codec does not support {@code null}
+		 *                                  and the given {@code value} is null.
+		 * @throws IllegalArgumentException if this codec cannot encode the given {@code
+		 *                                  value}.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Contract(mutates = "param1")
+		void write(@NotNull ByteBuffer buffer, int offset, @Nullable V value);
+	}
+
+	/**
+	 * The view of a node of an arena.
+	 *
+	 * @author LSafer
+	 * @version 0.0.5
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@SuppressWarnings("ClassHasNoToStringMethod")
+	protected class ArenaNode extends AbstractNode<V> {
+		/**
+		 * The id of the node.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		protected final int id;
+
+		/**
+		 * The link set view of this node.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Nullable
+		private Set<Link<V>> linkSet;
+
+		/**
+		 * Construct a new view of the node with the given {@code id}.
+		 *
+		 * @param id the id of the node.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		protected ArenaNode(int id) {
+			this.id = id;
+		}
+
+		@Nullable
+		@Override
+		public V get() {
+			return NodeArena.this.getValue(this.id);
+		}
+
+		@Nullable
+		@Override
+		public V set(@Nullable V value) {
+			V v = NodeArena.this.getValue(this.id);
+			NodeArena.this.setValue(this.id, value);
+			return v;
+		}
+
+		@NotNull
+		@Override
+		public Set<Link<V>> linkSet() {
+			if (this.linkSet == null)
+				this.linkSet = new AbstractSet<Link<V>>() {
+					@Override
+					public boolean contains(@Nullable Object object) {
+						if (object instanceof NodeArena.ArenaLink) {
+							NodeArena<?>.ArenaLink link = (NodeArena<?>.ArenaLink) object;
+							return link.arena() == NodeArena.this &&
+								   link.id == ArenaNode.this.id &&
+								   NodeArena.this.neighbour(link.id, link.slot) >= 0;
+						}
+
+						return false;
+					}
+
+					@Override
+					public boolean remove(@Nullable Object object) {
+						if (this.contains(object)) {
+							//noinspection ConstantConditions
+							NodeArena.this.unlink(ArenaNode.this.id, ((NodeArena<?>.ArenaLink) object).slot);
+							return true;
+						}
+
+						return false;
+					}
+
+					@NotNull
+					@Override
+					public Iterator<Link<V>> iterator() {
+						return new Iterator<Link<V>>() {
+							private int slot = -1;
+							private int next = this.seek(0);
+
+							@Override
+							public boolean hasNext() {
+								return this.next < NodeArena.this.keys.length;
+							}
+
+							@Override
+							public Link<V> next() {
+								if (this.next >= NodeArena.this.keys.length)
+									throw new NoSuchElementException("next");
+
+								this.slot = this.next;
+								this.next = this.seek(this.slot + 1);
+								return new ArenaLink(ArenaNode.this.id, this.slot);
+							}
+
+							@Override
+							public void remove() {
+								if (this.slot < 0)
+									throw new IllegalStateException("remove");
+
+								NodeArena.this.unlink(ArenaNode.this.id, this.slot);
+								this.slot = -1;
+							}
+
+							private int seek(int from) {
+								int slot = from;
+								while (slot < NodeArena.this.keys.length &&
+									   NodeArena.this.neighbour(ArenaNode.this.id, slot) < 0)
+									slot++;
+								return slot;
+							}
+						};
+					}
+
+					@Override
+					public int size() {
+						int size = 0;
+						for (int i = 0; i < NodeArena.this.keys.length; i++)
+							if (NodeArena.this.neighbour(ArenaNode.this.id, i) >= 0)
+								size++;
+						return size;
+					}
+				};
+
+			return this.linkSet;
+		}
+
+		@Nullable
+		@Override
+		public Link<V> getLink(@NotNull Key key) {
+			Objects.requireNonNull(key, "key");
+			int slot = NodeArena.this.slot(key);
+
+			if (slot < 0 || NodeArena.this.neighbour(this.id, slot) < 0)
+				return null;
+
+			return new ArenaLink(this.id, slot);
+		}
+
+		@Nullable
+		@Override
+		public Node<V> get(@NotNull Key key) {
+			Objects.requireNonNull(key, "key");
+			int slot = NodeArena.this.slot(key.opposite());
+
+			if (slot < 0)
+				return null;
+
+			int other = NodeArena.this.neighbour(this.id, slot);
+			return other < 0 ? null : NodeArena.this.node(other);
+		}
+
+		@Nullable
+		@Override
+		public Node<V> put(@NotNull Key key, @NotNull Node<V> node) {
+			Objects.requireNonNull(key, "key");
+			Objects.requireNonNull(node, "node");
+			int other = NodeArena.this.id(node);
+			int slot = NodeArena.this.slot(key.opposite());
+
+			if (slot < 0)
+				throw new IllegalArgumentException("Foreign key: " + key);
+
+			int previous = NodeArena.this.link(this.id, slot, other);
+			return previous < 0 ? null : NodeArena.this.node(previous);
+		}
+
+		@Override
+		public boolean containsKey(@NotNull Key key) {
+			Objects.requireNonNull(key, "key");
+			int slot = NodeArena.this.slot(key.opposite());
+			return slot >= 0 && NodeArena.this.neighbour(this.id, slot) >= 0;
+		}
+
+		@Nullable
+		@Override
+		public Node<V> remove(@NotNull Key key) {
+			Objects.requireNonNull(key, "key");
+			int slot = NodeArena.this.slot(key.opposite());
+
+			if (slot < 0)
+				return null;
+
+			int previous = NodeArena.this.unlink(this.id, slot);
+			return previous < 0 ? null : NodeArena.this.node(previous);
+		}
+
+		/**
+		 * Return the arena of this node.
+		 *
+		 * @return the arena of this node.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		@Contract(pure = true)
+		protected NodeArena<V> arena() {
+			return NodeArena.this;
+		}
+	}
+
+	/**
+	 * The view of a link of a node of an arena. Links are equal if they are of the same
+	 * node and slot. The opposite of a link is resolved once, when first accessed.
+	 *
+	 * @author LSafer
+	 * @version 0.0.5
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	protected class ArenaLink implements Link<V> {
+		/**
+		 * The id of the node of this link. (-1: none)
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		protected final int id;
+		/**
+		 * The slot of the key of this link.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		protected final int slot;
+
+		/**
+		 * The opposite link. Created on first access.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Nullable
+		private ArenaLink opposite;
+
+		/**
+		 * Construct a new view of the link of the node with the given {@code id} at the
+		 * given {@code slot}.
+		 *
+		 * @param id   the id of the node. Or {@code -1} for a detached link.
+		 * @param slot the slot of the key of the link.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		protected ArenaLink(int id, int slot) {
+			this.id = id;
+			this.slot = slot;
+		}
+
+		@Override
+		public boolean equals(@Nullable Object object) {
+			if (object == this)
+				return true;
+			if (object instanceof NodeArena.ArenaLink) {
+				NodeArena<?>.ArenaLink link = (NodeArena<?>.ArenaLink) object;
+				return link.arena() == NodeArena.this &&
+					   link.id == this.id &&
+					   link.slot == this.slot;
+			}
+
+			return false;
+		}
+
+		@Override
+		public int hashCode() {
+			return this.id * 31 + this.slot;
+		}
+
+		@NotNull
+		@Override
+		public String toString() {
+			return this.getKey() + "=>" + this.getNode();
+		}
+
+		@NotNull
+		@Override
+		public Key getKey() {
+			return NodeArena.this.keys[this.slot];
+		}
+
+		@NotNull
+		@Override
+		public Link<V> getOpposite() {
+			ArenaLink opposite = this.opposite;
+
+			if (opposite == null) {
+				int other = this.id < 0 ? -1 : NodeArena.this.neighbour(this.id, this.slot);
+				opposite = this.opposite = new ArenaLink(other, NodeArena.this.opposites[this.slot]);
+				opposite.opposite = this;
+			}
+
+			return opposite;
+		}
+
+		@Nullable
+		@Override
+		public Node<V> getNode() {
+			if (this.id < 0 || NodeArena.this.neighbour(this.id, this.slot) < 0)
+				return null;
+
+			return NodeArena.this.node(this.id);
+		}
+
+		@Nullable
+		@Override
+		public Node<V> removeNode() {
+			if (this.id < 0)
+				return null;
+
+			return NodeArena.this.unlink(this.id, this.slot) < 0 ?
+				   null :
+				   NodeArena.this.node(this.id);
+		}
+
+		@Nullable
+		@Override
+		public Node<V> setNode(@NotNull Node<V> node) {
+			Objects.requireNonNull(node, "node");
+			Node<V> n = this.getNode();
+
+			if (n != node)
+				throw new UnsupportedOperationException("setNode");
+
+			return n;
+		}
+
+		/**
+		 * Return the arena of this link.
+		 *
+		 * @return the arena of this link.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		@Contract(pure = true)
+		protected NodeArena<V> arena() {
+			return NodeArena.this;
+		}
+	}
+
+	/**
+	 * A map from the ids of the nodes to their views, holding the views weakly. The
+	 * entries of the collected views are removed on the next access.
+	 *
+	 * @author LSafer
+	 * @version 0.0.5
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private static final class ViewCache {
+		/**
+		 * The queue of the collected views.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+		/**
+		 * The open addressing table. Its length is a power of two.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Nullable
+		private View @NotNull [] table = new View[16];
+		/**
+		 * The number of entries.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private int size;
+
+		/**
+		 * Return the hash of the given {@code id}.
+		 *
+		 * @param id the id to hash.
+		 * @return the hash of the given {@code id}.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Contract(pure = true)
+		private static int hash(int id) {
+			int h = id * 0x9E3779B9;
+			return h ^ h >>> 16;
+		}
+
+		/**
+		 * Return the view of the given {@code id}.
+		 *
+		 * @param id the id of the node.
+		 * @return the view. Or {@code null} if there is no view in use.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Nullable
+		@Contract(mutates = "this")
+		private Object get(int id) {
+			this.expunge();
+			View[] table = this.table;
+			int mask = table.length - 1;
+
+			for (int i = ViewCache.hash(id) & mask; ; i = i + 1 & mask) {
+				View view = table[i];
+
+				if (view == null)
+					return null;
+				if (view.id == id)
+					return view.get();
+			}
+		}
+
+		/**
+		 * Set the view of the given {@code id}.
+		 *
+		 * @param id   the id of the node.
+		 * @param node the view.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Contract(mutates = "this")
+		private void put(int id, @NotNull Object node) {
+			View[] table = this.table;
+			int mask = table.length - 1;
+			int i = ViewCache.hash(id) & mask;
+
+			for (View view; (view = table[i]) != null; i = i + 1 & mask)
+				if (view.id == id) {
+					//a collected view not expunged yet
+					table[i] = new View(id, node, this.queue);
+					return;
+				}
+
+			table[i] = new View(id, node, this.queue);
+
+			if (++this.size << 1 > table.length)
+				this.resize(table.length << 1);
+		}
+
+		/**
+		 * Remove the entries of the collected views.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Contract(mutates = "this")
+		private void expunge() {
+			for (Reference<?> reference; (reference = this.queue.poll()) != null; ) {
+				View view = (View) reference;
+				View[] table = this.table;
+				int mask = table.length - 1;
+
+				for (int i = ViewCache.hash(view.id) & mask; table[i] != null; i = i + 1 & mask)
+					if (table[i] == view) {
+						this.delete(i);
+						break;
+					}
+			}
+		}
+
+		/**
+		 * Delete the entry at the given slot {@code index}, shifting back the entries
+		 * after it in its probe sequence.
+		 *
+		 * @param index the index of the slot of the entry to be deleted.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Contract(mutates = "this")
+		private void delete(int index) {
+			View[] table = this.table;
+			int mask = table.length - 1;
+			int hole = index;
+
+			for (int i = hole + 1 & mask; table[i] != null; i = i + 1 & mask) {
+				//noinspection ConstantConditions
+				int home = ViewCache.hash(table[i].id) & mask;
+
+				//move the entry into the hole if its home is not in (hole, i]
+				if ((i - home & mask) >= (i - hole & mask)) {
+					table[hole] = table[i];
+					hole = i;
+				}
+			}
+
+			table[hole] = null;
+			this.size--;
+		}
+
+		/**
+		 * Rehash the entries into a table of the given {@code length}.
+		 *
+		 * @param length the length of the new table. A power of two.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Contract(mutates = "this")
+		private void resize(int length) {
+			View[] table = new View[length];
+			int mask = length - 1;
+
+			for (View view : this.table)
+				if (view != null) {
+					int i = ViewCache.hash(view.id) & mask;
+					while (table[i] != null)
+						i = i + 1 & mask;
+					table[i] = view;
+				}
+
+			this.table = table;
+		}
+	}
+
+	/**
+	 * A weak reference to the view of a node, remembering the id of the node.
+	 *
+	 * @author LSafer
+	 * @version 0.0.5
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private static final class View extends WeakReference<Object> {
+		/**
+		 * The id of the node.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private final int id;
+
+		/**
+		 * Construct a new reference to the given view.
+		 *
+		 * @param id    the id of the node.
+		 * @param node  the view.
+		 * @param queue the queue to enqueue the reference to when the view is collected.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private View(int id, @NotNull Object node, @NotNull ReferenceQueue<Object> queue) {
+			super(node, queue);
+			this.id = id;
+		}
+	}
+}
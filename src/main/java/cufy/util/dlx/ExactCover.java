@@ -0,0 +1,511 @@
+/*
+ *	Copyright 2021 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.util.dlx;
+
+import cufy.util.Node;
+import cufy.util.polygon.Digon;
+import cufy.util.polygon.Tetragon;
+import cufy.util.polygon.TetragonNode;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * An exact cover problem solved by Knuth's Algorithm X using dancing links (DLX).
+ * <br>
+ * The problem is a sparse matrix of columns and rows. A solution is a set of rows
+ * covering each primary column exactly once and each secondary column at most once.
+ * <br>
+ * The matrix is a toroidal grid of doubly linked rings. The cells of a row form a
+ * horizontal ring and the cells of a column (with its header) form a vertical ring.
+ * Dancing links depend on an unlinked cell keeping its own (stale) pointers, so it can
+ * be linked back in constant time. The symmetric links of {@link Node}s cannot keep
+ * stale pointers. So, the rings are kept as {@code int} arrays indexed by the cells
+ * (covering and uncovering never allocate) and {@link #toNode()} exports the matrix as
+ * rings of {@link TetragonNode}s linked with the {@link Digon#START}/{@link Digon#END}
+ * and {@link Tetragon#TOP}/{@link Tetragon#BOTTOM} keys.
+ * <br>
+ * Exact covers are not thread safe.
+ *
+ * @param <R> the type of the labels of the rows.
+ * @author LSafer
+ * @version 0.0.5
+ * @since 0.0.5 ~2026.10.17
+ */
+public class ExactCover<R> {
+	/**
+	 * The index of the root header.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private static final int ROOT = 0;
+
+	/**
+	 * The labels of the rows.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	private final List<R> rows = new ArrayList<>();
+	/**
+	 * The number of primary columns.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private final int primary;
+	/**
+	 * The number of columns. (primary and secondary)
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private final int columns;
+
+	/**
+	 * The cell to the left of each cell.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private int @NotNull [] left;
+	/**
+	 * The cell to the right of each cell.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private int @NotNull [] right;
+	/**
+	 * The cell above each cell.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private int @NotNull [] up;
+	/**
+	 * The cell below each cell.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private int @NotNull [] down;
+	/**
+	 * The column header of each cell.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private int @NotNull [] column;
+	/**
+	 * The row of each cell. (-1: a header)
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private int @NotNull [] row;
+	/**
+	 * The number of uncovered cells in each column. Indexed by the column headers.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private final int @NotNull [] count;
+	/**
+	 * The number of cells. (including the headers)
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private int cells;
+
+	/**
+	 * Construct a new exact cover problem with the given number of primary columns and
+	 * no secondary columns.
+	 *
+	 * @param primary the number of columns that must be covered exactly once.
+	 * @throws IllegalArgumentException if the given {@code primary} is negative.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public ExactCover(@Range(from = 0, to = Integer.MAX_VALUE) int primary) {
+		this(primary, 0);
+	}
+
+	/**
+	 * Construct a new exact cover problem with the given number of primary and
+	 * secondary columns. The primary columns are {@code [0, primary)} and the secondary
+	 * columns are {@code [primary, primary + secondary)}.
+	 *
+	 * @param primary   the number of columns that must be covered exactly once.
+	 * @param secondary the number of columns that must be covered at most once.
+	 * @throws IllegalArgumentException if the given {@code primary} or {@code secondary}
+	 *                                  is negative.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public ExactCover(@Range(from = 0, to = Integer.MAX_VALUE) int primary, @Range(from = 0, to = Integer.MAX_VALUE) int secondary) {
+		if (primary < 0)
+			throw new IllegalArgumentException("primary: " + primary);
+		if (secondary < 0 || secondary > Integer.MAX_VALUE - 1 - primary)
+			throw new IllegalArgumentException("secondary: " + secondary);
+
+		this.primary = primary;
+		this.columns = primary + secondary;
+		this.cells = this.columns + 1;
+		this.count = new int[this.cells];
+
+		int length = Math.max(this.cells, 16);
+		this.left = new int[length];
+		this.right = new int[length];
+		this.up = new int[length];
+		this.down = new int[length];
+		this.column = new int[length];
+		this.row = new int[length];
+
+		for (int h = 0; h < this.cells; h++) {
+			this.up[h] = h;
+			this.down[h] = h;
+			this.column[h] = h;
+			this.row[h] = -1;
+			//secondary headers are not in the ring of the root
+			this.left[h] = h <= primary ? h == 0 ? primary : h - 1 : h;
+			this.right[h] = h <= primary ? h == primary ? 0 : h + 1 : h;
+		}
+	}
+
+	@NotNull
+	@Override
+	public String toString() {
+		return "ExactCover{columns=" + this.columns + ", rows=" + this.rows.size() + "}";
+	}
+
+	/**
+	 * Return the number of columns (primary and secondary) of this problem.
+	 *
+	 * @return the number of columns.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = 0, to = Integer.MAX_VALUE)
+	@Contract(pure = true)
+	public int columns() {
+		return this.columns;
+	}
+
+	/**
+	 * Return an unmodifiable view of the labels of the rows of this problem. In the
+	 * order they were added.
+	 *
+	 * @return the rows of this problem.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(pure = true)
+	public List<R> rows() {
+		return Collections.unmodifiableList(this.rows);
+	}
+
+	/**
+	 * Add a row with the given {@code label} covering the given {@code columns}.
+	 *
+	 * @param label   the label of the row. Reported in the solutions containing it.
+	 * @param columns the columns covered by the row.
+	 * @throws NullPointerException     if the given {@code columns} is null.
+	 * @throws IllegalArgumentException if the given {@code columns} is empty, or has a
+	 *                                  column out of range, or has a column twice.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "this")
+	public void addRow(@Nullable R label, int @NotNull ... columns) {
+		Objects.requireNonNull(columns, "columns");
+		if (columns.length == 0)
+			throw new IllegalArgumentException("empty row");
+
+		int[] sorted = columns.clone();
+		Arrays.sort(sorted);
+		for (int i = 0; i < sorted.length; i++) {
+			if (sorted[i] < 0 || sorted[i] >= this.columns)
+				throw new IllegalArgumentException("column: " + sorted[i]);
+			if (i > 0 && sorted[i] == sorted[i - 1])
+				throw new IllegalArgumentException("duplicate column: " + sorted[i]);
+		}
+
+		int needed = this.cells + columns.length;
+		if (needed > this.left.length) {
+			int length = Math.max(needed, this.left.length << 1);
+			this.left = Arrays.copyOf(this.left, length);
+			this.right = Arrays.copyOf(this.right, length);
+			this.up = Arrays.copyOf(this.up, length);
+			this.down = Arrays.copyOf(this.down, length);
+			this.column = Arrays.copyOf(this.column, length);
+			this.row = Arrays.copyOf(this.row, length);
+		}
+
+		int r = this.rows.size();
+		int first = this.cells;
+		for (int i = 0; i < columns.length; i++) {
+			int x = first + i;
+			int h = columns[i] + 1;
+
+			//append to the bottom of the column
+			this.up[x] = this.up[h];
+			this.down[x] = h;
+			this.down[this.up[h]] = x;
+			this.up[h] = x;
+			this.column[x] = h;
+			this.row[x] = r;
+			this.count[h]++;
+
+			this.left[x] = i == 0 ? first + columns.length - 1 : x - 1;
+			this.right[x] = i == columns.length - 1 ? first : x + 1;
+		}
+
+		this.cells = needed;
+		this.rows.add(label);
+	}
+
+	/**
+	 * Find the solutions of this problem, passing each to the given {@code consumer}
+	 * until it returns {@code false}.
+	 * <br>
+	 * The search always branches on the uncovered primary column with the fewest rows.
+	 * The solutions are passed as new lists of the labels of their rows. The matrix is
+	 * restored when the search ends (even if stopped early).
+	 *
+	 * @param consumer the consumer of the solutions. Returns false to stop the search.
+	 * @return the number of solutions found.
+	 * @throws NullPointerException if the given {@code consumer} is null.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = 0, to = Long.MAX_VALUE)
+	@Contract(mutates = "this")
+	public long solve(@NotNull Predicate<? super List<R>> consumer) {
+		Objects.requireNonNull(consumer, "consumer");
+		int[] left = this.left;
+		int[] right = this.right;
+		int[] down = this.down;
+		int[] column = this.column;
+		//the cell chosen at each level
+		int[] chosen = new int[this.primary + 1];
+		int level = 0;
+		long found = 0;
+		boolean stop = false;
+
+		while (true) {
+			//forward: at a new level
+			if (right[ExactCover.ROOT] == ExactCover.ROOT) {
+				found++;
+				List<R> solution = new ArrayList<>(level);
+				for (int i = 0; i < level; i++)
+					solution.add(this.rows.get(this.row[chosen[i]]));
+
+				stop = !consumer.test(solution);
+			} else {
+				int c = this.choose();
+				this.cover(c);
+				chosen[level] = down[c];
+
+				//try the rows of the column
+				if (this.tryRow(chosen, level, stop)) {
+					level++;
+					continue;
+				}
+			}
+
+			//backward: resume the previous level
+			while (true) {
+				if (level == 0)
+					return found;
+
+				int x = chosen[--level];
+				for (int j = left[x]; j != x; j = left[j])
+					this.uncover(column[j]);
+
+				chosen[level] = down[x];
+				if (this.tryRow(chosen, level, stop))
+					break;
+			}
+
+			level++;
+		}
+	}
+
+	/**
+	 * Find the first solution of this problem.
+	 *
+	 * @return the labels of the rows of the first solution. Or {@code null} if this
+	 * 		problem has no solution.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Nullable
+	@Contract(mutates = "this")
+	public List<R> solveFirst() {
+		List<List<R>> first = new ArrayList<>(1);
+		this.solve(solution -> !first.add(solution));
+		return first.isEmpty() ? null : first.get(0);
+	}
+
+	/**
+	 * Return the number of solutions of this problem.
+	 *
+	 * @return the number of solutions.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = 0, to = Long.MAX_VALUE)
+	@Contract(mutates = "this")
+	public long count() {
+		return this.solve(solution -> true);
+	}
+
+	/**
+	 * Export the current matrix of this problem as a toroidal grid of nodes.
+	 * <br>
+	 * The returned root header is followed (using {@link Digon#END}) by the headers of
+	 * the primary columns. The headers of the secondary columns are not in the ring of
+	 * the root. The cells of a column follow its header using {@link Tetragon#BOTTOM}
+	 * and the cells of a row are in a ring using {@link Digon#END}. The values of the
+	 * headers are the indices of their columns ({@code null} for the root) and the
+	 * values of the cells are the labels of their rows.
+	 *
+	 * @return the root header of the exported matrix.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(value = "->new", pure = true)
+	public Node<Object> toNode() {
+		List<Node<Object>> nodes = new ArrayList<>(this.cells);
+		for (int x = 0; x < this.cells; x++)
+			nodes.add(new TetragonNode<>(
+					x == ExactCover.ROOT ? null :
+					x <= this.columns ? (Object) (x - 1) :
+					this.rows.get(this.row[x])
+			));
+
+		for (int x = 0; x < this.cells; x++) {
+			ExactCover.link(nodes.get(x), Digon.END, nodes.get(this.right[x]));
+			ExactCover.link(nodes.get(x), Tetragon.BOTTOM, nodes.get(this.down[x]));
+		}
+
+		return nodes.get(ExactCover.ROOT);
+	}
+
+	/**
+	 * Link the given {@code node} to the given {@code other} node using the given {@code
+	 * key}, unless they are the same node.
+	 *
+	 * @param node  the node to link from.
+	 * @param key   the key to link with.
+	 * @param other the node to link to.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private static void link(@NotNull Node<Object> node, @NotNull Node.Key key, @NotNull Node<Object> other) {
+		if (node != other)
+			node.put(key, other);
+	}
+
+	/**
+	 * Choose the uncovered primary column with the fewest rows.
+	 *
+	 * @return the header of the chosen column.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(pure = true)
+	private int choose() {
+		int[] right = this.right;
+		int[] count = this.count;
+		int best = right[ExactCover.ROOT];
+		int least = count[best];
+
+		for (int h = right[best]; h != ExactCover.ROOT && least > 0; h = right[h])
+			if (count[h] < least) {
+				best = h;
+				least = count[h];
+			}
+
+		return best;
+	}
+
+	/**
+	 * Try the row at {@code chosen[level]}. If it is a row of its column, cover the
+	 * other columns of the row. Otherwise (the column header is reached, or the search
+	 * was stopped), uncover the column.
+	 *
+	 * @param chosen the chosen cells.
+	 * @param level  the level to try.
+	 * @param stop   true, if the search was stopped.
+	 * @return true, if a row was chosen.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "this")
+	private boolean tryRow(int @NotNull [] chosen, int level, boolean stop) {
+		int x = chosen[level];
+		int c = this.column[x];
+
+		if (stop || x == c) {
+			this.uncover(c);
+			return false;
+		}
+
+		for (int j = this.right[x]; j != x; j = this.right[j])
+			this.cover(this.column[j]);
+
+		return true;
+	}
+
+	/**
+	 * Cover the column with the given header {@code c}: unlink it from the headers and
+	 * unlink the rows in it from the other columns.
+	 *
+	 * @param c the header of the column.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "this")
+	private void cover(int c) {
+		int[] left = this.left;
+		int[] right = this.right;
+		int[] up = this.up;
+		int[] down = this.down;
+		int[] column = this.column;
+
+		right[left[c]] = right[c];
+		left[right[c]] = left[c];
+
+		for (int i = down[c]; i != c; i = down[i])
+			for (int j = right[i]; j != i; j = right[j]) {
+				down[up[j]] = down[j];
+				up[down[j]] = up[j];
+				this.count[column[j]]--;
+			}
+	}
+
+	/**
+	 * Uncover the column with the given header {@code c}. The exact reverse of {@link
+	 * #cover(int)}.
+	 *
+	 * @param c the header of the column.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "this")
+	private void uncover(int c) {
+		int[] left = this.left;
+		int[] right = this.right;
+		int[] up = this.up;
+		int[] down = this.down;
+		int[] column = this.column;
+
+		for (int i = up[c]; i != c; i = up[i])
+			for (int j = left[i]; j != i; j = left[j]) {
+				this.count[column[j]]++;
+				down[up[j]] = j;
+				up[down[j]] = j;
+			}
+
+		right[left[c]] = c;
+		left[right[c]] = c;
+	}
+}
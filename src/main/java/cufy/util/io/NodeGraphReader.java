@@ -0,0 +1,319 @@
+/*
+ *	Copyright 2021 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.util.io;
+
+import cufy.util.HashNode;
+import cufy.util.Node;
+import cufy.util.Node.Key;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * A reader reading node graphs written by a {@link NodeGraphWriter}.
+ * <br>
+ * The keys in the stream are resolved by their names from the keys given to the reader
+ * (and their opposites). So, the read graph is linked with the very keys given to the
+ * reader. Reading a key that was not given to the reader fails instead of guessing a
+ * key by its name. Since the names are the only thing identifying the keys in the
+ * stream, the keys given to a reader must have distinct names.
+ * <br>
+ * Readers are not thread safe.
+ *
+ * @param <V> the type of the values of the nodes.
+ * @author LSafer
+ * @version 0.0.5
+ * @since 0.0.5 ~2026.10.17
+ */
+public class NodeGraphReader<V> implements Closeable {
+	/**
+	 * The input to read from.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	protected final DataInputStream input;
+	/**
+	 * The decoder of the values of the nodes.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	protected final Decoder<? extends V> decoder;
+	/**
+	 * The function constructing the nodes from their values.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	protected final Function<? super V, ? extends Node<V>> factory;
+	/**
+	 * The known keys. Mapped by their names.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	protected final Map<String, Key> keys;
+
+	/**
+	 * Construct a new reader reading from the given {@code channel} into {@link
+	 * HashNode}s.
+	 *
+	 * @param channel the channel to read from.
+	 * @param decoder the decoder of the values of the nodes.
+	 * @param keys    the keys to resolve the keys in the stream from (and their
+	 *                opposites).
+	 * @throws NullPointerException if the given {@code channel} or {@code decoder} or
+	 *                              {@code keys} is null.
+	 * @throws IOException          if an I/O error occurs; if the stream is not a graph
+	 *                              stream.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public NodeGraphReader(@NotNull ReadableByteChannel channel, @NotNull Decoder<? extends V> decoder, Key @NotNull ... keys) throws IOException {
+		this(channel, decoder, HashNode::new, keys);
+	}
+
+	/**
+	 * Construct a new reader reading from the given {@code channel} into the nodes
+	 * constructed by the given {@code factory}.
+	 *
+	 * @param channel the channel to read from.
+	 * @param decoder the decoder of the values of the nodes.
+	 * @param factory the function constructing the nodes from their values.
+	 * @param keys    the keys to resolve the keys in the stream from (and their
+	 *                opposites).
+	 * @throws NullPointerException if the given {@code channel} or {@code decoder} or
+	 *                              {@code factory} or {@code keys} is null.
+	 * @throws IOException          if an I/O error occurs; if the stream is not a graph
+	 *                              stream.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public NodeGraphReader(@NotNull ReadableByteChannel channel, @NotNull Decoder<? extends V> decoder, @NotNull Function<? super V, ? extends Node<V>> factory, Key @NotNull ... keys) throws IOException {
+		this(channel, decoder, factory, NodeGraphWriter.DEFAULT_BUFFER_SIZE, keys);
+	}
+
+	/**
+	 * Construct a new reader reading from the given {@code channel} through a buffer of
+	 * the given {@code bufferSize} into the nodes constructed by the given {@code
+	 * factory}.
+	 *
+	 * @param channel    the channel to read from.
+	 * @param decoder    the decoder of the values of the nodes.
+	 * @param factory    the function constructing the nodes from their values.
+	 * @param bufferSize the size of the buffer in bytes.
+	 * @param keys       the keys to resolve the keys in the stream from (and their
+	 *                   opposites).
+	 * @throws NullPointerException     if the given {@code channel} or {@code decoder} or
+	 *                                  {@code factory} or {@code keys} is null.
+	 * @throws IllegalArgumentException if the given {@code bufferSize} is not positive;
+	 *                                  if two of the given {@code keys} (or their
+	 *                                  opposites) are different keys with the same
+	 *                                  name.
+	 * @throws IOException              if an I/O error occurs; if the stream is not a
+	 *                                  graph stream.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public NodeGraphReader(@NotNull ReadableByteChannel channel, @NotNull Decoder<? extends V> decoder, @NotNull Function<? super V, ? extends Node<V>> factory, @Range(from = 1, to = Integer.MAX_VALUE) int bufferSize, Key @NotNull ... keys) throws IOException {
+		Objects.requireNonNull(channel, "channel");
+		Objects.requireNonNull(decoder, "decoder");
+		Objects.requireNonNull(factory, "factory");
+		Objects.requireNonNull(keys, "keys");
+		this.decoder = decoder;
+		this.factory = factory;
+		this.keys = new HashMap<>();
+		for (Key key : keys) {
+			Objects.requireNonNull(key, "key");
+			NodeGraphReader.name(this.keys, key);
+			NodeGraphReader.name(this.keys, key.opposite());
+		}
+
+		this.input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), bufferSize));
+
+		if (this.input.readInt() != NodeGraphWriter.MAGIC)
+			throw new StreamCorruptedException("Not a graph stream");
+
+		int version = this.input.readInt();
+
+		if (version != NodeGraphWriter.VERSION)
+			throw new StreamCorruptedException("Unsupported version: " + version);
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.input.close();
+	}
+
+	/**
+	 * Read the next graph.
+	 *
+	 * @return the root of the read graph. Or {@code null} if the stream has ended.
+	 * @throws IOException if an I/O error occurs; if the stream is corrupted.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Nullable
+	@Contract(mutates = "this")
+	public Node<V> read() throws IOException {
+		DataInputStream input = this.input;
+		List<Node<V>> nodes = new ArrayList<>();
+		List<Key> keys = new ArrayList<>();
+
+		int tag = input.read();
+
+		if (tag < 0)
+			return null;
+
+		while (true) {
+			switch (tag) {
+				case NodeGraphWriter.END:
+					if (nodes.isEmpty())
+						throw new StreamCorruptedException("Empty graph");
+
+					return nodes.get(0);
+				case NodeGraphWriter.KEY:
+					this.key(keys);
+					break;
+				case NodeGraphWriter.NODE:
+					nodes.add(this.factory.apply(this.decoder.decode(input)));
+					break;
+				case NodeGraphWriter.EDGE:
+					Node<V> node = NodeGraphReader.get(nodes, input.readInt());
+					Key key = NodeGraphReader.get(keys, input.readInt());
+					Node<V> other = NodeGraphReader.get(nodes, input.readInt());
+					node.put(key, other);
+					break;
+				default:
+					throw new StreamCorruptedException("Unknown tag: " + tag);
+			}
+
+			tag = input.readByte();
+		}
+	}
+
+	/**
+	 * Read a key record and resolve its keys.
+	 *
+	 * @param keys the keys resolved so far. Indexed by their ids.
+	 * @throws IOException if an I/O error occurs; if the stream is corrupted.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private void key(@NotNull List<Key> keys) throws IOException {
+		DataInputStream input = this.input;
+		int id = input.readInt();
+		int oppositeId = input.readInt();
+		String name = input.readUTF();
+		String oppositeName = id == oppositeId ? name : input.readUTF();
+
+		if (id != keys.size() || oppositeId != id && oppositeId != id + 1)
+			throw new StreamCorruptedException("Unexpected key id: " + id);
+
+		Key key = this.resolve(name, oppositeName);
+		keys.add(key);
+
+		if (oppositeId != id)
+			keys.add(key.opposite());
+	}
+
+	/**
+	 * Find the key given to this reader with the given {@code name} and check that its
+	 * opposite has the given {@code oppositeName}.
+	 *
+	 * @param name         the name of the key.
+	 * @param oppositeName the name of the opposite of the key.
+	 * @return the key with the given {@code name}.
+	 * @throws IOException if no key with the given {@code name} was given to this reader;
+	 *                     if the opposite of the key with the given {@code name} has a
+	 *                     different name than the given {@code oppositeName}.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(pure = true)
+	private Key resolve(@NotNull String name, @NotNull String oppositeName) throws IOException {
+		Key key = this.keys.get(name);
+
+		if (key == null)
+			throw new IOException("Unknown key: " + name);
+		if (!key.opposite().toString().equals(oppositeName))
+			throw new IOException("Incompatible key: " + name + " (opposite: " + oppositeName + ")");
+
+		return key;
+	}
+
+	/**
+	 * Map the given {@code key} by its name in the given {@code keys} map.
+	 *
+	 * @param keys the map to put the key into.
+	 * @param key  the key to be mapped.
+	 * @throws IllegalArgumentException if a different key with the same name is already
+	 *                                  in the given {@code keys} map.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Contract(mutates = "param1")
+	private static void name(@NotNull Map<String, Key> keys, @NotNull Key key) {
+		String name = key.toString();
+		Key k = keys.putIfAbsent(name, key);
+
+		if (k != null && !k.equals(key))
+			throw new IllegalArgumentException("Ambiguous key name: " + name);
+	}
+
+	/**
+	 * Return the element with the given {@code id} in the given {@code list}.
+	 *
+	 * @param list the list to get from.
+	 * @param id   the id of the element.
+	 * @param <T>  the type of the elements.
+	 * @return the element with the given {@code id}.
+	 * @throws StreamCorruptedException if no element has the given {@code id}.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(pure = true)
+	private static <T> T get(@NotNull List<T> list, int id) throws StreamCorruptedException {
+		if (id < 0 || id >= list.size())
+			throw new StreamCorruptedException("Unknown id: " + id);
+
+		return list.get(id);
+	}
+
+	/**
+	 * Decodes the values of the nodes read by a {@link NodeGraphReader}.
+	 *
+	 * @param <V> the type of the values.
+	 * @author LSafer
+	 * @version 0.0.5
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@FunctionalInterface
+	public interface Decoder<V> {
+		/**
+		 * Read a value from the given {@code input}.
+		 *
+		 * @param input the input to read from.
+		 * @return the read value.
+		 * @throws IOException if an I/O error occurs.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Nullable
+		V decode(@NotNull DataInput input) throws IOException;
+	}
+}
@@ -0,0 +1,305 @@
+/*
+ *	Copyright 2021 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.util.io;
+
+import cufy.util.Node;
+import cufy.util.Node.Key;
+import cufy.util.Node.Link;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.*;
+
+/**
+ * A writer writing node graphs to a channel in a compact binary format.
+ * <br>
+ * The graph reachable from a node is written as a flat list of records. The nodes are
+ * given ids in breadth-first order and every relation is written once as an edge
+ * between two ids. So, writing a graph never recurses and the depth of the graph does
+ * not matter.
+ * <div style="padding: 10px">
+ *     <h3>Format</h3>
+ *     The stream starts with the {@code int} {@link #MAGIC} and the {@code int} {@link
+ *     #VERSION}. Then, for each written graph, a list of records ended by an {@link #END}
+ *     record. Each record starts with a tag byte.
+ *     <ul>
+ *         <li>{@link #KEY}: {@code int} id, {@code int} opposite id, {@code UTF} name and
+ *         {@code UTF} opposite name (only if the ids differ). Declares a key and its
+ *         opposite. The name of a key is its {@link Key#toString()}.</li>
+ *         <li>{@link #NODE}: the encoded value. Declares the next node id (starting
+ *         from {@code 0}).</li>
+ *         <li>{@link #EDGE}: {@code int} node id, {@code int} key id, {@code int} other
+ *         node id. The other node is {@link Node#get(Key) got} from the node with the
+ *         key.</li>
+ *         <li>{@link #END}: the end of the graph.</li>
+ *     </ul>
+ *     All the numbers are big-endian. The root of the graph is the node {@code 0}.
+ * </div>
+ * Writers are not thread safe.
+ *
+ * @param <V> the type of the values of the nodes.
+ * @author LSafer
+ * @version 0.0.5
+ * @since 0.0.5 ~2026.10.17
+ */
+public class NodeGraphWriter<V> implements Closeable, Flushable {
+	/**
+	 * The magic number at the start of every stream.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public static final int MAGIC = 0x43554647;
+	/**
+	 * The version of the format written by this class.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public static final int VERSION = 1;
+	/**
+	 * The tag of the record ending a graph.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public static final byte END = 0;
+	/**
+	 * The tag of a key record.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public static final byte KEY = 1;
+	/**
+	 * The tag of a node record.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public static final byte NODE = 2;
+	/**
+	 * The tag of an edge record.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public static final byte EDGE = 3;
+
+	/**
+	 * The default size of the buffer in bytes.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+	/**
+	 * The output to write to.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	protected final DataOutputStream output;
+	/**
+	 * The encoder of the values of the nodes.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	protected final Encoder<? super V> encoder;
+
+	/**
+	 * Construct a new writer writing to the given {@code channel}.
+	 *
+	 * @param channel the channel to write to.
+	 * @param encoder the encoder of the values of the nodes.
+	 * @throws NullPointerException if the given {@code channel} or {@code encoder} is
+	 *                              null.
+	 * @throws IOException          if an I/O error occurs.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public NodeGraphWriter(@NotNull WritableByteChannel channel, @NotNull Encoder<? super V> encoder) throws IOException {
+		this(channel, encoder, NodeGraphWriter.DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Construct a new writer writing to the given {@code channel} through a buffer of the
+	 * given {@code bufferSize}.
+	 *
+	 * @param channel    the channel to write to.
+	 * @param encoder    the encoder of the values of the nodes.
+	 * @param bufferSize the size of the buffer in bytes.
+	 * @throws NullPointerException     if the given {@code channel} or {@code encoder} is
+	 *                                  null.
+	 * @throws IllegalArgumentException if the given {@code bufferSize} is not positive.
+	 * @throws IOException              if an I/O error occurs.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public NodeGraphWriter(@NotNull WritableByteChannel channel, @NotNull Encoder<? super V> encoder, @Range(from = 1, to = Integer.MAX_VALUE) int bufferSize) throws IOException {
+		Objects.requireNonNull(channel, "channel");
+		Objects.requireNonNull(encoder, "encoder");
+		this.encoder = encoder;
+		this.output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), bufferSize));
+		this.output.writeInt(NodeGraphWriter.MAGIC);
+		this.output.writeInt(NodeGraphWriter.VERSION);
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.output.close();
+	}
+
+	@Override
+	public void flush() throws IOException {
+		this.output.flush();
+	}
+
+	/**
+	 * Write the graph reachable from the given {@code node}. The given {@code node} will
+	 * be the root of the written graph.
+	 *
+	 * @param node the root of the graph to be written.
+	 * @return the number of nodes written.
+	 * @throws NullPointerException if the given {@code node} is null.
+	 * @throws IOException          if an I/O error occurs.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = 1, to = Integer.MAX_VALUE)
+	@Contract(mutates = "this")
+	public int write(@NotNull Node<V> node) throws IOException {
+		Objects.requireNonNull(node, "node");
+		DataOutputStream output = this.output;
+		Map<Node<V>, Integer> nodes = new IdentityHashMap<>();
+		Map<Key, Integer> keys = new HashMap<>();
+		Deque<Node<V>> queue = new ArrayDeque<>();
+
+		this.node(nodes, node);
+		queue.add(node);
+
+		while (!queue.isEmpty()) {
+			Node<V> n = queue.poll();
+			int id = nodes.get(n);
+
+			for (Link<V> l : n.linkSet()) {
+				Link<V> o = l.getOpposite();
+				Node<V> other = o.getNode();
+
+				if (other == null)
+					//dangling
+					continue;
+
+				Integer otherId = nodes.get(other);
+
+				if (otherId == null) {
+					otherId = this.node(nodes, other);
+					queue.add(other);
+				} else if (otherId < id)
+					//written from the other side
+					continue;
+
+				Key key = o.getKey();
+				int keyId = this.key(keys, key);
+
+				if (otherId == id && keyId > this.key(keys, key.opposite()))
+					//a loop is seen twice from the same node
+					continue;
+
+				output.writeByte(NodeGraphWriter.EDGE);
+				output.writeInt(id);
+				output.writeInt(keyId);
+				output.writeInt(otherId);
+			}
+		}
+
+		output.writeByte(NodeGraphWriter.END);
+		return nodes.size();
+	}
+
+	/**
+	 * Write a node record for the given {@code node} and give it the next id.
+	 *
+	 * @param nodes the ids given so far.
+	 * @param node  the node to be written.
+	 * @return the id given to the node.
+	 * @throws IOException if an I/O error occurs.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private int node(@NotNull Map<Node<V>, Integer> nodes, @NotNull Node<V> node) throws IOException {
+		int id = nodes.size();
+		nodes.put(node, id);
+		this.output.writeByte(NodeGraphWriter.NODE);
+		this.encoder.encode(this.output, node.get());
+		return id;
+	}
+
+	/**
+	 * Return the id of the given {@code key}. Writing a key record for it and its
+	 * opposite if not written yet.
+	 *
+	 * @param keys the ids given so far.
+	 * @param key  the key to get its id.
+	 * @return the id of the given {@code key}.
+	 * @throws IOException if an I/O error occurs.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private int key(@NotNull Map<Key, Integer> keys, @NotNull Key key) throws IOException {
+		Integer id = keys.get(key);
+
+		if (id != null)
+			return id;
+
+		Key opposite = key.opposite();
+		int keyId = keys.size();
+		keys.put(key, keyId);
+
+		DataOutputStream output = this.output;
+		output.writeByte(NodeGraphWriter.KEY);
+		output.writeInt(keyId);
+
+		if (opposite.equals(key)) {
+			output.writeInt(keyId);
+			output.writeUTF(key.toString());
+		} else {
+			int oppositeId = keyId + 1;
+			keys.put(opposite, oppositeId);
+			output.writeInt(oppositeId);
+			output.writeUTF(key.toString());
+			output.writeUTF(opposite.toString());
+		}
+
+		return keyId;
+	}
+
+	/**
+	 * Encodes the values of the nodes written by a {@link NodeGraphWriter}.
+	 *
+	 * @param <V> the type of the values.
+	 * @author LSafer
+	 * @version 0.0.5
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@FunctionalInterface
+	public interface Encoder<V> {
+		/**
+		 * Write the given {@code value} to the given {@code output}.
+		 *
+		 * @param output the output to write to.
+		 * @param value  the value to be written.
+		 * @throws IOException if an I/O error occurs.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		void encode(@NotNull DataOutput output, @Nullable V value) throws IOException;
+	}
+}
@@ -47,6 +47,11 @@ public interface Digon extends Key, Serializable {
 				   object.toString().equals(this.toString());
 		}
 
+		@Override
+		public int hashCode() {
+			return this.toString().hashCode();
+		}
+
 		@NotNull
 		@Override
 		public Key opposite() {
@@ -76,6 +81,11 @@ public interface Digon extends Key, Serializable {
 				   object.toString().equals(this.toString());
 		}
 
+		@Override
+		public int hashCode() {
+			return this.toString().hashCode();
+		}
+
 		@NotNull
 		@Override
 		public Key opposite() {
@@ -0,0 +1,176 @@
+/*
+ *	Copyright 2021 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.util.polygon;
+
+import cufy.util.AbstractSlotNode;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A node implementation that stores the links with the {@link Digon} keys in dedicated
+ * fields. Links with any other key are stored in a small overflow map.
+ * <br>
+ * The fields are picked by the identity of the key. A key that equals one of the
+ * polygon keys but is not the same reference (like a deserialized copy of it) is
+ * resolved to the polygon key it equals, so it picks the same field.
+ *
+ * @param <V> the type of the value of the node.
+ * @author LSafer
+ * @version 0.0.5
+ * @since 0.0.5 ~2026.10.17
+ */
+@SuppressWarnings("ClassHasNoToStringMethod")
+public class DigonNode<V> extends AbstractSlotNode<V> {
+	@SuppressWarnings("JavaDoc")
+	private static final long serialVersionUID = -3984040449645545959L;
+	/**
+	 * The polygon keys.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	private static final Digon @NotNull [] POLYGON = {
+			Digon.START,
+			Digon.END,
+			Tetragon.TOP,
+			Tetragon.BOTTOM,
+			Hexagon.FRONT,
+			Hexagon.BACK
+	};
+
+	/**
+	 * The link pointing to this node with the key {@link Digon#START}.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Nullable
+	private Link<V> start;
+	/**
+	 * The link pointing to this node with the key {@link Digon#END}.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Nullable
+	private Link<V> end;
+	/**
+	 * The currently set value of this node.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Nullable
+	private V value;
+
+	/**
+	 * Construct a new node with its value initialized to {@code null}.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public DigonNode() {
+
+	}
+
+	/**
+	 * Construct a new node with its value initialized to the given {@code value}.
+	 *
+	 * @param value the initial value of the constructed node.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public DigonNode(@Nullable V value) {
+		this.value = value;
+	}
+
+	// Value
+
+	@Nullable
+	@Override
+	public V get() {
+		return this.value;
+	}
+
+	@Nullable
+	@Override
+	public V set(@Nullable V value) {
+		V v = this.value;
+		this.value = value;
+		return v;
+	}
+
+	// Slots
+
+	@Override
+	protected int slot(@NotNull Key key) {
+		if (key == Digon.START)
+			return 0;
+		if (key == Digon.END)
+			return 1;
+
+		//a copy of a polygon key (only reached when the identity checks all failed)
+		Key polygon = DigonNode.polygon(key);
+		return polygon == key ? -1 : this.slot(polygon);
+	}
+
+	/**
+	 * Return the polygon key equal to the given {@code key}.
+	 *
+	 * @param key the key to resolve.
+	 * @return the polygon key equal to the given {@code key}. Or the given {@code key}
+	 * 		itself if it is not a polygon key.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(pure = true)
+	static Key polygon(@NotNull Key key) {
+		if (key instanceof Digon)
+			for (Digon polygon : DigonNode.POLYGON)
+				if (polygon.equals(key))
+					return polygon;
+
+		return key;
+	}
+
+	@Override
+	protected int slots() {
+		return 2;
+	}
+
+	@Nullable
+	@Override
+	protected Link<V> getSlot(int index) {
+		switch (index) {
+			case 0:
+				return this.start;
+			case 1:
+				return this.end;
+			default:
+				throw new IndexOutOfBoundsException("slot: " + index);
+		}
+	}
+
+	@Override
+	protected void setSlot(int index, @Nullable Link<V> link) {
+		switch (index) {
+			case 0:
+				this.start = link;
+				break;
+			case 1:
+				this.end = link;
+				break;
+			default:
+				throw new IndexOutOfBoundsException("slot: " + index);
+		}
+	}
+}
@@ -45,6 +45,11 @@ public interface Hexagon extends Tetragon {
 				   object.toString().equals(this.toString());
 		}
 
+		@Override
+		public int hashCode() {
+			return this.toString().hashCode();
+		}
+
 		@NotNull
 		@Override
 		public Key opposite() {
@@ -74,6 +79,11 @@ public interface Hexagon extends Tetragon {
 				   object.toString().equals(this.toString());
 		}
 
+		@Override
+		public int hashCode() {
+			return this.toString().hashCode();
+		}
+
 		@NotNull
 		@Override
 		public Key opposite() {
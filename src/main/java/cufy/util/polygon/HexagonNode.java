@@ -0,0 +1,116 @@
+/*
+ *	Copyright 2021 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.util.polygon;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A node implementation that stores the links with the {@link Hexagon} keys in dedicated
+ * fields (additionally to the {@link Tetragon} keys). Links with any other key are stored
+ * in a small overflow map.
+ * <br>
+ * The fields are picked by the identity of the key. A key that equals one of the
+ * polygon keys but is not the same reference (like a deserialized copy of it) is
+ * resolved to the polygon key it equals, so it picks the same field.
+ *
+ * @param <V> the type of the value of the node.
+ * @author LSafer
+ * @version 0.0.5
+ * @since 0.0.5 ~2026.10.17
+ */
+@SuppressWarnings("ClassHasNoToStringMethod")
+public class HexagonNode<V> extends TetragonNode<V> {
+	@SuppressWarnings("JavaDoc")
+	private static final long serialVersionUID = 4140363380470997873L;
+
+	/**
+	 * The link pointing to this node with the key {@link Hexagon#FRONT}.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Nullable
+	private Link<V> front;
+	/**
+	 * The link pointing to this node with the key {@link Hexagon#BACK}.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Nullable
+	private Link<V> back;
+
+	/**
+	 * Construct a new node with its value initialized to {@code null}.
+	 *
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public HexagonNode() {
+
+	}
+
+	/**
+	 * Construct a new node with its value initialized to the given {@code value}.
+	 *
+	 * @param value the initial value of the constructed node.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public HexagonNode(@Nullable V value) {
+		super(value);
+	}
+
+	// Slots
+
+	@Override
+	protected int slot(@NotNull Key key) {
+		if (key == Hexagon.FRONT)
+			return 4;
+		if (key == Hexagon.BACK)
+			return 5;
+		return super.slot(key);
+	}
+
+	@Override
+	protected int slots() {
+		return 6;
+	}
+
+	@Nullable
+	@Override
+	protected Link<V> getSlot(int index) {
+		switch (index) {
+			case 4:
+				return this.front;
+			case 5:
+				return this.back;
+			default:
+				return super.getSlot(index);
+		}
+	}
+
+	@Override
+	protected void setSlot(int index, @Nullable Link<V> link) {
+		switch (index) {
+			case 4:
+				this.front = link;
+				break;
+			case 5:
+				this.back = link;
+				break;
+			default:
+				super.setSlot(index, link);
+		}
+	}
+}
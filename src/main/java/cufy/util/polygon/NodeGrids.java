@@ -0,0 +1,403 @@
+/*
+ *	Copyright 2021 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.util.polygon;
+
+import cufy.util.Node;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Bulk builders of grids of polygon nodes.
+ * <br>
+ * A grid is built at once into a flat array of slot based nodes ({@link TetragonNode}s
+ * or {@link HexagonNode}s), so no hash table is involved when linking them and each cell
+ * can be reached by its coordinates in constant time through the returned {@link Grid}.
+ * The cells are linked using the polygon keys. So, walking the grid is the usual {@code
+ * node.get(Tetragon.TOP)}.
+ * <ul>
+ *     <li>{@link Digon#END} to the cell at {@code x + 1}.</li>
+ *     <li>{@link Tetragon#TOP} to the cell at {@code y + 1}.</li>
+ *     <li>{@link Hexagon#FRONT} to the cell at {@code z + 1}.</li>
+ * </ul>
+ * The cells at the edges of a torus grid are linked to the cells at the opposite edges.
+ *
+ * @author LSafer
+ * @version 0.0.5
+ * @since 0.0.5 ~2026.10.17
+ */
+public final class NodeGrids {
+	/**
+	 * Utility classes must not be initialized.
+	 *
+	 * @throws AssertionError when called.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private NodeGrids() {
+		throw new AssertionError("No instance for you!");
+	}
+
+	/**
+	 * Build a {@code width * height} grid of {@link TetragonNode}s. The value of each
+	 * cell is computed using the given {@code function} with {@code z = 0}.
+	 *
+	 * @param width    the number of cells along the x axis.
+	 * @param height   the number of cells along the y axis.
+	 * @param function the function computing the values of the cells.
+	 * @param <V>      the type of the values of the cells.
+	 * @return the built grid.
+	 * @throws NullPointerException     if the given {@code function} is null.
+	 * @throws IllegalArgumentException if the given {@code width} or {@code height} is
+	 *                                  negative, or the grid is too large.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(value = "_,_,_->new", pure = true)
+	public static <V> Grid<V> grid2d(@Range(from = 0, to = Integer.MAX_VALUE) int width, @Range(from = 0, to = Integer.MAX_VALUE) int height, @NotNull CellFunction<? extends V> function) {
+		return NodeGrids.grid2d(width, height, false, function);
+	}
+
+	/**
+	 * Build a {@code width * height} grid of {@link TetragonNode}s. The value of each
+	 * cell is computed using the given {@code function} with {@code z = 0}.
+	 *
+	 * @param width    the number of cells along the x axis.
+	 * @param height   the number of cells along the y axis.
+	 * @param torus    true, to link the cells at the edges to the cells at the opposite
+	 *                 edges.
+	 * @param function the function computing the values of the cells.
+	 * @param <V>      the type of the values of the cells.
+	 * @return the built grid.
+	 * @throws NullPointerException     if the given {@code function} is null.
+	 * @throws IllegalArgumentException if the given {@code width} or {@code height} is
+	 *                                  negative, or the grid is too large.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(value = "_,_,_,_->new", pure = true)
+	public static <V> Grid<V> grid2d(@Range(from = 0, to = Integer.MAX_VALUE) int width, @Range(from = 0, to = Integer.MAX_VALUE) int height, boolean torus, @NotNull CellFunction<? extends V> function) {
+		return NodeGrids.build(width, height, 1, torus, false, function);
+	}
+
+	/**
+	 * Build a {@code width * height * depth} grid of {@link HexagonNode}s. The value of
+	 * each cell is computed using the given {@code function}.
+	 *
+	 * @param width    the number of cells along the x axis.
+	 * @param height   the number of cells along the y axis.
+	 * @param depth    the number of cells along the z axis.
+	 * @param function the function computing the values of the cells.
+	 * @param <V>      the type of the values of the cells.
+	 * @return the built grid.
+	 * @throws NullPointerException     if the given {@code function} is null.
+	 * @throws IllegalArgumentException if the given {@code width} or {@code height} or
+	 *                                  {@code depth} is negative, or the grid is too
+	 *                                  large.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(value = "_,_,_,_->new", pure = true)
+	public static <V> Grid<V> grid3d(@Range(from = 0, to = Integer.MAX_VALUE) int width, @Range(from = 0, to = Integer.MAX_VALUE) int height, @Range(from = 0, to = Integer.MAX_VALUE) int depth, @NotNull CellFunction<? extends V> function) {
+		return NodeGrids.grid3d(width, height, depth, false, function);
+	}
+
+	/**
+	 * Build a {@code width * height * depth} grid of {@link HexagonNode}s. The value of
+	 * each cell is computed using the given {@code function}.
+	 *
+	 * @param width    the number of cells along the x axis.
+	 * @param height   the number of cells along the y axis.
+	 * @param depth    the number of cells along the z axis.
+	 * @param torus    true, to link the cells at the edges to the cells at the opposite
+	 *                 edges.
+	 * @param function the function computing the values of the cells.
+	 * @param <V>      the type of the values of the cells.
+	 * @return the built grid.
+	 * @throws NullPointerException     if the given {@code function} is null.
+	 * @throws IllegalArgumentException if the given {@code width} or {@code height} or
+	 *                                  {@code depth} is negative, or the grid is too
+	 *                                  large.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(value = "_,_,_,_,_->new", pure = true)
+	public static <V> Grid<V> grid3d(@Range(from = 0, to = Integer.MAX_VALUE) int width, @Range(from = 0, to = Integer.MAX_VALUE) int height, @Range(from = 0, to = Integer.MAX_VALUE) int depth, boolean torus, @NotNull CellFunction<? extends V> function) {
+		return NodeGrids.build(width, height, depth, torus, true, function);
+	}
+
+	/**
+	 * Build a grid with the given dimensions.
+	 *
+	 * @param width    the number of cells along the x axis.
+	 * @param height   the number of cells along the y axis.
+	 * @param depth    the number of cells along the z axis.
+	 * @param torus    true, to link the edges to the opposite edges.
+	 * @param hexagon  true, to build {@link HexagonNode}s and link the z axis.
+	 * @param function the function computing the values of the cells.
+	 * @param <V>      the type of the values of the cells.
+	 * @return the built grid.
+	 * @throws NullPointerException     if the given {@code function} is null.
+	 * @throws IllegalArgumentException if a dimension is negative or the grid is too
+	 *                                  large.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@NotNull
+	@Contract(value = "_,_,_,_,_,_->new", pure = true)
+	private static <V> Grid<V> build(int width, int height, int depth, boolean torus, boolean hexagon, @NotNull CellFunction<? extends V> function) {
+		Objects.requireNonNull(function, "function");
+		if (width < 0)
+			throw new IllegalArgumentException("width: " + width);
+		if (height < 0)
+			throw new IllegalArgumentException("height: " + height);
+		if (depth < 0)
+			throw new IllegalArgumentException("depth: " + depth);
+
+		long size = (long) width * height * depth;
+		if (size > Integer.MAX_VALUE - 8)
+			throw new IllegalArgumentException("size: " + size);
+
+		//noinspection unchecked
+		Node<V>[] cells = new Node[(int) size];
+		int i = 0;
+		for (int z = 0; z < depth; z++)
+			for (int y = 0; y < height; y++)
+				for (int x = 0; x < width; x++, i++) {
+					V value = function.apply(x, y, z);
+					cells[i] = hexagon ? new HexagonNode<>(value) : new TetragonNode<>(value);
+				}
+
+		int layer = width * height;
+		i = 0;
+		for (int z = 0; z < depth; z++)
+			for (int y = 0; y < height; y++)
+				for (int x = 0; x < width; x++, i++) {
+					Node<V> cell = cells[i];
+
+					if (x + 1 < width)
+						cell.put(Digon.END, cells[i + 1]);
+					else if (torus && width > 1)
+						cell.put(Digon.END, cells[i + 1 - width]);
+
+					if (y + 1 < height)
+						cell.put(Tetragon.TOP, cells[i + width]);
+					else if (torus && height > 1)
+						cell.put(Tetragon.TOP, cells[i + width - layer]);
+
+					if (hexagon)
+						if (z + 1 < depth)
+							cell.put(Hexagon.FRONT, cells[i + layer]);
+						else if (torus && depth > 1)
+							cell.put(Hexagon.FRONT, cells[i + layer - (int) size]);
+				}
+
+		return new Grid<>(cells, width, height, depth, torus);
+	}
+
+	/**
+	 * A function computing the value of a cell from its coordinates.
+	 *
+	 * @param <V> the type of the values.
+	 * @author LSafer
+	 * @version 0.0.5
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@FunctionalInterface
+	public interface CellFunction<V> {
+		/**
+		 * Return the value of the cell at the given coordinates.
+		 *
+		 * @param x the x coordinate of the cell.
+		 * @param y the y coordinate of the cell.
+		 * @param z the z coordinate of the cell. ({@code 0} for two dimensional grids)
+		 * @return the value of the cell.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Nullable
+		V apply(int x, int y, int z);
+	}
+
+	/**
+	 * A handle of a built grid giving constant time access to its cells by their
+	 * coordinates.
+	 *
+	 * @param <V> the type of the values of the cells.
+	 * @author LSafer
+	 * @version 0.0.5
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	public static final class Grid<V> {
+		/**
+		 * The cells. Ordered by {@code z}, then {@code y}, then {@code x}.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		private final Node<V> @NotNull [] cells;
+		/**
+		 * The number of cells along the x axis.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private final int width;
+		/**
+		 * The number of cells along the y axis.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private final int height;
+		/**
+		 * The number of cells along the z axis.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private final int depth;
+		/**
+		 * True, if the edges are linked to the opposite edges.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private final boolean torus;
+
+		/**
+		 * Construct a new grid handle.
+		 *
+		 * @param cells  the cells.
+		 * @param width  the number of cells along the x axis.
+		 * @param height the number of cells along the y axis.
+		 * @param depth  the number of cells along the z axis.
+		 * @param torus  true, if the edges are linked to the opposite edges.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		Grid(@NotNull Node<V> @NotNull [] cells, int width, int height, int depth, boolean torus) {
+			this.cells = cells;
+			this.width = width;
+			this.height = height;
+			this.depth = depth;
+			this.torus = torus;
+		}
+
+		@NotNull
+		@Override
+		public String toString() {
+			return "Grid{" + this.width + "x" + this.height + "x" + this.depth +
+				   (this.torus ? ", torus" : "") + "}";
+		}
+
+		/**
+		 * Return the number of cells along the x axis.
+		 *
+		 * @return the width of this grid.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Contract(pure = true)
+		public int getWidth() {
+			return this.width;
+		}
+
+		/**
+		 * Return the number of cells along the y axis.
+		 *
+		 * @return the height of this grid.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Contract(pure = true)
+		public int getHeight() {
+			return this.height;
+		}
+
+		/**
+		 * Return the number of cells along the z axis. ({@code 1} for two dimensional
+		 * grids)
+		 *
+		 * @return the depth of this grid.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Contract(pure = true)
+		public int getDepth() {
+			return this.depth;
+		}
+
+		/**
+		 * Return true if the edges of this grid are linked to the opposite edges.
+		 *
+		 * @return true, if this grid is a torus.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@Contract(pure = true)
+		public boolean isTorus() {
+			return this.torus;
+		}
+
+		/**
+		 * Return an unmodifiable list of the cells of this grid. Ordered by {@code z},
+		 * then {@code y}, then {@code x}.
+		 *
+		 * @return the cells of this grid.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		@Contract(pure = true)
+		public List<Node<V>> getCells() {
+			return Collections.unmodifiableList(Arrays.asList(this.cells));
+		}
+
+		/**
+		 * Return the cell at the given coordinates with {@code z = 0}.
+		 *
+		 * @param x the x coordinate of the cell.
+		 * @param y the y coordinate of the cell.
+		 * @return the cell at the given coordinates.
+		 * @throws IndexOutOfBoundsException if the coordinates are out of this grid. (wrapped
+		 *                                   around instead if this grid is a torus)
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		@Contract(pure = true)
+		public Node<V> get(int x, int y) {
+			return this.get(x, y, 0);
+		}
+
+		/**
+		 * Return the cell at the given coordinates.
+		 *
+		 * @param x the x coordinate of the cell.
+		 * @param y the y coordinate of the cell.
+		 * @param z the z coordinate of the cell.
+		 * @return the cell at the given coordinates.
+		 * @throws IndexOutOfBoundsException if the coordinates are out of this grid. (wrapped
+		 *                                   around instead if this grid is a torus)
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		@Contract(pure = true)
+		public Node<V> get(int x, int y, int z) {
+			if (this.torus && this.cells.length != 0) {
+				x = Math.floorMod(x, this.width);
+				y = Math.floorMod(y, this.height);
+				z = Math.floorMod(z, this.depth);
+			} else if (x < 0 || x >= this.width || y < 0 || y >= this.height || z < 0 || z >= this.depth)
+				throw new IndexOutOfBoundsException("(" + x + ", " + y + ", " + z + ")");
+
+			return this.cells[x + this.width * (y + this.height * z)];
+		}
+	}
+}
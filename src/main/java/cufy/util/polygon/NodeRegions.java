@@ -0,0 +1,534 @@
+/*
+ *	Copyright 2021 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.util.polygon;
+
+import cufy.util.Node;
+import cufy.util.Node.Key;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Predicate;
+
+/**
+ * Flood fill and connected region labeling over two dimensional {@link NodeGrids.Grid
+ * grids}.
+ * <br>
+ * Two cells are connected if they are linked using {@link Digon#START}/{@link
+ * Digon#END} or {@link Tetragon#TOP}/{@link Tetragon#BOTTOM} and the values of both
+ * match the predicate. So, unlinking two cells puts a wall between them and the edges of
+ * a torus grid are connected. Links to nodes that are not the expected neighbor in the
+ * grid are ignored.
+ * <br>
+ * The cells are identified by their indices in the {@link NodeGrids.Grid#getCells()
+ * cells} of the grid ({@code x + width * y}) and the output is written to an {@code int}
+ * label array of the same length ({@code 0}: not labeled). The fills are iterative
+ * scanline fills with an explicit stack of spans. So, no recursion, no hash sets and
+ * (besides the stack) no per-region allocation.
+ * <br>
+ * The grid must not be mutated during a fill.
+ *
+ * @author LSafer
+ * @version 0.0.5
+ * @since 0.0.5 ~2026.10.17
+ */
+public final class NodeRegions {
+	/**
+	 * Utility classes must not be initialized.
+	 *
+	 * @throws AssertionError when called.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private NodeRegions() {
+		throw new AssertionError("No instance for you!");
+	}
+
+	/**
+	 * Label the cells connected to the cell at the given coordinates with the given
+	 * {@code label}.
+	 * <br>
+	 * Only cells not labeled yet ({@code labels[i] == 0}) with values matching the given
+	 * {@code predicate} are filled.
+	 *
+	 * @param grid      the grid to fill.
+	 * @param x         the x coordinate of the cell to start from.
+	 * @param y         the y coordinate of the cell to start from.
+	 * @param predicate the predicate of the values of the cells to fill.
+	 * @param labels    the labels of the cells.
+	 * @param label     the label to fill with.
+	 * @param <V>       the type of the values of the cells.
+	 * @return the number of filled cells. ({@code 0} if the starting cell is not
+	 * 		fillable)
+	 * @throws NullPointerException      if the given {@code grid} or {@code predicate} or
+	 *                                   {@code labels} is null.
+	 * @throws IllegalArgumentException  if the given {@code grid} is not two dimensional,
+	 *                                   or the given {@code labels} is not as long as the
+	 *                                   cells of the grid, or the given {@code label} is
+	 *                                   zero.
+	 * @throws IndexOutOfBoundsException if the given coordinates are out of the grid.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = 0, to = Integer.MAX_VALUE)
+	@Contract(mutates = "param5")
+	public static <V> int floodFill(@NotNull NodeGrids.Grid<V> grid, int x, int y, @NotNull Predicate<? super V> predicate, int @NotNull [] labels, int label) {
+		Region<V> region = new Region<>(grid, predicate, labels);
+		if (label == 0)
+			throw new IllegalArgumentException("label: " + label);
+		if (x < 0 || x >= region.width || y < 0 || y >= region.height)
+			throw new IndexOutOfBoundsException("(" + x + ", " + y + ")");
+
+		return region.fill(x + region.width * y, label, 0, region.height);
+	}
+
+	/**
+	 * Label the connected regions of the cells with values matching the given {@code
+	 * predicate}. The regions are labeled {@code 1, 2, 3...} in the order of their first
+	 * cells. The other cells are labeled {@code 0}.
+	 *
+	 * @param grid      the grid to label.
+	 * @param predicate the predicate of the values of the cells to label.
+	 * @param labels    the array to write the labels to. Cleared first.
+	 * @param <V>       the type of the values of the cells.
+	 * @return the number of regions.
+	 * @throws NullPointerException     if the given {@code grid} or {@code predicate} or
+	 *                                  {@code labels} is null.
+	 * @throws IllegalArgumentException if the given {@code grid} is not two dimensional,
+	 *                                  or the given {@code labels} is not as long as the
+	 *                                  cells of the grid.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = 0, to = Integer.MAX_VALUE)
+	@Contract(mutates = "param3")
+	public static <V> int label(@NotNull NodeGrids.Grid<V> grid, @NotNull Predicate<? super V> predicate, int @NotNull [] labels) {
+		Region<V> region = new Region<>(grid, predicate, labels);
+		Arrays.fill(labels, 0);
+
+		int regions = 0;
+		for (int i = 0; i < labels.length; i++)
+			if (region.fillable(i))
+				region.fill(i, ++regions, 0, region.height);
+
+		return regions;
+	}
+
+	/**
+	 * Label the connected regions of the cells with values matching the given {@code
+	 * predicate} in parallel on the {@link ForkJoinPool#commonPool() common pool}. The
+	 * result is the same as {@link #label(NodeGrids.Grid, Predicate, int[])}.
+	 *
+	 * @param grid      the grid to label.
+	 * @param predicate the predicate of the values of the cells to label. Invoked
+	 *                  concurrently.
+	 * @param labels    the array to write the labels to. Cleared first.
+	 * @param <V>       the type of the values of the cells.
+	 * @return the number of regions.
+	 * @throws NullPointerException     if the given {@code grid} or {@code predicate} or
+	 *                                  {@code labels} is null.
+	 * @throws IllegalArgumentException if the given {@code grid} is not two dimensional,
+	 *                                  or the given {@code labels} is not as long as the
+	 *                                  cells of the grid.
+	 * @see #parallelLabel(ForkJoinPool, NodeGrids.Grid, Predicate, int[])
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = 0, to = Integer.MAX_VALUE)
+	@Contract(mutates = "param3")
+	public static <V> int parallelLabel(@NotNull NodeGrids.Grid<V> grid, @NotNull Predicate<? super V> predicate, int @NotNull [] labels) {
+		return NodeRegions.parallelLabel(ForkJoinPool.commonPool(), grid, predicate, labels);
+	}
+
+	/**
+	 * Label the connected regions of the cells with values matching the given {@code
+	 * predicate} in parallel on the given {@code pool}. The result is the same as
+	 * {@link #label(NodeGrids.Grid, Predicate, int[])}.
+	 * <br>
+	 * The rows of the grid are split into tiles (bands of rows) labeled independently
+	 * with provisional labels (the index of the first cell of each region plus one). The
+	 * regions crossing the borders of the tiles are then merged using a union-find over
+	 * the provisional labels, and the labels are finally compacted in the order of the
+	 * first cells of the regions.
+	 *
+	 * @param pool      the pool to run on.
+	 * @param grid      the grid to label.
+	 * @param predicate the predicate of the values of the cells to label. Invoked
+	 *                  concurrently.
+	 * @param labels    the array to write the labels to. Cleared first.
+	 * @param <V>       the type of the values of the cells.
+	 * @return the number of regions.
+	 * @throws NullPointerException     if the given {@code pool} or {@code grid} or {@code
+	 *                                  predicate} or {@code labels} is null.
+	 * @throws IllegalArgumentException if the given {@code grid} is not two dimensional,
+	 *                                  or the given {@code labels} is not as long as the
+	 *                                  cells of the grid.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	@Range(from = 0, to = Integer.MAX_VALUE)
+	@Contract(mutates = "param4")
+	public static <V> int parallelLabel(@NotNull ForkJoinPool pool, @NotNull NodeGrids.Grid<V> grid, @NotNull Predicate<? super V> predicate, int @NotNull [] labels) {
+		Objects.requireNonNull(pool, "pool");
+		Region<V> region = new Region<>(grid, predicate, labels);
+		Arrays.fill(labels, 0);
+
+		int width = region.width;
+		int height = region.height;
+		int tiles = Math.max(1, Math.min(height, pool.getParallelism() << 2));
+		int rows = (height + tiles - 1) / tiles;
+
+		//label each tile with provisional labels
+		Tile[] tasks = new Tile[tiles];
+		for (int t = 0; t < tiles; t++) {
+			int from = Math.min(height, t * rows);
+			tasks[t] = new Tile(region, from, Math.min(height, from + rows));
+		}
+		for (Tile task : tasks)
+			pool.execute(task);
+		for (Tile task : tasks)
+			task.join();
+
+		//merge the regions crossing the borders of the tiles
+		int[] parent = new int[labels.length + 1];
+		for (int i = 0; i < parent.length; i++)
+			parent[i] = i;
+
+		for (int t = 0; t < tiles; t++) {
+			int last = tasks[t].to - 1;
+			int next = last + 1;
+
+			if (tasks[t].from == tasks[t].to)
+				continue;
+			if (next == height)
+				if (height > 1)
+					next = 0;
+				else
+					continue;
+			if (next == tasks[t].from)
+				continue;
+
+			for (int x = 0; x < width; x++) {
+				int i = x + width * last;
+				int j = x + width * next;
+
+				if (labels[i] != 0 && labels[j] != 0 && region.neighbor(i, Tetragon.TOP, j))
+					NodeRegions.union(parent, labels[i], labels[j]);
+			}
+		}
+
+		//compact the labels in the order of the first cells
+		int[] compact = new int[labels.length + 1];
+		int regions = 0;
+		for (int i = 0; i < labels.length; i++)
+			if (labels[i] != 0) {
+				int root = NodeRegions.find(parent, labels[i]);
+
+				if (compact[root] == 0)
+					compact[root] = ++regions;
+
+				labels[i] = compact[root];
+			}
+
+		return regions;
+	}
+
+	/**
+	 * Find the root of the given {@code label}, halving the path to it.
+	 *
+	 * @param parent the parents of the labels.
+	 * @param label  the label to find its root.
+	 * @return the root of the given {@code label}.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private static int find(int @NotNull [] parent, int label) {
+		while (parent[label] != label) {
+			parent[label] = parent[parent[label]];
+			label = parent[label];
+		}
+
+		return label;
+	}
+
+	/**
+	 * Merge the sets of the given labels. The smaller root becomes the root, so the
+	 * root of a region is its first cell.
+	 *
+	 * @param parent the parents of the labels.
+	 * @param a      the first label.
+	 * @param b      the second label.
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private static void union(int @NotNull [] parent, int a, int b) {
+		a = NodeRegions.find(parent, a);
+		b = NodeRegions.find(parent, b);
+
+		if (a < b)
+			parent[b] = a;
+		else if (b < a)
+			parent[a] = b;
+	}
+
+	/**
+	 * The state shared by the fills of a grid.
+	 *
+	 * @param <V> the type of the values of the cells.
+	 * @author LSafer
+	 * @version 0.0.5
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private static final class Region<V> {
+		/**
+		 * The cells of the grid.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		private final List<Node<V>> cells;
+		/**
+		 * The predicate of the values of the cells to fill.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		private final Predicate<? super V> predicate;
+		/**
+		 * The labels of the cells.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private final int @NotNull [] labels;
+		/**
+		 * The width of the grid.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private final int width;
+		/**
+		 * The height of the grid.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private final int height;
+
+		/**
+		 * Construct a new fill state.
+		 *
+		 * @param grid      the grid.
+		 * @param predicate the predicate of the values of the cells to fill.
+		 * @param labels    the labels of the cells.
+		 * @throws NullPointerException     if the given {@code grid} or {@code predicate}
+		 *                                  or {@code labels} is null.
+		 * @throws IllegalArgumentException if the given {@code grid} is not two
+		 *                                  dimensional, or the given {@code labels} is
+		 *                                  not as long as the cells of the grid.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private Region(@NotNull NodeGrids.Grid<V> grid, @NotNull Predicate<? super V> predicate, int @NotNull [] labels) {
+			Objects.requireNonNull(grid, "grid");
+			Objects.requireNonNull(predicate, "predicate");
+			Objects.requireNonNull(labels, "labels");
+			if (grid.getDepth() > 1)
+				throw new IllegalArgumentException("depth: " + grid.getDepth());
+			if (labels.length != grid.getCells().size())
+				throw new IllegalArgumentException("labels: " + labels.length);
+
+			this.cells = grid.getCells();
+			this.predicate = predicate;
+			this.labels = labels;
+			this.width = grid.getWidth();
+			this.height = grid.getHeight();
+		}
+
+		/**
+		 * Return true if the cell at the given {@code index} is not labeled yet and its
+		 * value matches the predicate.
+		 *
+		 * @param index the index of the cell.
+		 * @return true, if the cell can be filled.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private boolean fillable(int index) {
+			return this.labels[index] == 0 && this.predicate.test(this.cells.get(index).get());
+		}
+
+		/**
+		 * Return true if the cell at the given {@code index} is linked to the cell at the
+		 * given {@code other} index using the given {@code key}.
+		 *
+		 * @param index the index of the cell.
+		 * @param key   the key of the link.
+		 * @param other the index of the expected neighbor.
+		 * @return true, if the cells are linked.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private boolean neighbor(int index, @NotNull Key key, int other) {
+			Node<V> node = this.cells.get(index).get(key);
+			return node != null && node == this.cells.get(other);
+		}
+
+		/**
+		 * Return the index of the neighbor of the cell at the given {@code index} using
+		 * the given {@code key}, if it is in the rows {@code [from, to)}.
+		 *
+		 * @param index the index of the cell.
+		 * @param key   the key to follow.
+		 * @param from  the first row (inclusive).
+		 * @param to    the last row (exclusive).
+		 * @return the index of the neighbor. Or {@code -1} if there is no such neighbor.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private int follow(int index, @NotNull Key key, int from, int to) {
+			int x = index % this.width;
+			int y = index / this.width;
+
+			if (key == Digon.END)
+				x = x + 1 == this.width ? 0 : x + 1;
+			else if (key == Digon.START)
+				x = x == 0 ? this.width - 1 : x - 1;
+			else if (key == Tetragon.TOP)
+				y = y + 1 == this.height ? 0 : y + 1;
+			else
+				y = y == 0 ? this.height - 1 : y - 1;
+
+			int other = x + this.width * y;
+			return y >= from && y < to && other != index && this.neighbor(index, key, other) ? other : -1;
+		}
+
+		/**
+		 * Fill the region of the cell at the given {@code start} index within the rows
+		 * {@code [from, to)} with the given {@code label}.
+		 *
+		 * @param start the index of the cell to start from.
+		 * @param label the label to fill with.
+		 * @param from  the first row (inclusive).
+		 * @param to    the last row (exclusive).
+		 * @return the number of filled cells.
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private int fill(int start, int label, int from, int to) {
+			if (!this.fillable(start))
+				return 0;
+
+			int[] labels = this.labels;
+			int[] stack = new int[16];
+			int size = 0;
+			int filled = 0;
+
+			stack[size++] = start;
+			while (size > 0) {
+				int seed = stack[--size];
+
+				if (!this.fillable(seed))
+					continue;
+
+				//move to the start of the span (bounded for rows wrapping around)
+				int first = seed;
+				for (int n = 1, i; n < this.width && (i = this.follow(first, Digon.START, from, to)) >= 0 && this.fillable(i); n++)
+					first = i;
+
+				//fill the span, seeding the spans above and below it
+				//a run above or below is only continued if its cells are linked to each other
+				int up = -1;
+				int down = -1;
+				for (int i = first; i >= 0 && this.fillable(i); i = this.follow(i, Digon.END, from, to)) {
+					labels[i] = label;
+					filled++;
+
+					int above = this.follow(i, Tetragon.TOP, from, to);
+					if (above >= 0 && this.fillable(above)) {
+						if (up < 0 || !this.neighbor(up, Digon.END, above)) {
+							if (size == stack.length)
+								stack = Arrays.copyOf(stack, size << 1);
+							stack[size++] = above;
+						}
+						up = above;
+					} else
+						up = -1;
+
+					int below = this.follow(i, Tetragon.BOTTOM, from, to);
+					if (below >= 0 && this.fillable(below)) {
+						if (down < 0 || !this.neighbor(down, Digon.END, below)) {
+							if (size == stack.length)
+								stack = Arrays.copyOf(stack, size << 1);
+							stack[size++] = below;
+						}
+						down = below;
+					} else
+						down = -1;
+				}
+			}
+
+			return filled;
+		}
+	}
+
+	/**
+	 * A task labeling a band of rows with provisional labels.
+	 *
+	 * @author LSafer
+	 * @version 0.0.5
+	 * @since 0.0.5 ~2026.10.17
+	 */
+	private static final class Tile extends RecursiveAction {
+		@SuppressWarnings("JavaDoc")
+		private static final long serialVersionUID = -6094718208365810924L;
+
+		/**
+		 * The fill state.
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		@NotNull
+		private final Region<?> region;
+		/**
+		 * The first row (inclusive).
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private final int from;
+		/**
+		 * The last row (exclusive).
+		 *
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private final int to;
+
+		/**
+		 * Construct a new task labeling the given rows.
+		 *
+		 * @param region the fill state.
+		 * @param from   the first row (inclusive).
+		 * @param to     the last row (exclusive).
+		 * @since 0.0.5 ~2026.10.17
+		 */
+		private Tile(@NotNull Region<?> region, int from, int to) {
+			this.region = region;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			Region<?> region = this.region;
+			int end = this.to * region.width;
+
+			for (int i = this.from * region.width; i < end; i++)
+				if (region.fillable(i))
+					region.fill(i, i + 1, this.from, this.to);
+		}
+	}
+}
@@ -45,6 +45,11 @@ public interface Tetragon extends Digon {
 				   object.toString().equals(this.toString());
 		}
 
+		@Override
+		public int hashCode() {
+			return this.toString().hashCode();
+		}
+
 
 		@NotNull
 		@Override
@@ -75,6 +80,11 @@ public interface Tetragon extends Digon {
 				   object.toString().equals(this.toString());
 		}
 
+		@Override
+		public int hashCode() {
+			return this.toString().hashCode();
+		}
+
 		@NotNull
 		@Override
 		public Key opposite() {
@@ -14,7 +14,7 @@
  *	limitations under the License.
  */
 /**
- * This package contains polygons constants.
+ * This package contains polygons constants and the nodes specialized for them.
  *
  * @author LSafer
  * @version 0.0.2
@@ -0,0 +1,167 @@
+package cufy.util;
+
+import cufy.util.Node.Key;
+import cufy.util.polygon.Digon;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChainTest {
+	@Test
+	public void asDeque_queue() {
+		Key key = Digon.END;
+		Chain<Integer> chain = new Chain<>(key);
+		Deque<Node<Integer>> deque = chain.asDeque();
+		Deque<Node<Integer>> expected = new ArrayDeque<>();
+
+		for (int i = 0; i < 1000; i++) {
+			Node<Integer> node = new HashNode<>(i);
+			if (i % 3 == 0) {
+				deque.addFirst(node);
+				expected.addFirst(node);
+			} else {
+				deque.addLast(node);
+				expected.addLast(node);
+			}
+			if (i % 5 == 0)
+				assertSame(expected.pollFirst(), deque.pollFirst(), "Wrong first");
+			if (i % 7 == 0)
+				assertSame(expected.pollLast(), deque.pollLast(), "Wrong last");
+		}
+
+		assertEquals(expected.size(), chain.size(), "Wrong size");
+		assertSame(expected.peekFirst(), chain.head(), "Wrong head");
+		assertSame(expected.peekLast(), chain.tail(), "Wrong tail");
+		assertNull(chain.head().get(key.opposite()), "Head has a previous node");
+		assertNull(chain.tail().get(key), "Tail has a next node");
+
+		Iterator<Node<Integer>> iterator = expected.iterator();
+		for (Node<Integer> node : deque)
+			assertSame(iterator.next(), node, "Wrong order");
+
+		while (!expected.isEmpty())
+			assertSame(expected.poll(), deque.poll(), "Wrong order");
+
+		assertTrue(chain.isEmpty(), "Not empty");
+		assertNull(deque.poll(), "Not empty");
+	}
+
+	@Test
+	public void wrap_remove() {
+		Key key = Digon.END;
+		Node<String> a = new HashNode<>("A");
+		Node<String> b = new HashNode<>("B");
+		Node<String> c = new HashNode<>("C");
+		Nodes.concat(key, a, b, c);
+
+		Chain<String> chain = Nodes.chain(key, b);
+		assertEquals(3, chain.size(), "Wrong size");
+		assertSame(a, chain.head(), "Wrong head");
+		assertSame(c, chain.tail(), "Wrong tail");
+
+		chain.remove(b);
+		assertSame(c, a.get(key), "Not relinked");
+		assertEquals(2, chain.size(), "Wrong size");
+		assertThrows(IllegalArgumentException.class, () -> chain.addLast(a), "Linked node added");
+
+		c.put(key, a);
+		assertThrows(IllegalArgumentException.class, () -> Nodes.chain(key, a), "Ring wrapped");
+	}
+
+	@Test
+	public void foreign() {
+		Chain<Integer> chain = new Chain<>(Digon.END);
+		Chain<Integer> other = new Chain<>(Digon.END);
+		for (int i = 0; i < 3; i++) {
+			chain.addLast(new HashNode<>(i));
+			other.addLast(new HashNode<>(i));
+		}
+
+		assertThrows(IllegalArgumentException.class, () -> chain.remove(new HashNode<>(9)), "Removed a detached node");
+		assertThrows(IllegalArgumentException.class, () -> chain.remove(other.head()), "Removed a foreign head");
+		assertThrows(IllegalArgumentException.class, () -> chain.remove(other.tail()), "Removed a foreign tail");
+		assertThrows(IllegalArgumentException.class, () -> chain.insert(new HashNode<>(9), new HashNode<>(8)), "Inserted after a stranger");
+		assertThrows(IllegalArgumentException.class, () -> chain.addLast(chain.head()), "Added a member");
+
+		assertEquals(3, chain.size(), "Size corrupted");
+		assertNotNull(chain.head(), "Head corrupted");
+		assertNotNull(chain.tail(), "Tail corrupted");
+
+		Chain<Integer> single = new Chain<>(Digon.END);
+		Node<Integer> only = new HashNode<>(0);
+		single.addLast(only);
+		assertThrows(IllegalArgumentException.class, () -> single.addFirst(only), "Added the only node");
+		assertThrows(IllegalArgumentException.class, () -> single.insert(only, only), "Inserted the only node");
+		single.remove(only);
+		assertTrue(single.isEmpty(), "Not removed");
+		assertThrows(IllegalArgumentException.class, () -> single.remove(only), "Removed twice");
+	}
+
+	@Test
+	public void spliterator_sized() {
+		Chain<Integer> chain = new Chain<>(Digon.END);
+		for (int i = 0; i < 5000; i++)
+			chain.addLast(new IntNode(i));
+
+		Spliterator<Node<Integer>> spliterator = chain.spliterator();
+		assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED), "Not sized");
+		assertEquals(5000, spliterator.estimateSize(), "Wrong size");
+
+		Spliterator<Node<Integer>> prefix = spliterator.trySplit();
+		assertNotNull(prefix, "Not split");
+		assertEquals(5000, prefix.estimateSize() + spliterator.estimateSize(), "Wrong split sizes");
+		assertEquals(5000, chain.parallelStream().count(), "Wrong count");
+		assertSame(chain.head(), chain.stream().findFirst().orElse(null), "Wrong first");
+	}
+
+	@Test
+	public void indexed() {
+		IndexedChain<Integer> chain = new IndexedChain<>(Digon.END);
+		List<Node<Integer>> nodes = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			Node<Integer> node = new HashNode<>(i);
+			nodes.add(node);
+			chain.addLast(node);
+		}
+
+		assertTrue(chain.contains(nodes.get(50)), "Not indexed");
+		assertFalse(chain.contains(new HashNode<>(50)), "Wrong membership");
+
+		chain.remove(nodes.get(50));
+		assertSame(nodes.get(49), nodes.get(51).get(Digon.START), "Wrong relink");
+		assertSame(nodes.get(0), chain.pollFirst(), "Wrong head");
+		assertFalse(chain.contains(nodes.get(50)), "Not unindexed");
+		assertFalse(chain.contains(nodes.get(0)), "Not unindexed");
+		assertTrue(chain.asDeque().remove(nodes.get(99)), "Not removed");
+		assertFalse(chain.asDeque().remove(nodes.get(99)), "Removed twice");
+		assertEquals(97, chain.size(), "Wrong size");
+
+		IndexedChain<Integer> wrapped = new IndexedChain<>(Digon.END, nodes.get(30));
+		assertEquals(97, wrapped.size(), "Wrong size");
+		assertTrue(wrapped.contains(nodes.get(98)), "Not indexed");
+
+		//foreign nodes, including the middle of another chain with the same key
+		Chain<Integer> other = new Chain<>(Digon.END);
+		for (int i = 0; i < 3; i++)
+			other.addLast(new HashNode<>(i));
+		Node<Integer> middle = other.head().get(Digon.END);
+
+		assertThrows(IllegalArgumentException.class, () -> chain.remove(middle), "Removed a foreign node");
+		assertThrows(IllegalArgumentException.class, () -> chain.remove(new HashNode<>(9)), "Removed a detached node");
+		assertThrows(IllegalArgumentException.class, () -> chain.insert(middle, new HashNode<>(9)), "Inserted after a foreign node");
+		assertThrows(IllegalArgumentException.class, () -> chain.insert(new HashNode<>(8), new HashNode<>(9)), "Inserted after a detached node");
+		assertEquals(97, chain.size(), "Size corrupted");
+		assertEquals(3, other.size(), "Foreign chain corrupted");
+		assertSame(middle, other.tail().get(Digon.START), "Foreign chain corrupted");
+
+		chain.clear();
+		assertFalse(chain.contains(nodes.get(1)), "Not cleared");
+	}
+}
@@ -0,0 +1,85 @@
+package cufy.util;
+
+import cufy.util.Node.Key;
+import cufy.util.polygon.Digon;
+import cufy.util.polygon.Tetragon;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentNodeTest {
+	@Test
+	public void put_remove() {
+		Node<String> a = new ConcurrentNode<>("A");
+		Node<String> b = new ConcurrentNode<>("B");
+		Node<String> c = new ConcurrentNode<>("C");
+
+		assertNull(a.put(Digon.END, b), "Unexpected previous node");
+		assertSame(b, a.get(Digon.END), "Wrong end");
+		assertSame(a, b.get(Digon.START), "Wrong start");
+
+		assertSame(b, a.put(Digon.END, c), "Wrong previous node");
+		assertNull(b.get(Digon.START), "Replaced relation still visible");
+		assertEquals(0, b.size(), "Replaced relation still counted");
+		assertSame(a, c.get(Digon.START), "Wrong start");
+
+		assertSame(c, a.remove(Digon.END), "Wrong removed node");
+		assertNull(c.get(Digon.START), "Removed relation still visible");
+		assertTrue(a.isEmpty(), "Removed relation still counted");
+
+		assertThrows(
+				IllegalArgumentException.class,
+				() -> a.put(Digon.END, new HashNode<>("H")),
+				"Linked to a non-concurrent node"
+		);
+	}
+
+	@Test
+	public void symmetry() throws Exception {
+		int count = 16;
+		Key[] keys = {Digon.END, Digon.START, Tetragon.TOP, Tetragon.BOTTOM};
+		List<Node<Integer>> nodes = new ArrayList<>();
+		for (int i = 0; i < count; i++)
+			nodes.add(new ConcurrentNode<>(i));
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 4; t++) {
+				long seed = t;
+				futures.add(executor.submit(() -> {
+					Random random = new Random(seed);
+					for (int i = 0; i < 20_000; i++) {
+						Node<Integer> node = nodes.get(random.nextInt(count));
+						Key key = keys[random.nextInt(keys.length)];
+
+						if (random.nextInt(4) == 0)
+							node.remove(key);
+						else
+							node.put(key, nodes.get(random.nextInt(count)));
+					}
+				}));
+			}
+			for (Future<?> future : futures)
+				future.get(1, TimeUnit.MINUTES);
+		} finally {
+			executor.shutdownNow();
+		}
+
+		for (Node<Integer> node : nodes)
+			for (Key key : keys) {
+				Node<Integer> other = node.get(key);
+
+				if (other != null)
+					assertSame(node, other.get(key.opposite()), "Asymmetric relation");
+			}
+	}
+}
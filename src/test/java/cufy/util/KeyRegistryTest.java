@@ -0,0 +1,144 @@
+package cufy.util;
+
+import cufy.util.Node.Key;
+import cufy.util.NodeTest.Compass;
+import cufy.util.polygon.Digon;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeyRegistryTest {
+	@Test
+	public void opposites() {
+		Key[] keys = {
+				Digon.START,
+				Compass.NORTH,
+				Compass.EAST,
+				Nodes.key("LEFT", "RIGHT")
+		};
+
+		for (Key key : keys) {
+			int ordinal = KeyRegistry.ordinal(key);
+			int opposite = KeyRegistry.ordinal(key.opposite());
+
+			assertNotEquals(ordinal, opposite, "Key and opposite share an ordinal");
+			assertEquals(opposite, KeyRegistry.opposite(ordinal), "Wrong opposite ordinal");
+			assertEquals(ordinal, KeyRegistry.opposite(opposite), "Wrong opposite ordinal");
+			assertSame(key, KeyRegistry.key(ordinal), "Wrong key for ordinal");
+			assertEquals(ordinal, KeyRegistry.ordinal(key), "Ordinal changed");
+		}
+	}
+
+	@Test
+	public void equal_keys() throws IOException, ClassNotFoundException {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+			oos.writeObject(Digon.END);
+		}
+
+		Key copy;
+		try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()))) {
+			copy = (Key) ois.readObject();
+		}
+
+		assertNotSame(Digon.END, copy, "Poor clone");
+		assertEquals(
+				KeyRegistry.ordinal(Digon.END),
+				KeyRegistry.ordinal(copy),
+				"Equal keys must share an ordinal"
+		);
+	}
+
+	@Test
+	public void arrayNode() {
+		Node<String> center = new ArrayNode<>("C");
+		Node<String> north = new ArrayNode<>("N");
+		Node<String> east = new HashNode<>("E");
+
+		center.put(Compass.NORTH, north);
+		center.put(Compass.EAST, east);
+
+		assertSame(north, center.get(Compass.NORTH), "Wrong north");
+		assertSame(center, north.get(Compass.SOUTH), "Wrong south");
+		assertSame(east, center.get(Compass.EAST), "Wrong east");
+		assertSame(center, east.get(Compass.WEST), "Wrong west");
+		assertEquals(2, center.size(), "Wrong size");
+
+		assertSame(north, center.remove(Compass.NORTH), "Wrong removed node");
+		assertNull(center.get(Compass.NORTH), "Removed node still linked");
+		assertEquals(1, center.size(), "Wrong size after removal");
+
+		//lookups do not register
+		Key key = Nodes.key("IN", "OUT");
+		int size = KeyRegistry.size();
+		assertNull(center.get(key), "Unknown key linked");
+		assertNull(center.remove(key), "Unknown key removed");
+		assertFalse(center.containsKey(key), "Unknown key contained");
+		assertEquals(-1, KeyRegistry.find(key), "Lookup registered the key");
+		assertEquals(size, KeyRegistry.size(), "Lookup registered the key");
+
+		center.put(key, north);
+		assertEquals(KeyRegistry.ordinal(key), KeyRegistry.find(key), "Linking has not registered the key");
+		assertSame(north, center.get(key), "Wrong node after registering");
+		assertSame(center, north.get(key.opposite()), "Wrong opposite after registering");
+	}
+
+	@Test
+	public void find_copies() throws IOException, ClassNotFoundException {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+			oos.writeObject(Digon.END);
+		}
+
+		Key copy;
+		try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()))) {
+			copy = (Key) ois.readObject();
+		}
+
+		Node<String> node = new ArrayNode<>("N");
+		Node<String> end = new ArrayNode<>("E");
+		node.put(Digon.END, end);
+
+		int size = KeyRegistry.size();
+		assertEquals(KeyRegistry.ordinal(Digon.END), KeyRegistry.find(copy), "Equal copy not resolved");
+		assertSame(end, node.get(copy), "Equal copy not resolved by the node");
+		assertEquals(size, KeyRegistry.size(), "Lookup registered the copy");
+	}
+
+	@Test
+	public void find_concurrent() throws Exception {
+		int count = 2_000;
+		Key[] keys = new Key[count];
+		for (int i = 0; i < count; i++)
+			keys[i] = Nodes.key("K" + i, "O" + i);
+
+		Thread reader = new Thread(() -> {
+			for (int round = 0; round < 50; round++)
+				for (Key key : keys) {
+					int ordinal = KeyRegistry.find(key);
+
+					if (ordinal >= 0)
+						//must never be half published
+						KeyRegistry.opposite(ordinal);
+				}
+		});
+		Throwable[] failure = new Throwable[1];
+		reader.setUncaughtExceptionHandler((t, e) -> failure[0] = e);
+		reader.start();
+
+		for (Key key : keys)
+			KeyRegistry.ordinal(key);
+
+		reader.join();
+		assertNull(failure[0], "Found a half published ordinal");
+
+		for (Key key : keys)
+			assertEquals(
+					KeyRegistry.find(key.opposite()),
+					KeyRegistry.opposite(KeyRegistry.find(key)),
+					"Wrong opposite"
+			);
+	}
+}
@@ -0,0 +1,70 @@
+package cufy.util;
+
+import cufy.util.Node.Key;
+import cufy.util.polygon.Digon;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NodeComponentsTest {
+	@Test
+	public void sameComponent() {
+		Key next = Digon.END;
+		Key child = Nodes.key("child", "parent");
+		List<Node<Integer>> nodes = new ArrayList<>();
+		for (int i = 0; i < 10; i++)
+			nodes.add(new HashNode<>(i));
+
+		//[0..4] chained, [5..9] chained, [2] has the child [7]
+		for (int i = 0; i < 9; i++)
+			if (i != 4)
+				nodes.get(i).put(next, nodes.get(i + 1));
+		nodes.get(2).put(child, nodes.get(7));
+
+		NodeComponents chain = NodeComponents.of(nodes.get(0), NodeTraversal.keys(next, next.opposite()));
+		assertEquals(5, chain.size(), "Wrong size");
+		assertEquals(1, chain.count(), "Wrong count");
+		assertTrue(chain.sameComponent(nodes.get(0), nodes.get(4)), "Not same");
+		assertFalse(chain.sameComponent(nodes.get(0), nodes.get(7)), "Followed a filtered key");
+
+		assertEquals(5, chain.addAll(nodes.get(9), NodeTraversal.keys(next, next.opposite())), "Wrong added");
+		assertEquals(2, chain.count(), "Wrong count");
+		assertFalse(chain.sameComponent(nodes.get(4), nodes.get(5)), "Merged unlinked");
+
+		//re-walking from a known node still merges through the new keys
+		assertEquals(0, chain.addAll(nodes.get(2), NodeTraversal.any()), "Wrong added");
+		assertEquals(1, chain.count(), "Not merged");
+		assertEquals(chain.component(nodes.get(0)), chain.component(nodes.get(9)), "Wrong component");
+		assertEquals(-1, chain.component(new HashNode<>(0)), "Wrong absence");
+	}
+
+	@Test
+	public void incremental() {
+		NodeComponents components = new NodeComponents();
+		List<Node<Integer>> nodes = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			Node<Integer> node = new HashNode<>(i);
+			nodes.add(node);
+			assertTrue(components.add(node), "Not added");
+		}
+
+		assertFalse(components.add(nodes.get(3)), "Added twice");
+		assertEquals(1000, components.count(), "Wrong count");
+
+		for (int i = 0; i + 2 < 1000; i += 2)
+			components.put(nodes.get(i), Digon.END, nodes.get(i + 2));
+
+		assertEquals(501, components.count(), "Wrong count");
+		assertTrue(components.sameComponent(nodes.get(0), nodes.get(998)), "Not same");
+		assertFalse(components.sameComponent(nodes.get(0), nodes.get(999)), "Wrong same");
+		assertSame(nodes.get(2), nodes.get(0).get(Digon.END), "Not linked");
+
+		assertTrue(components.union(nodes.get(1), nodes.get(0)), "Not merged");
+		assertTrue(components.union(nodes.get(999), nodes.get(0)), "Not merged");
+		assertFalse(components.union(nodes.get(1), nodes.get(999)), "Merged twice");
+		assertEquals(499, components.count(), "Wrong count");
+	}
+}
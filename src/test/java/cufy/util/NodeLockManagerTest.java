@@ -0,0 +1,111 @@
+package cufy.util;
+
+import cufy.util.Node.Key;
+import cufy.util.polygon.Digon;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NodeLockManagerTest {
+	@Test
+	public void pop_insert() throws Exception {
+		Key key = Digon.END;
+		int count = 256;
+		List<Node<Integer>> nodes = new ArrayList<>();
+		for (int i = 0; i < count; i++)
+			nodes.add(new HashNode<>(i));
+
+		//[0]-[1]-...-[count-1], the head is never moved
+		Nodes.concat(key, nodes);
+
+		NodeLockManager manager = new NodeLockManager();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 4; t++) {
+				int thread = t;
+				futures.add(executor.submit(() -> {
+					Random random = new Random(thread);
+					for (int i = 0; i < 5_000; i++) {
+						//each thread moves its own nodes after its own nodes (or the head)
+						Node<Integer> node = nodes.get(1 + thread + 4 * random.nextInt((count - 1) / 4));
+						Node<Integer> after = random.nextInt(8) == 0 ?
+											  nodes.get(0) :
+											  nodes.get(1 + thread + 4 * random.nextInt((count - 1) / 4));
+
+						if (after == node)
+							continue;
+
+						manager.pop(key, node);
+						manager.insert(key, after, node);
+					}
+				}));
+			}
+			for (Future<?> future : futures)
+				future.get(1, TimeUnit.MINUTES);
+		} finally {
+			executor.shutdownNow();
+		}
+
+		Set<Node<Integer>> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+		Node<Integer> previous = null;
+		for (Node<Integer> node = nodes.get(0); node != null; node = node.get(key)) {
+			assertTrue(seen.add(node), "Loop in the chain");
+			assertSame(previous, node.get(key.opposite()), "Asymmetric chain");
+			previous = node;
+		}
+
+		assertEquals(count, seen.size(), "Nodes lost");
+	}
+
+	@Test
+	public void insertAll() throws Exception {
+		Key key = Digon.END;
+		List<Node<Integer>> anchors = new ArrayList<>();
+		for (int i = 0; i < 8; i++)
+			anchors.add(new HashNode<>(-1));
+
+		Nodes.concat(key, anchors);
+
+		NodeLockManager manager = new NodeLockManager(4);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 4; t++) {
+				int thread = t;
+				futures.add(executor.submit(() -> {
+					Random random = new Random(thread);
+					for (int i = 0; i < 2_000; i++) {
+						//a private chain of three, inserted after a shared anchor
+						List<Node<Integer>> chain = new ArrayList<>();
+						for (int j = 0; j < 3; j++)
+							chain.add(new HashNode<>(thread));
+
+						Nodes.concat(key, chain);
+						manager.insertAll(key, anchors.get(random.nextInt(anchors.size())), chain.get(1));
+					}
+				}));
+			}
+			for (Future<?> future : futures)
+				future.get(1, TimeUnit.MINUTES);
+		} finally {
+			executor.shutdownNow();
+		}
+
+		Set<Node<Integer>> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+		Node<Integer> previous = null;
+		for (Node<Integer> node = anchors.get(0); node != null; node = node.get(key)) {
+			assertTrue(seen.add(node), "Loop in the chain");
+			assertSame(previous, node.get(key.opposite()), "Asymmetric chain");
+			previous = node;
+		}
+
+		assertEquals(8 + 4 * 2_000 * 3, seen.size(), "Nodes lost");
+	}
+}
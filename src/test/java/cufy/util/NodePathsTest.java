@@ -0,0 +1,93 @@
+package cufy.util;
+
+import cufy.util.polygon.Digon;
+import cufy.util.polygon.Tetragon;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NodePathsTest {
+	@Test
+	public void dijkstra_aStar() {
+		int n = 50;
+		List<Node<Integer>> grid = NodePathsTest.grid(n);
+		//a wall at the column 25 with a gap at the bottom row
+		NodePaths.LinkCost<Integer> cost = (from, key, to) -> {
+			int i = to.get();
+			return i % n == 25 && i / n != n - 1 ? Double.POSITIVE_INFINITY : 1 + i % 3;
+		};
+		NodePaths.Heuristic<Integer> heuristic = node -> {
+			int i = node.get();
+			return Math.abs(n - 1 - i % n) + Math.abs(i / n);
+		};
+
+		NodePaths.Path<Integer> dijkstra = NodePaths.dijkstra(grid.get(0), grid.get(n - 1), cost);
+		NodePaths.Path<Integer> aStar = NodePaths.aStar(grid.get(0), grid.get(n - 1), cost, heuristic);
+
+		assertNotNull(dijkstra, "Not found");
+		assertNotNull(aStar, "Not found");
+		assertEquals(dijkstra.getCost(), aStar.getCost(), "Not the cheapest");
+		assertSame(grid.get(0), aStar.getNodes().get(0), "Wrong source");
+		assertSame(grid.get(n - 1), aStar.getNodes().get(aStar.getNodes().size() - 1), "Wrong target");
+		assertTrue(aStar.getNodes().contains(grid.get(n * (n - 1) + 25)), "Passed the wall");
+
+		double total = 0;
+		for (int i = 1; i < aStar.getNodes().size(); i++)
+			total += cost.cost(aStar.getNodes().get(i - 1), Digon.END, aStar.getNodes().get(i));
+		assertEquals(aStar.getCost(), total, "Wrong cost");
+
+		NodePaths.Path<Integer> uniform = NodePaths.dijkstra(grid.get(0), grid.get(n * n - 1), NodePaths.uniform());
+		assertNotNull(uniform, "Not found");
+		assertEquals(2 * (n - 1), uniform.getCost(), "Not the shortest");
+		assertEquals(2 * n - 1, uniform.getNodes().size(), "Wrong length");
+	}
+
+	@Test
+	public void unreachable() {
+		List<Node<Integer>> grid = NodePathsTest.grid(3);
+		Node<Integer> island = new HashNode<>(-1);
+
+		assertNull(NodePaths.dijkstra(grid.get(0), island, NodePaths.uniform()), "Reached an island");
+		assertThrows(IllegalArgumentException.class, () -> NodePaths.dijkstra(grid.get(0), grid.get(8), (from, key, to) -> -1), "Negative cost");
+
+		NodePaths.Path<Integer> self = NodePaths.dijkstra(island, island, NodePaths.uniform());
+		assertNotNull(self, "Not found");
+		assertEquals(1, self.getNodes().size(), "Wrong length");
+		assertEquals(0, self.getCost(), "Wrong cost");
+	}
+
+	@Test
+	public void identityIndex() {
+		NodeIdentityIndex index = new NodeIdentityIndex(0);
+		List<Node<String>> nodes = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			Node<String> node = new HashNode<>("X");
+			nodes.add(node);
+			assertEquals(i, index.add(node), "Wrong id");
+		}
+
+		assertEquals(7, index.add(nodes.get(7)), "Added twice");
+		assertEquals(1000, index.size(), "Wrong size");
+		assertEquals(-1, index.indexOf(new HashNode<>("X")), "Wrong absence");
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(i, index.indexOf(nodes.get(i)), "Wrong id");
+			assertSame(nodes.get(i), index.get(i), "Wrong node");
+		}
+	}
+
+	private static List<Node<Integer>> grid(int n) {
+		List<Node<Integer>> nodes = new ArrayList<>();
+		for (int i = 0; i < n * n; i++) {
+			Node<Integer> node = new HashNode<>(i);
+			nodes.add(node);
+			if (i % n != 0)
+				nodes.get(i - 1).put(Digon.END, node);
+			if (i >= n)
+				nodes.get(i - n).put(Tetragon.TOP, node);
+		}
+		return nodes;
+	}
+}
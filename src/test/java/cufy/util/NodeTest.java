@@ -152,6 +152,76 @@ public class NodeTest {
 		//		);
 	}
 
+	@Test
+	public void opposites_getLink() {
+		Node<String> node = new HashNode<>("C");
+		Node<String> other = new HashNode<>("S");
+		Link<String> link = new SimpleLink<>(Compass.NORTH);
+
+		node.linkSet().add(link);
+		other.linkSet().add(link.getOpposite());
+
+		assertSame(
+				link,
+				node.getLink(Compass.NORTH),
+				"getLink is looking at the wrong side"
+		);
+		assertNull(
+				node.getLink(Compass.SOUTH),
+				"getLink is seeing the mirror"
+		);
+		assertSame(
+				link.getOpposite(),
+				other.getLink(Compass.SOUTH),
+				"getLink is looking at the wrong side"
+		);
+
+		//remove
+		assertSame(
+				other,
+				node.remove(Compass.SOUTH),
+				"remove is looking at the wrong side"
+		);
+		assertNull(
+				node.getLink(Compass.NORTH),
+				"remove has not removed the link"
+		);
+		assertFalse(
+				node.linkSet().contains(link),
+				"remove has not removed the link from the link set"
+		);
+	}
+
+	@Test
+	public void primitives() {
+		IntNode node = new IntNode(3);
+		LongNode next = new LongNode(4L);
+		LongNode previous = new LongNode(2L);
+		DoubleNode fraction = new DoubleNode(0.5);
+		Node<Integer> other = new HashNode<>(7);
+
+		node.put(Compass.NORTH, other);
+		next.put(Compass.WEST, previous);
+
+		assertSame(other, node.get(Compass.NORTH), "Wrong north");
+		assertSame(node, other.get(Compass.SOUTH), "Wrong south");
+		assertSame(previous, next.get(Compass.WEST), "Wrong west");
+		assertSame(next, previous.get(Compass.EAST), "Wrong east");
+		assertEquals(1, node.size(), "Wrong size");
+
+		assertEquals(3, node.setInt(5), "Wrong previous value");
+		assertEquals(Integer.valueOf(5), node.get(), "Boxed value not updated");
+		assertEquals(Long.valueOf(4L), next.set(8L), "Wrong previous value");
+		assertEquals(8L, next.getLong(), "Unboxed value not updated");
+		assertEquals(0.5, fraction.setDouble(1.5), "Wrong previous value");
+		assertEquals(Double.valueOf(1.5), fraction.get(), "Boxed value not updated");
+		assertThrows(NullPointerException.class, () -> node.set(null), "Accepted null");
+
+		assertSame(other, node.remove(Compass.NORTH), "Wrong removed node");
+		assertTrue(node.isEmpty(), "Links left");
+		assertNull(other.get(Compass.SOUTH), "Link not removed from the other side");
+	}
+
 	public enum Compass implements Key {
 		WEST("EAST"),
 		EAST("WEST"),
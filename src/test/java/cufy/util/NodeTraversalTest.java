@@ -0,0 +1,108 @@
+package cufy.util;
+
+import cufy.util.Node.Key;
+import cufy.util.polygon.Digon;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NodeTraversalTest {
+	@Test
+	public void breadthFirst_depthFirst() {
+		Key next = Digon.END;
+		Key child = Nodes.key("child", "parent");
+		//[0]-[1]-[2]-[3] with [1] having the child [4] having the child [5]
+		List<Node<Integer>> nodes = new ArrayList<>();
+		for (int i = 0; i < 6; i++)
+			nodes.add(new HashNode<>(i));
+
+		Nodes.concat(next, nodes.get(0), nodes.get(1), nodes.get(2), nodes.get(3));
+		nodes.get(1).put(child, nodes.get(4));
+		nodes.get(4).put(child, nodes.get(5));
+
+		assertEquals(4, NodeTraversal.reachable(nodes.get(0), next, next.opposite()).size(), "Wrong chain reach");
+		assertEquals(6, NodeTraversal.reachable(nodes.get(3), next, next.opposite(), child).size(), "Wrong full reach");
+
+		int[] depths = new int[6];
+		int count = NodeTraversal.breadthFirst(nodes.get(0), NodeTraversal.any(), NodeTraversal.UNBOUNDED, (node, depth) -> {
+			depths[node.get()] = depth;
+			return true;
+		});
+		assertEquals(6, count, "Wrong count");
+		assertArrayEquals(new int[]{0, 1, 2, 3, 2, 3}, depths, "Wrong depths");
+
+		List<Integer> order = new ArrayList<>();
+		NodeTraversal.depthFirst(nodes.get(0), NodeTraversal.keys(next, child), 2, (node, depth) -> order.add(node.get()));
+		assertEquals(4, order.size(), "Depth not bounded");
+		assertFalse(order.contains(5), "Depth not bounded");
+
+		int stopped = NodeTraversal.depthFirst(nodes.get(0), NodeTraversal.any(), NodeTraversal.UNBOUNDED, (node, depth) -> node.get() != 1);
+		assertEquals(2, stopped, "Not stopped");
+	}
+
+	@Test
+	public void parallelBreadthFirst() {
+		Key right = Digon.END;
+		Key down = Nodes.key("down", "up");
+		int n = 100;
+		//a n*n grid, 2n-1 diagonals from the corner
+		List<Node<Integer>> nodes = new ArrayList<>();
+		for (int i = 0; i < n * n; i++) {
+			Node<Integer> node = new HashNode<>(i);
+			nodes.add(node);
+			if (i % n != 0)
+				nodes.get(i - 1).put(right, node);
+			if (i >= n)
+				nodes.get(i - n).put(down, node);
+		}
+
+		int[] levels = NodeTraversal.parallelBreadthFirst(nodes.get(0), NodeTraversal.any(), NodeTraversal.UNBOUNDED, (node, depth) -> {
+			int i = node.get();
+			return depth == i / n + i % n;
+		});
+		assertEquals(2 * n - 1, levels.length, "Wrong depth");
+		for (int d = 0; d < levels.length; d++)
+			assertEquals(d < n ? d + 1 : 2 * n - 1 - d, levels[d], "Wrong level size");
+
+		int count = NodeTraversal.breadthFirst(nodes.get(0), NodeTraversal.any(), 10, (node, depth) -> true);
+		int[] bounded = NodeTraversal.parallelBreadthFirst(nodes.get(0), NodeTraversal.any(), 10, (node, depth) -> true);
+		assertEquals(count, Arrays.stream(bounded).sum(), "Not as sequential");
+		assertEquals(11, bounded.length, "Depth not bounded");
+
+		int[] stopped = NodeTraversal.parallelBreadthFirst(nodes.get(0), NodeTraversal.any(), NodeTraversal.UNBOUNDED, (node, depth) -> depth < 3);
+		assertEquals(4, stopped.length, "Not stopped");
+	}
+
+	@Test
+	public void identitySet() {
+		NodeIdentitySet set = new NodeIdentitySet(0);
+		List<Node<String>> nodes = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			//equal values must not matter
+			Node<String> node = new HashNode<>("X");
+			nodes.add(node);
+			assertTrue(set.add(node), "Not added");
+		}
+
+		assertFalse(set.add(nodes.get(7)), "Added twice");
+		assertEquals(1000, set.size(), "Wrong size");
+
+		for (int i = 0; i < 1000; i += 2)
+			assertTrue(set.remove(nodes.get(i)), "Not removed");
+		for (int i = 0; i < 1000; i++)
+			assertEquals(i % 2 == 1, set.contains(nodes.get(i)), "Wrong membership");
+
+		int count = 0;
+		for (Iterator<Node<?>> iterator = set.iterator(); iterator.hasNext(); count++) {
+			iterator.next();
+			iterator.remove();
+		}
+		assertEquals(500, count, "Wrong iteration");
+		assertTrue(set.isEmpty(), "Not emptied");
+	}
+}
@@ -1,10 +1,22 @@
 package cufy.util;
 
 import cufy.util.Node.Key;
+import cufy.util.Node.Link;
 import cufy.util.polygon.Digon;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -43,6 +55,40 @@ public class NodesTest {
 		);
 	}
 
+	@Test
+	public void cycle_rho() {
+		Key key = Digon.END;
+		//[0]-[1]-[2]-[3]-[4]-[2] (forward only)
+		List<Node<Integer>> nodes = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			int index = i;
+			nodes.add(new HashNode<Integer>(i) {
+				@Nullable
+				@Override
+				public Node<Integer> get(@NotNull Key k) {
+					if (k == key)
+						return nodes.get(index == 4 ? 2 : index + 1);
+					return super.get(k);
+				}
+			});
+		}
+
+		Nodes.Cycle<Integer> cycle = Nodes.cycle(key, nodes.get(0));
+		assertSame(nodes.get(2), cycle.getEntry(), "Wrong entry");
+		assertEquals(3, cycle.getLength(), "Wrong length");
+		assertEquals(2, cycle.getOffset(), "Wrong offset");
+		assertSame(nodes.get(4), cycle.getLast(), "Wrong last");
+
+		assertSame(nodes.get(4), Nodes.tail(key, nodes.get(0)), "Wrong tail");
+		assertTrue(Nodes.isInfinite(key, nodes.get(0)), "Rho not infinite");
+		assertEquals(5, Nodes.asDeque(key, nodes.get(0)).size(), "Wrong size");
+		assertEquals(5, Nodes.stream(key, nodes.get(0)).count(), "Wrong count");
+
+		Nodes.Cycle<Integer> linear = Nodes.cycle(key.opposite(), nodes.get(0));
+		assertNull(linear.getEntry(), "Cycle in a linear chain");
+		assertEquals(1, linear.getSize(), "Wrong size");
+	}
+
 	@Test
 	public void sort() {
 		Key key = Digon.END;
@@ -74,6 +120,159 @@ public class NodesTest {
 			 .forEach(System.out::println);
 	}
 
+	@Test
+	public void sort_relinkInPlace() {
+		Key key = Digon.END;
+		Random random = new Random(0);
+		List<Node<Integer>> nodes = new ArrayList<>();
+		for (int i = 0; i < 10_000; i++)
+			nodes.add(new IntNode(random.nextInt(1000)));
+
+		Nodes.concat(key, nodes);
+		Nodes.sortByInt(key, nodes.get(0), IntNode::intValue);
+		assertSortedChain(key, nodes.get(0), nodes.size(), Comparator.comparingInt(IntNode::intValue));
+
+		//sorting a sorted chain must keep its links
+		Node<Integer> second = Nodes.head(key, nodes.get(0)).get(key);
+		Link<Integer> link = second.getLink(key.opposite());
+		assertNotNull(link, "No link");
+		Nodes.sortByInt(key, nodes.get(0), IntNode::intValue);
+		assertSame(link, second.getLink(key.opposite()), "Sorted chain relinked");
+	}
+
+	@Test
+	public void parallelSort() {
+		Key key = Digon.END;
+		Random random = new Random(0);
+		List<Node<Integer>> nodes = new ArrayList<>();
+		for (int i = 0; i < 200_000; i++)
+			nodes.add(new IntNode(random.nextInt()));
+
+		Nodes.concat(key, nodes);
+		Nodes.parallelSort(key, nodes.get(0), Comparator.comparingInt(IntNode::intValue));
+		assertSortedChain(key, nodes.get(0), nodes.size(), Comparator.comparingInt(IntNode::intValue));
+	}
+
+	@Test
+	public void radixSort() {
+		Key key = Digon.END;
+		Random random = new Random(0);
+		List<Node<Long>> nodes = new ArrayList<>();
+		for (int i = 0; i < 10_000; i++)
+			nodes.add(new LongNode(random.nextInt(64) - 32L << random.nextInt(40)));
+
+		Map<Node<Long>, Integer> order = new IdentityHashMap<>();
+		for (int i = 0; i < nodes.size(); i++)
+			order.put(nodes.get(i), i);
+
+		Nodes.concat(key, nodes);
+		Nodes.radixSort(key, nodes.get(0), LongNode::longValue);
+		//stable: equal values keep their order
+		assertSortedChain(
+				key,
+				nodes.get(0),
+				nodes.size(),
+				Comparator.<Node<Long>>comparingLong(LongNode::longValue).thenComparing(order::get)
+		);
+	}
+
+	@Test
+	public void sort_ring() {
+		Key key = Digon.END;
+		Random random = new Random(0);
+		List<Node<Integer>> nodes = new ArrayList<>();
+		for (int i = 0; i < 1_000; i++)
+			nodes.add(new IntNode(random.nextInt(100)));
+
+		Nodes.concat(key, nodes);
+		nodes.get(nodes.size() - 1).put(key, nodes.get(0));
+
+		Nodes.sortByInt(key, nodes.get(7), IntNode::intValue);
+		assertTrue(Nodes.isInfinite(key, nodes.get(0)), "Ring broken by sortByInt");
+		assertSortedChain(key, nodes.get(0), nodes.size(), Comparator.comparingInt(IntNode::intValue));
+
+		Collections.shuffle(nodes, random);
+		Nodes.concat(key, nodes);
+		nodes.get(nodes.size() - 1).put(key, nodes.get(0));
+
+		Nodes.parallelSort(key, nodes.get(7), Comparator.comparingInt(IntNode::intValue));
+		assertTrue(Nodes.isInfinite(key, nodes.get(0)), "Ring broken by parallelSort");
+		assertSortedChain(key, nodes.get(0), nodes.size(), Comparator.comparingInt(IntNode::intValue));
+
+		Collections.shuffle(nodes, random);
+		Nodes.concat(key, nodes);
+		nodes.get(nodes.size() - 1).put(key, nodes.get(0));
+
+		Nodes.radixSort(key, nodes.get(7), IntNode::intValue);
+		assertTrue(Nodes.isInfinite(key, nodes.get(0)), "Ring broken by radixSort");
+		assertSortedChain(key, nodes.get(0), nodes.size(), Comparator.comparingInt(IntNode::intValue));
+	}
+
+	@Test
+	public void parallelStream() {
+		Key key = Digon.END;
+		List<Node<Integer>> nodes = new ArrayList<>();
+		for (int i = 0; i < 100_000; i++)
+			nodes.add(new IntNode(i));
+
+		Nodes.concat(key, nodes);
+
+		long sum = Nodes.parallelStream(key, nodes.get(500))
+						.mapToLong(IntNode::intValue)
+						.sum();
+		assertEquals(100_000L * 99_999 / 2, sum, "Wrong sum");
+
+		List<Node<Integer>> ordered = Nodes.parallelStream(key, nodes.get(0))
+										   .filter(n -> IntNode.intValue(n) % 3 == 0)
+										   .collect(Collectors.toList());
+		for (int i = 0; i < ordered.size(); i++)
+			assertSame(nodes.get(i * 3), ordered.get(i), "Wrong order");
+
+		//ring
+		nodes.get(nodes.size() - 1).put(key, nodes.get(0));
+		assertEquals(nodes.size(), Nodes.stream(key, nodes.get(7)).count(), "Wrong ring count");
+	}
+
+	@Test
+	public void sortByInt_summarizeInt() {
+		Key key = Digon.END;
+		IntNode nodeA = new IntNode(3);
+		IntNode nodeB = new IntNode(1);
+		IntNode nodeC = new IntNode(2);
+
+		Nodes.concat(key, nodeA, nodeB, nodeC);
+		Nodes.sortByInt(key, nodeA, IntNode::intValue);
+
+		assertSame(
+				nodeB,
+				Nodes.head(key, nodeA),
+				"Wrong head after sorting"
+		);
+		assertSame(
+				nodeA,
+				Nodes.tail(key, nodeC),
+				"Wrong tail after sorting"
+		);
+
+		IntSummaryStatistics statistics = Nodes.summarizeInt(key, nodeC, IntNode::intValue);
+
+		assertEquals(
+				3,
+				statistics.getCount(),
+				"Wrong count"
+		);
+		assertEquals(
+				6,
+				statistics.getSum(),
+				"Wrong sum"
+		);
+		assertEquals(
+				1,
+				statistics.getMin(),
+				"Wrong min"
+		);
+	}
+
 	//asDeque
 
 	@Test
@@ -320,4 +519,28 @@ public class NodesTest {
 				"Unmodifiable node was successfully modified throw its `put` method"
 		);
 	}
+
+	private static <V> void assertSortedChain(Key key, Node<V> node, int size, Comparator<? super Node<V>> comparator) {
+		boolean ring = Nodes.isInfinite(key, node);
+		Node<V> first = Nodes.head(key, node);
+
+		if (ring)
+			//the least node of a sorted ring is the only one less than its previous
+			for (int i = 0; i < size; i++, first = first.get(key))
+				if (comparator.compare(first.get(key.opposite()), first) > 0)
+					break;
+
+		Node<V> previous = ring ? first.get(key.opposite()) : null;
+		Node<V> current = first;
+		for (int i = 0; i < size; i++) {
+			assertNotNull(current, "Lost nodes");
+			assertSame(previous, current.get(key.opposite()), "Asymmetric chain");
+			if (i > 0)
+				assertTrue(comparator.compare(previous, current) <= 0, "Not sorted");
+			previous = current;
+			current = current.get(key);
+		}
+
+		assertSame(ring ? first : null, current, ring ? "Ring not closed or too long" : "Too many nodes");
+	}
 }
@@ -0,0 +1,51 @@
+package cufy.util;
+
+import cufy.util.Node.Key;
+import cufy.util.polygon.Digon;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PersistentNodeGraphTest {
+	@Test
+	public void put_snapshot() {
+		Key key = Digon.END;
+		PersistentNodeGraph<Integer> graph = PersistentNodeGraph.empty();
+		for (int i = 0; i < 2000; i++)
+			graph = graph.add(i);
+		for (int i = 1; i < 2000; i++)
+			graph = graph.put(i - 1, key, i);
+
+		PersistentNodeGraph<Integer> snapshot = graph;
+
+		//move 1000 to be after 0
+		graph = graph.put(999, key, 1001).put(0, key, 1000).put(1000, key, 1);
+
+		assertEquals(1000, graph.get(0, key), "Not relinked");
+		assertEquals(0, graph.get(1000, key.opposite()), "Asymmetric relation");
+		assertEquals(1, graph.get(1000, key), "Not relinked");
+		assertEquals(1001, graph.get(999, key), "Not relinked");
+		assertEquals(999, graph.get(1001, key.opposite()), "Asymmetric relation");
+
+		assertEquals(1, snapshot.get(0, key), "Snapshot changed");
+		assertEquals(1001, snapshot.get(1000, key), "Snapshot changed");
+		assertEquals(1000, snapshot.get(999, key), "Snapshot changed");
+
+		graph = graph.remove(1000, key).set(1999, -1);
+		assertEquals(-1, graph.get(1000, key), "Not removed");
+		assertEquals(-1, graph.get(1, key.opposite()), "Not removed at the other side");
+		assertEquals(-1, graph.get(1999), "Value not set");
+		assertEquals(1999, snapshot.get(1999), "Snapshot changed");
+	}
+
+	@Test
+	public void holder() {
+		PersistentNodeGraph.Holder<String> holder = new PersistentNodeGraph.Holder<>();
+		PersistentNodeGraph<String> empty = holder.snapshot();
+		holder.update(g -> g.add("A").add("B"));
+		holder.update(g -> g.put(0, Digon.END, 1));
+
+		assertEquals(0, empty.size(), "Snapshot changed");
+		assertEquals(1, holder.snapshot().get(0, Digon.END), "Not updated");
+	}
+}
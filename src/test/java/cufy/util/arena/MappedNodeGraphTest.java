@@ -0,0 +1,78 @@
+package cufy.util.arena;
+
+import cufy.util.Node;
+import cufy.util.Nodes;
+import cufy.util.polygon.Digon;
+import cufy.util.polygon.Tetragon;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedNodeGraphTest {
+	@Test
+	public void reopen(@TempDir Path directory) throws IOException {
+		Path path = directory.resolve("graph.bin");
+
+		try (MappedNodeGraph<Long> graph = MappedNodeGraph.open(path, NodeArena.Codec.LONG, 2, Digon.END)) {
+			Node<Long> a = graph.newNode(1L);
+			Node<Long> b = graph.newNode(2L);
+			Node<Long> c = graph.newNode(3L);
+			Node<Long> d = graph.newNode(4L);
+			Node<Long> e = graph.newNode(5L);
+
+			Nodes.concat(Digon.END, e, d, c, b, a);
+			graph.force();
+		}
+
+		try (MappedNodeGraph<Long> graph = MappedNodeGraph.open(path, NodeArena.Codec.LONG, Digon.END)) {
+			assertEquals(5, graph.size(), "Wrong size after reopening");
+
+			Node<Long> a = graph.node(0);
+			Node<Long> e = graph.node(4);
+
+			assertEquals(Long.valueOf(1L), a.get(), "Wrong value after reopening");
+			assertSame(e, Nodes.head(Digon.END, a), "Wrong head after reopening");
+			assertNull(a.get(Digon.END), "Wrong tail after reopening");
+
+			//mutate in place
+			a.put(Digon.END, e);
+			a.set(10L);
+		}
+
+		try (MappedNodeGraph<Long> graph = MappedNodeGraph.open(path, NodeArena.Codec.LONG, Digon.END)) {
+			Node<Long> a = graph.node(0);
+
+			assertEquals(Long.valueOf(10L), a.get(), "Value mutation not persisted");
+			assertTrue(Nodes.isInfinite(Digon.END, a), "Link mutation not persisted");
+		}
+
+		assertThrows(
+				IOException.class,
+				() -> MappedNodeGraph.open(path, NodeArena.Codec.LONG, Tetragon.TOP),
+				"Opened with different keys"
+		);
+		assertThrows(
+				IOException.class,
+				() -> MappedNodeGraph.open(path, NodeArena.Codec.INT, Digon.END),
+				"Opened with a different codec"
+		);
+		assertThrows(
+				IllegalArgumentException.class,
+				() -> MappedNodeGraph.open(path, NodeArena.Codec.LONG, 31, Digon.END),
+				"Opened with an invalid chunk shift"
+		);
+		assertThrows(
+				NullPointerException.class,
+				() -> MappedNodeGraph.open(path, NodeArena.Codec.LONG, (Node.Key) null),
+				"Opened with a null key"
+		);
+
+		try (MappedNodeGraph<Long> graph = MappedNodeGraph.open(path, NodeArena.Codec.LONG, Digon.END)) {
+			assertEquals(Long.valueOf(10L), graph.node(0).get(), "Failed opens corrupted the file");
+		}
+	}
+}
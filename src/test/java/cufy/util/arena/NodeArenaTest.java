@@ -0,0 +1,104 @@
+package cufy.util.arena;
+
+import cufy.util.Node;
+import cufy.util.Nodes;
+import cufy.util.polygon.Digon;
+import cufy.util.polygon.Tetragon;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NodeArenaTest {
+	@Test
+	public void nodes() {
+		NodeArena<Integer> arena = new NodeArena<>(NodeArena.Codec.INT, 1, Digon.END, Tetragon.TOP);
+		Node<Integer> a = arena.newNode(3);
+		Node<Integer> b = arena.newNode(1);
+		Node<Integer> c = arena.newNode(4);
+		Node<Integer> d = arena.newNode(2);
+		Node<Integer> e = arena.newNode(0);
+
+		assertEquals(4, arena.keys().size(), "Opposite keys not added");
+		assertSame(c, arena.node(2), "Views are not canonical");
+		assertEquals(Integer.valueOf(4), c.get(), "Wrong value");
+
+		Nodes.concat(Digon.END, a, b, c, d, e);
+		a.put(Tetragon.TOP, e);
+
+		assertSame(b, a.get(Digon.END), "Wrong end");
+		assertSame(a, b.get(Digon.START), "Wrong start");
+		assertSame(a, e.get(Tetragon.BOTTOM), "Wrong bottom");
+		assertEquals(2, a.size(), "Wrong size");
+		assertSame(e, Nodes.tail(Digon.END, c), "Wrong tail");
+		assertSame(a, Nodes.head(Digon.END, c), "Wrong head");
+
+		Nodes.sortByInt(Digon.END, c, Node::get);
+
+		List<Integer> sorted = Nodes.asDeque(Digon.END, c)
+									.stream()
+									.map(Node::get)
+									.collect(Collectors.toList());
+		assertEquals(Arrays.asList(0, 1, 2, 3, 4), sorted, "Wrong order after sorting");
+		assertSame(a, e.get(Tetragon.BOTTOM), "Sorting touched other keys");
+
+		//replace
+		assertSame(e, a.put(Tetragon.TOP, b), "Wrong previous node");
+		assertNull(e.get(Tetragon.BOTTOM), "Previous node still linked");
+
+		//foreign
+		assertThrows(
+				IllegalArgumentException.class,
+				() -> a.put(Digon.END, new NodeArena<>(NodeArena.Codec.INT, Digon.END).newNode(0)),
+				"Linked to a node of another arena"
+		);
+		assertThrows(
+				IllegalArgumentException.class,
+				() -> a.put(Nodes.key("LEFT", "RIGHT"), b),
+				"Linked with a key not in the arena"
+		);
+
+		arena.close();
+		assertThrows(
+				IllegalStateException.class,
+				a::get,
+				"Used after close"
+		);
+	}
+
+	@Test
+	public void views_links() {
+		NodeArena<Integer> arena = new NodeArena<>(NodeArena.Codec.INT, 4, Digon.END);
+		for (int i = 0; i < 10000; i++)
+			//views not held are collectable
+			arena.newNode(i);
+
+		System.gc();
+		for (int i = 0; i < 10000; i += 999)
+			assertEquals(Integer.valueOf(i), arena.node(i).get(), "Lost value");
+
+		Node<Integer> a = arena.node(7);
+		Node<Integer> b = arena.node(8);
+		a.put(Digon.END, b);
+		System.gc();
+		assertSame(a, arena.node(7), "Held view not canonical");
+
+		//link views: equal but not identical, with a stable opposite
+		Node.Link<Integer> link = a.getLink(Digon.START);
+		assertNotNull(link, "No link");
+		assertNotSame(link, a.getLink(Digon.START), "Links are views");
+		assertEquals(link, a.getLink(Digon.START), "Link views not equal");
+		assertSame(link.getOpposite(), link.getOpposite(), "Opposite not stable");
+		assertSame(link, link.getOpposite().getOpposite(), "Opposite of opposite");
+		assertSame(b, link.getOpposite().getNode(), "Wrong opposite node");
+		assertTrue(a.linkSet().contains(link), "Link view not contained");
+		assertTrue(b.linkSet().contains(link.getOpposite()), "Opposite view not contained");
+
+		assertTrue(a.linkSet().remove(a.getLink(Digon.START)), "Equal link view not removed");
+		assertNull(b.get(Digon.START), "Not unlinked");
+		assertNull(link.getNode(), "Link view still linked");
+	}
+}
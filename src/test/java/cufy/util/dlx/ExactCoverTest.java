@@ -0,0 +1,109 @@
+package cufy.util.dlx;
+
+import cufy.util.Node;
+import cufy.util.polygon.Digon;
+import cufy.util.polygon.Tetragon;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExactCoverTest {
+	@Test
+	public void knuth() {
+		//the example of the dancing links paper
+		ExactCover<String> cover = new ExactCover<>(7);
+		cover.addRow("A", 2, 4, 5);
+		cover.addRow("B", 0, 3, 6);
+		cover.addRow("C", 1, 2, 5);
+		cover.addRow("D", 0, 3);
+		cover.addRow("E", 1, 6);
+		cover.addRow("F", 3, 4, 6);
+
+		assertEquals(new HashSet<>(Arrays.asList("A", "D", "E")), new HashSet<>(cover.solveFirst()), "Wrong solution");
+		assertEquals(1, cover.count(), "Wrong count");
+		//restored after each search
+		assertEquals(1, cover.count(), "Not restored");
+
+		assertThrows(IllegalArgumentException.class, () -> cover.addRow("G", 1, 1), "Duplicate column");
+		assertThrows(IllegalArgumentException.class, () -> cover.addRow("G", 7), "Column out of range");
+
+		cover.addRow("G", 0, 1, 2, 3, 4, 5, 6);
+		assertEquals(2, cover.count(), "Wrong count");
+
+		Node<Object> root = cover.toNode();
+		Node<Object> header = root;
+		int headers = 0;
+		do {
+			header = header.get(Digon.END);
+			headers++;
+		} while (header != root);
+		assertEquals(8, headers, "Wrong headers ring");
+
+		Node<Object> first = root.get(Digon.END);
+		assertEquals(0, first.get(), "Wrong header value");
+		assertEquals("B", first.get(Tetragon.BOTTOM).get(), "Wrong cell value");
+		assertEquals("D", first.get(Tetragon.BOTTOM).get(Tetragon.BOTTOM).get(), "Wrong cell value");
+		assertEquals("G", first.get(Tetragon.TOP).get(), "Wrong column ring");
+		assertSame(first.get(Tetragon.BOTTOM), first.get(Tetragon.BOTTOM).get(Digon.END).get(Digon.END).get(Digon.END), "Wrong row ring");
+	}
+
+	@Test
+	public void queens() {
+		//rows and columns are primary, diagonals are secondary
+		int n = 8;
+		ExactCover<Integer> cover = new ExactCover<>(2 * n, 2 * (2 * n - 1));
+		for (int r = 0; r < n; r++)
+			for (int c = 0; c < n; c++)
+				cover.addRow(r * n + c, r, n + c, 2 * n + r + c, 2 * n + 2 * n - 1 + r - c + n - 1);
+
+		assertEquals(92, cover.count(), "Wrong count");
+
+		int[] stopped = {0};
+		assertEquals(5, cover.solve(solution -> ++stopped[0] < 5), "Not stopped");
+		assertEquals(92, cover.count(), "Not restored");
+	}
+
+	@Test
+	public void sudoku() {
+		String puzzle =
+				"53..7...." +
+				"6..195..." +
+				".98....6." +
+				"8...6...3" +
+				"4..8.3..1" +
+				"7...2...6" +
+				".6....28." +
+				"...419..5" +
+				"....8..79";
+		ExactCover<int[]> cover = new ExactCover<>(4 * 81);
+		for (int r = 0; r < 9; r++)
+			for (int c = 0; c < 9; c++) {
+				char given = puzzle.charAt(r * 9 + c);
+				for (int d = 0; d < 9; d++)
+					if (given == '.' || given - '1' == d)
+						cover.addRow(
+								new int[]{r, c, d},
+								r * 9 + c,
+								81 + r * 9 + d,
+								162 + c * 9 + d,
+								243 + (r / 3 * 3 + c / 3) * 9 + d
+						);
+			}
+
+		List<int[]> solution = cover.solveFirst();
+		assertNotNull(solution, "Not solved");
+		assertEquals(81, solution.size(), "Wrong size");
+
+		int[][] grid = new int[9][9];
+		for (int[] cell : solution)
+			grid[cell[0]][cell[1]] = cell[2] + 1;
+
+		assertArrayEquals(new int[]{5, 3, 4, 6, 7, 8, 9, 1, 2}, grid[0], "Wrong solution");
+		assertArrayEquals(new int[]{3, 4, 5, 2, 8, 6, 1, 7, 9}, grid[8], "Wrong solution");
+		assertEquals(1, cover.count(), "Not unique");
+	}
+}
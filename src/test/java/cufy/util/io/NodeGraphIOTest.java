@@ -0,0 +1,108 @@
+package cufy.util.io;
+
+import cufy.util.HashNode;
+import cufy.util.Node;
+import cufy.util.Node.Key;
+import cufy.util.Nodes;
+import cufy.util.polygon.Digon;
+import cufy.util.polygon.Tetragon;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NodeGraphIOTest {
+	@Test
+	public void chain() throws IOException {
+		int length = 100_000;
+		Node<Integer> head = new HashNode<>(0);
+		Node<Integer> node = head;
+		for (int i = 1; i < length; i++) {
+			Node<Integer> next = new HashNode<>(i);
+			node.put(Digon.END, next);
+			node = next;
+		}
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (NodeGraphWriter<Integer> writer = new NodeGraphWriter<>(Channels.newChannel(bytes), (o, v) -> o.writeInt(v))) {
+			assertEquals(length, writer.write(head), "Wrong number of written nodes");
+		}
+
+		try (NodeGraphReader<Integer> reader = new NodeGraphReader<>(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())), i -> i.readInt(), Digon.END)) {
+			Node<Integer> root = reader.read();
+
+			assertNotNull(root, "Nothing read");
+
+			int i = 0;
+			for (Node<Integer> n = root; n != null; n = n.get(Digon.END), i++)
+				assertEquals(Integer.valueOf(i), n.get(), "Wrong value");
+
+			assertEquals(length, i, "Wrong length");
+			assertNull(reader.read(), "Expected the end of the stream");
+		}
+	}
+
+	@Test
+	public void keys() throws IOException {
+		Key key = Nodes.key("LEFT", "RIGHT");
+		Node<String> a = new HashNode<>("A");
+		Node<String> b = new HashNode<>("B");
+		Node<String> c = new HashNode<>("C");
+
+		Nodes.concat(key, a, b, c, a);
+		a.put(Tetragon.TOP, a);
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (NodeGraphWriter<String> writer = new NodeGraphWriter<>(Channels.newChannel(bytes), (o, v) -> o.writeUTF(v))) {
+			assertEquals(3, writer.write(a), "Wrong number of written nodes");
+			writer.write(b);
+		}
+
+		try (NodeGraphReader<String> reader = new NodeGraphReader<>(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())), i -> i.readUTF(), Tetragon.TOP, key)) {
+			Node<String> root = reader.read();
+
+			assertNotNull(root, "Nothing read");
+			assertEquals("A", root.get(), "Wrong root");
+			assertSame(root, root.get(Tetragon.TOP), "Loop with a known key lost");
+			assertSame(root, root.get(Tetragon.BOTTOM), "Loop with a known key lost");
+			assertEquals(4, root.size(), "Wrong number of links");
+			assertEquals("B", root.get(key).get(), "Wrong neighbour");
+			assertSame(root, root.get(key).get(key).get(key), "Ring lost");
+			assertTrue(Nodes.isInfinite(key, root), "Ring lost");
+
+			Node<String> second = reader.read();
+
+			assertNotNull(second, "Second graph not read");
+			assertEquals("B", second.get(), "Wrong root of the second graph");
+		}
+	}
+
+	@Test
+	public void keys_unknown() throws IOException {
+		Key key = Nodes.key("LEFT", "RIGHT");
+		Node<String> a = new HashNode<>("A");
+		a.put(key, new HashNode<>("B"));
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (NodeGraphWriter<String> writer = new NodeGraphWriter<>(Channels.newChannel(bytes), (o, v) -> o.writeUTF(v))) {
+			writer.write(a);
+		}
+
+		try (NodeGraphReader<String> reader = new NodeGraphReader<>(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())), i -> i.readUTF(), Digon.END)) {
+			assertThrows(IOException.class, reader::read, "Read a key that was not given");
+		}
+		try (NodeGraphReader<String> reader = new NodeGraphReader<>(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())), i -> i.readUTF(), Nodes.key("LEFT", "UP"))) {
+			assertThrows(IOException.class, reader::read, "Read a key with a different opposite");
+		}
+
+		assertThrows(
+				IllegalArgumentException.class,
+				() -> new NodeGraphReader<String>(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())), i -> i.readUTF(), key, Nodes.key("LEFT", "DOWN")),
+				"Accepted ambiguous key names"
+		);
+	}
+}
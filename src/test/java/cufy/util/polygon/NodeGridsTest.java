@@ -0,0 +1,49 @@
+package cufy.util.polygon;
+
+import cufy.util.Node;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NodeGridsTest {
+	@Test
+	public void grid2d() {
+		NodeGrids.Grid<String> grid = NodeGrids.grid2d(4, 3, (x, y, z) -> x + "," + y);
+
+		assertEquals(12, grid.getCells().size(), "Wrong size");
+		assertEquals("2,1", grid.get(2, 1).get(), "Wrong cell");
+		assertSame(grid.get(3, 1), grid.get(2, 1).get(Digon.END), "Wrong x link");
+		assertSame(grid.get(2, 2), grid.get(2, 1).get(Tetragon.TOP), "Wrong y link");
+		assertSame(grid.get(2, 0), grid.get(2, 1).get(Tetragon.BOTTOM), "Wrong opposite link");
+		assertNull(grid.get(3, 0).get(Digon.END), "Linked beyond the edge");
+		assertNull(grid.get(0, 2).get(Tetragon.TOP), "Linked beyond the edge");
+		assertThrows(IndexOutOfBoundsException.class, () -> grid.get(4, 0), "Out of bounds");
+
+		NodeGrids.Grid<String> torus = NodeGrids.grid2d(4, 3, true, (x, y, z) -> x + "," + y);
+		assertSame(torus.get(0, 0), torus.get(3, 0).get(Digon.END), "Not wrapped");
+		assertSame(torus.get(1, 2), torus.get(1, 0).get(Tetragon.BOTTOM), "Not wrapped");
+		assertSame(torus.get(3, 2), torus.get(-1, -1), "Coordinates not wrapped");
+
+		Node<String> node = torus.get(0, 0);
+		for (int i = 0; i < 4; i++)
+			node = node.get(Digon.END);
+		assertSame(torus.get(0, 0), node, "Wrong ring");
+	}
+
+	@Test
+	public void grid3d() {
+		NodeGrids.Grid<Integer> grid = NodeGrids.grid3d(3, 3, 2, (x, y, z) -> x + 3 * y + 9 * z);
+
+		assertEquals(18, grid.getCells().size(), "Wrong size");
+		for (int i = 0; i < 18; i++)
+			assertEquals(i, grid.getCells().get(i).get(), "Wrong order");
+
+		assertSame(grid.get(1, 1, 1), grid.get(1, 1, 0).get(Hexagon.FRONT), "Wrong z link");
+		assertSame(grid.get(1, 2, 1), grid.get(1, 1, 1).get(Tetragon.TOP), "Wrong y link");
+		assertNull(grid.get(1, 1, 1).get(Hexagon.FRONT), "Linked beyond the edge");
+
+		NodeGrids.Grid<Integer> torus = NodeGrids.grid3d(3, 3, 2, true, (x, y, z) -> 0);
+		assertSame(torus.get(2, 2, 0), torus.get(2, 2, 1).get(Hexagon.FRONT), "Not wrapped");
+		assertEquals(6, torus.get(0, 0, 0).linkSet().size(), "Wrong degree");
+	}
+}
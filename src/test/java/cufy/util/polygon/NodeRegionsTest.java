@@ -0,0 +1,106 @@
+package cufy.util.polygon;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NodeRegionsTest {
+	@Test
+	public void floodFill() {
+		String[] map = {
+				"##.##",
+				"#..#.",
+				"##.##",
+				".....",
+		};
+		NodeGrids.Grid<Character> grid = NodeGrids.grid2d(5, 4, (x, y, z) -> map[y].charAt(x));
+		int[] labels = new int[20];
+
+		assertEquals(5, NodeRegions.floodFill(grid, 0, 0, c -> c == '#', labels, 7), "Wrong fill");
+		assertEquals(7, labels[0], "Not filled");
+		assertEquals(7, labels[10], "Not filled");
+		assertEquals(0, labels[3], "Filled a separate region");
+		assertEquals(0, labels[2], "Filled an unmatched cell");
+		assertEquals(0, NodeRegions.floodFill(grid, 0, 0, c -> c == '#', labels, 7), "Filled twice");
+
+		assertEquals(2, NodeRegions.label(grid, c -> c == '#', labels), "Wrong regions");
+		assertArrayEquals(new int[]{
+				1, 1, 0, 2, 2,
+				1, 0, 0, 2, 0,
+				1, 1, 0, 2, 2,
+				0, 0, 0, 0, 0,
+		}, labels, "Wrong labels");
+
+		assertEquals(2, NodeRegions.label(grid, c -> c == '.', labels), "Wrong regions");
+		//unlinking puts a wall
+		grid.get(2, 1).remove(Tetragon.TOP);
+		assertEquals(3, NodeRegions.label(grid, c -> c == '.', labels), "Wall ignored");
+	}
+
+	@Test
+	public void rowWall() {
+		//[0,1] and [1,1] are only connected through the row below them
+		NodeGrids.Grid<Boolean> grid = NodeGrids.grid2d(2, 2, (x, y, z) -> true);
+		grid.get(0, 1).remove(Digon.END);
+		int[] labels = new int[4];
+
+		assertEquals(4, NodeRegions.floodFill(grid, 0, 0, b -> b, labels, 1), "Wrong fill");
+		assertEquals(1, NodeRegions.label(grid, b -> b, labels), "Wrong regions");
+		assertEquals(1, NodeRegions.parallelLabel(grid, b -> b, labels), "Wrong regions");
+
+		//a comb: the teeth are walled from each other and only joined by the bottom row
+		NodeGrids.Grid<Boolean> comb = NodeGrids.grid2d(7, 5, (x, y, z) -> true);
+		for (int y = 1; y < 5; y++)
+			for (int x = 0; x + 1 < 7; x++)
+				comb.get(x, y).remove(Digon.END);
+		int[] expected = new int[35];
+		int[] actual = new int[35];
+
+		assertEquals(35, NodeRegions.floodFill(comb, 3, 4, b -> b, new int[35], 1), "Wrong fill");
+		assertEquals(1, NodeRegions.label(comb, b -> b, expected), "Wrong regions");
+		assertEquals(1, NodeRegions.parallelLabel(comb, b -> b, actual), "Wrong regions");
+		assertArrayEquals(expected, actual, "Wrong labels");
+
+		//cutting the bottom row splits the comb
+		comb.get(2, 0).remove(Digon.END);
+		assertEquals(2, NodeRegions.label(comb, b -> b, expected), "Wrong regions");
+		assertEquals(2, NodeRegions.parallelLabel(comb, b -> b, actual), "Wrong regions");
+		assertArrayEquals(expected, actual, "Wrong labels");
+	}
+
+	@Test
+	public void torus() {
+		NodeGrids.Grid<Boolean> grid = NodeGrids.grid2d(6, 6, (x, y, z) -> x == 0 || x == 5);
+		NodeGrids.Grid<Boolean> torus = NodeGrids.grid2d(6, 6, true, (x, y, z) -> x == 0 || x == 5);
+		int[] labels = new int[36];
+
+		assertEquals(2, NodeRegions.label(grid, b -> b, labels), "Wrong regions");
+		assertEquals(1, NodeRegions.label(torus, b -> b, labels), "Edges not connected");
+		assertEquals(12, NodeRegions.floodFill(torus, 5, 3, b -> b, new int[36], 1), "Wrong fill");
+	}
+
+	@Test
+	public void parallelLabel() {
+		Random random = new Random(42);
+		NodeGrids.Grid<Boolean> grid = NodeGrids.grid2d(120, 90, (x, y, z) -> random.nextInt(100) < 55);
+		NodeGrids.Grid<Boolean> torus = NodeGrids.grid2d(120, 90, true, (x, y, z) -> random.nextInt(100) < 55);
+		int[] expected = new int[120 * 90];
+		int[] actual = new int[120 * 90];
+		ForkJoinPool pool = new ForkJoinPool(4);
+
+		try {
+			int regions = NodeRegions.label(grid, b -> b, expected);
+			assertEquals(regions, NodeRegions.parallelLabel(pool, grid, b -> b, actual), "Wrong regions");
+			assertArrayEquals(expected, actual, "Wrong labels");
+
+			regions = NodeRegions.label(torus, b -> b, expected);
+			assertEquals(regions, NodeRegions.parallelLabel(pool, torus, b -> b, actual), "Wrong regions");
+			assertArrayEquals(expected, actual, "Wrong labels");
+		} finally {
+			pool.shutdown();
+		}
+	}
+}
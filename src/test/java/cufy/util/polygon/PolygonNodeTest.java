@@ -0,0 +1,114 @@
+package cufy.util.polygon;
+
+import cufy.util.HashNode;
+import cufy.util.Node;
+import cufy.util.Node.Key;
+import cufy.util.Node.Link;
+import cufy.util.Nodes;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PolygonNodeTest {
+	@Test
+	public void slots() {
+		Node<String> center = new HexagonNode<>("C");
+		Node<String> top = new HexagonNode<>("T");
+		Node<String> front = new HexagonNode<>("F");
+		Node<String> end = new HexagonNode<>("E");
+
+		center.put(Tetragon.TOP, top);
+		center.put(Hexagon.FRONT, front);
+		center.put(Digon.END, end);
+
+		assertSame(top, center.get(Tetragon.TOP), "Wrong top");
+		assertSame(center, top.get(Tetragon.BOTTOM), "Wrong bottom");
+		assertSame(front, center.get(Hexagon.FRONT), "Wrong front");
+		assertSame(center, front.get(Hexagon.BACK), "Wrong back");
+		assertSame(end, center.get(Digon.END), "Wrong end");
+		assertSame(center, end.get(Digon.START), "Wrong start");
+		assertEquals(3, center.size(), "Wrong size");
+		assertEquals(3, center.linkSet().size(), "Wrong link set size");
+
+		//replace
+		Node<String> other = new HexagonNode<>("O");
+		assertSame(top, center.put(Tetragon.TOP, other), "Wrong previous node");
+		assertNull(top.get(Tetragon.BOTTOM), "Previous node still linked");
+		assertEquals(3, center.size(), "Replacing changed the size");
+
+		//remove
+		assertSame(front, center.remove(Hexagon.FRONT), "Wrong removed node");
+		assertNull(center.get(Hexagon.FRONT), "Removed node still linked");
+		assertEquals(2, center.size(), "Removing has not changed the size");
+	}
+
+	@Test
+	public void overflow() {
+		Key key = Nodes.key("LEFT", "RIGHT");
+		Node<String> node = new DigonNode<>("N");
+		Node<String> hash = new HashNode<>("H");
+		Node<String> top = new DigonNode<>("T");
+
+		node.put(key, hash);
+		node.put(Tetragon.TOP, top);
+		node.put(Digon.START, new HashNode<>("S"));
+
+		assertSame(hash, node.get(key), "Wrong foreign key node");
+		assertSame(node, hash.get(key.opposite()), "Wrong foreign key opposite");
+		assertSame(top, node.get(Tetragon.TOP), "Wrong non-slotted polygon key");
+		assertEquals(3, node.size(), "Wrong size");
+
+		int count = 0;
+		Iterator<Link<String>> iterator = node.linkSet().iterator();
+		while (iterator.hasNext()) {
+			Link<String> link = iterator.next();
+			assertTrue(node.linkSet().contains(link), "Iterated link not contained");
+			iterator.remove();
+			count++;
+		}
+
+		assertEquals(3, count, "Iterator has not covered all the links");
+		assertTrue(node.isEmpty(), "Iterator has not removed all the links");
+		assertNull(hash.get(key.opposite()), "Removed link still visible from the other side");
+	}
+
+	@Test
+	public void serial() throws Exception {
+		Node<String> node = new TetragonNode<>("N");
+		node.put(Digon.END, new TetragonNode<>("E"));
+		node.put(Tetragon.TOP, new HashNode<>("T"));
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		ObjectOutputStream oos = new ObjectOutputStream(baos);
+		oos.writeObject(node);
+		oos.close();
+
+		ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()));
+		//noinspection unchecked
+		Node<String> copy = (Node<String>) ois.readObject();
+		ois.close();
+
+		Node<String> end = copy.get(Digon.END);
+		Node<String> top = copy.get(Tetragon.TOP);
+		assertNotNull(end, "Lost end");
+		assertNotNull(top, "Lost top");
+		assertSame(copy, end.get(Digon.START), "Lost start");
+		assertSame(copy, top.get(Tetragon.BOTTOM), "Lost bottom");
+
+		for (Link<String> link : copy.linkSet())
+			assertTrue(copy.linkSet().contains(link), "Own link not contained");
+
+		assertSame(end, copy.remove(Digon.END), "Wrong removed node");
+		assertNull(copy.get(Digon.END), "Link not removed");
+		assertNull(end.get(Digon.START), "Link not removed from the other side");
+		assertSame(top, copy.remove(Tetragon.TOP), "Wrong removed node");
+		assertTrue(copy.isEmpty(), "Links left");
+		assertNull(top.get(Tetragon.BOTTOM), "Link not removed from the other side");
+	}
+}